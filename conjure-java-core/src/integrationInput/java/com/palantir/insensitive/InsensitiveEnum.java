@@ -75,8 +75,10 @@ public final class InsensitiveEnum {
             case "ONE_HUNDRED":
                 return ONE_HUNDRED;
             default:
-                ConjureEnums.validate(value);
-                return new InsensitiveEnum(Value.UNKNOWN, value);
+                return ConjureEnums.unknown(
+                        InsensitiveEnum.class,
+                        value,
+                        unknownValue -> new InsensitiveEnum(Value.UNKNOWN, unknownValue));
         }
     }
 
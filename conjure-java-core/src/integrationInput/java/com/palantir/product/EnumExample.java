@@ -70,8 +70,10 @@ public final class EnumExample {
             case "ONE_HUNDRED":
                 return ONE_HUNDRED;
             default:
-                ConjureEnums.validate(value);
-                return new EnumExample(Value.UNKNOWN, value);
+                return ConjureEnums.unknown(
+                        EnumExample.class,
+                        value,
+                        unknownValue -> new EnumExample(Value.UNKNOWN, unknownValue));
         }
     }
 
@@ -18,6 +18,7 @@ import com.palantir.tokens.auth.BearerToken;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.HeaderMap;
+import io.undertow.util.HttpString;
 import io.undertow.util.PathTemplateMatch;
 import io.undertow.util.StatusCodes;
 import java.io.IOException;
@@ -46,6 +47,8 @@ public final class EteServiceEndpoints implements Service {
     }
 
     private static final class EteServiceRegistrable implements Registrable {
+        private static final HttpString CUSTOM_HEADER = HttpString.tryFromString("Custom-Header");
+
         private final UndertowEteService delegate;
 
         private final SerializerRegistry serializers;
@@ -425,7 +428,7 @@ public final class EteServiceEndpoints implements Service {
                 HeaderMap headerParams = exchange.getRequestHeaders();
                 SimpleEnum headerParameter =
                         StringDeserializers.deserializeComplex(
-                                headerParams.get("Custom-Header"), SimpleEnum::valueOf);
+                                headerParams.get(CUSTOM_HEADER), SimpleEnum::valueOf);
                 SimpleEnum result = delegate.enumHeader(authHeader, headerParameter);
                 serializers.serialize(result, exchange);
             }
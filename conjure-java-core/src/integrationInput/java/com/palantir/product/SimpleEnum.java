@@ -62,8 +62,10 @@ public final class SimpleEnum {
             case "VALUE2":
                 return VALUE2;
             default:
-                ConjureEnums.validate(value);
-                return new SimpleEnum(Value.UNKNOWN, value);
+                return ConjureEnums.unknown(
+                        SimpleEnum.class,
+                        value,
+                        unknownValue -> new SimpleEnum(Value.UNKNOWN, unknownValue));
         }
     }
 
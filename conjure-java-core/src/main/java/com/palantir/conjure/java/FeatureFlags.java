@@ -65,4 +65,91 @@ public enum FeatureFlags {
      * specification, however may be enabled for backwards compatibility.
      */
     CaseInsensitiveEnums,
+
+    /**
+     * Generated builders produce compact immutable collections backed by exact-size arrays rather than wrapping
+     * growable collections in unmodifiable views. Collections of existing objects are shared by {@code Builder.from}
+     * instead of being copied. Sets of enums and maps keyed by enums store known values by ordinal.
+     */
+    UseCompactCollections,
+
+    /**
+     * Generated objects have {@code withX(value)} methods, returning a copy of the object in which a single field is
+     * replaced and all other fields are shared.
+     */
+    GenerateWithMethods,
+
+    /**
+     * Generated objects store {@code safelong} fields as primitive {@code long} values validated by the builder, and
+     * {@code list<safelong>} fields as {@code long[]}. Getters continue to return {@link
+     * com.palantir.conjure.java.lib.SafeLong}.
+     */
+    UsePrimitiveSafeLongs,
+
+    /**
+     * Instructs the {@link Retrofit2ServiceGenerator} to additionally generate a {@code <Service>RetrofitClient}
+     * implementation of each service interface which builds OkHttp requests directly rather than through a retrofit
+     * proxy. Sending requests is delegated to {@code DirectClientCalls} of conjure-lib, which requires OkHttp and, for
+     * {@link FeatureFlags#RetrofitListenableFutures}, Guava at runtime. Binary request bodies may be passed as a
+     * {@code StreamingBody} of conjure-lib to stream them as the request is written. Requires either
+     * {@link FeatureFlags#RetrofitListenableFutures} or {@link FeatureFlags#RetrofitCompletableFutures}.
+     */
+    RetrofitDirectClients,
+
+    /**
+     * Generates {@link FeatureFlags#RetrofitDirectClients} which can be configured to share one in-flight call between
+     * concurrent identical requests to selected GET endpoints.
+     */
+    RetrofitCoalescedGets,
+
+    /**
+     * Generates {@link FeatureFlags#RetrofitDirectClients} which can be configured to send a second copy of a GET
+     * request which has not completed after a delay, using the first successful response.
+     */
+    RetrofitHedgedGets,
+
+    /**
+     * Generates {@link FeatureFlags#RetrofitDirectClients} which can be configured with a
+     * {@code com.palantir.conjure.java.lib.ResponseCache} to revalidate GET responses using their {@code ETag} and
+     * reuse previously decoded values when the server responds with {@code 304 Not Modified}.
+     */
+    RetrofitCachedGets,
+
+    /**
+     * Undertow services register an additional {@code POST <prefix>/batch} endpoint which accepts a list of calls to
+     * the service's other endpoints and responds with their results in order. Endpoints with binary request or response
+     * bodies cannot be batched.
+     */
+    UndertowBatchEndpoints,
+
+    /**
+     * Instructs the {@link JerseyServiceGenerator} to additionally generate a {@code <Service>AsyncResource} interface
+     * per service whose endpoints take a {@code @Suspended AsyncResponse}, which Jersey completes asynchronously
+     * without holding a request thread. Endpoints with binary request or response bodies remain synchronous. The
+     * service interfaces are unchanged and may still be used to create clients.
+     */
+    JerseyAsyncEndpoints,
+
+    /**
+     * Instructs the {@link JerseyServiceGenerator} to generate a {@code <Service>MessageBodies} class per service,
+     * creating a JAX-RS provider which reads and writes the service's JSON and CBOR bodies using Jackson readers and
+     * writers bound once per type, rather than resolved per request by the generic Jackson provider. Optional bodies
+     * are left to the optional providers of conjure-java-runtime, which respond with 204 when empty.
+     */
+    JerseyMessageBodyProviders,
+
+    /**
+     * Generates {@link FeatureFlags#RetrofitDirectClients} which can be configured with a CBOR {@code ObjectMapper}.
+     * Such clients accept CBOR responses with JSON as the fallback, and encode request bodies as CBOR while the service
+     * responds with CBOR. Requests rejected with {@code 415} or {@code 406} are sent again with JSON.
+     */
+    RetrofitCborNegotiation,
+
+    /**
+     * Generates {@link FeatureFlags#RetrofitDirectClients} which can be configured to collect the calls made within a
+     * time window into a single request to the batch endpoint of the service, see
+     * {@link FeatureFlags#UndertowBatchEndpoints}, and complete each call with its result. Calls which cannot be
+     * batched are sent directly.
+     */
+    RetrofitBatchedCalls,
 }
@@ -50,6 +50,7 @@ import com.palantir.conjure.visitor.TypeVisitor;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
@@ -58,9 +59,11 @@ import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalDouble;
@@ -76,6 +79,18 @@ import org.apache.commons.lang3.StringUtils;
 public final class JerseyServiceGenerator implements ServiceGenerator {
 
     private static final ClassName NOT_NULL = ClassName.get("javax.validation.constraints", "NotNull");
+    private static final ClassName ASYNC_RESPONSE = ClassName.get("javax.ws.rs.container", "AsyncResponse");
+    private static final ClassName SUSPENDED = ClassName.get("javax.ws.rs.container", "Suspended");
+    private static final String ASYNC_RESPONSE_PARAMETER = "asyncResponse";
+
+    private static final ClassName CONJURE_MESSAGE_BODIES =
+            ClassName.get("com.palantir.conjure.java.lib.internal", "ConjureMessageBodies");
+    private static final ClassName OBJECT_MAPPER = ClassName.get("com.fasterxml.jackson.databind", "ObjectMapper");
+    private static final ClassName TYPE_REFERENCE =
+            ClassName.get("com.fasterxml.jackson.core.type", "TypeReference");
+    // Empty optionals are written as 204 responses by the optional providers of conjure-java-runtime
+    private static final Set<ClassName> OPTIONAL_TYPES = ImmutableSet.of(
+            ClassName.get(Optional.class), ClassName.get(OptionalInt.class), ClassName.get(OptionalDouble.class));
 
     private static final ClassName BINARY_ARGUMENT_TYPE = ClassName.get(InputStream.class);
     private static final ClassName BINARY_RETURN_TYPE_RESPONSE = ClassName.get(Response.class);
@@ -116,31 +131,100 @@ public final class JerseyServiceGenerator implements ServiceGenerator {
                         new DefaultClassNameVisitor(conjureDefinition.getTypes(), featureFlags),
                         BINARY_ARGUMENT_TYPE));
 
-        return conjureDefinition.getServices().stream()
+        Set<JavaFile> files = conjureDefinition.getServices().stream()
                 .map(serviceDef -> generateService(serviceDef, returnTypeMapper, argumentTypeMapper))
                 .collect(Collectors.toSet());
+        if (featureFlags.contains(FeatureFlags.JerseyAsyncEndpoints)) {
+            conjureDefinition.getServices().stream()
+                    .map(serviceDef -> generateAsyncResource(serviceDef, returnTypeMapper, argumentTypeMapper))
+                    .forEach(files::add);
+        }
+        if (featureFlags.contains(FeatureFlags.JerseyMessageBodyProviders)) {
+            conjureDefinition.getServices().stream()
+                    .map(serviceDef -> generateMessageBodies(serviceDef, returnTypeMapper, argumentTypeMapper))
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .forEach(files::add);
+        }
+        return files;
     }
 
-    private JavaFile generateService(ServiceDefinition serviceDefinition,
+    /**
+     * Generates a {@code <Service>MessageBodies} class which creates {@code ConjureMessageBodies} providers bound to
+     * the non-binary, non-optional request and response body types of the service. Optional bodies are left to the
+     * optional providers, which respond with 204 when empty. Services without such types get no provider.
+     */
+    private Optional<JavaFile> generateMessageBodies(ServiceDefinition serviceDefinition,
             TypeMapper returnTypeMapper, TypeMapper argumentTypeMapper) {
-        TypeSpec.Builder serviceBuilder = TypeSpec.interfaceBuilder(serviceDefinition.getServiceName().getName())
-                .addModifiers(Modifier.PUBLIC)
-                .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Consumes"))
-                        .addMember("value", "$T.APPLICATION_JSON", ClassName.get("javax.ws.rs.core", "MediaType"))
+        Set<TypeName> bodyTypes = new LinkedHashSet<>();
+        for (EndpointDefinition endpointDef : serviceDefinition.getEndpoints()) {
+            endpointDef.getArgs().stream()
+                    .filter(arg -> arg.getParamType().accept(ParameterTypeVisitor.IS_BODY))
+                    .map(arg -> argumentTypeMapper.getClassName(arg.getType()))
+                    .filter(type -> !type.equals(BINARY_ARGUMENT_TYPE) && !isOptionalType(type))
+                    .forEach(type -> bodyTypes.add(type.box()));
+            endpointDef.getReturns()
+                    .map(returnTypeMapper::getClassName)
+                    .filter(type -> !isBinaryReturnType(type) && !isOptionalType(type))
+                    .ifPresent(type -> bodyTypes.add(type.box()));
+        }
+        if (bodyTypes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ClassName typeClass = ClassName.get(java.lang.reflect.Type.class);
+        CodeBlock types = CodeBlock.join(bodyTypes.stream()
+                .map(type -> type instanceof ClassName
+                        ? CodeBlock.of("$T.class", type)
+                        : CodeBlock.of("new $T<$T>() {}.getType()", TYPE_REFERENCE, type))
+                .collect(Collectors.toList()), ",\n");
+        ClassName serviceName = ClassName.get(
+                serviceDefinition.getServiceName().getPackage(), serviceDefinition.getServiceName().getName());
+        TypeSpec messageBodies = TypeSpec.classBuilder(serviceName.simpleName() + "MessageBodies")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(JerseyServiceGenerator.class))
+                .addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(List.class), typeClass), "TYPES",
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.unmodifiableList($T.asList(\n$>$>$L$<$<))",
+                                Collections.class, Arrays.class, types)
                         .build())
-                .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Produces"))
-                        .addMember("value", "$T.APPLICATION_JSON", ClassName.get("javax.ws.rs.core", "MediaType"))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
                         .build())
-                .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Path"))
-                        .addMember("value", "$S", "/")
+                .addMethod(MethodSpec.methodBuilder("json")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addJavadoc("Returns a JAX-RS provider for the JSON request and response bodies of {@link $T}."
+                                + "\n", serviceName)
+                        .addParameter(OBJECT_MAPPER, "jsonMapper")
+                        .returns(CONJURE_MESSAGE_BODIES)
+                        .addStatement("return $T.create(TYPES, jsonMapper, null)", CONJURE_MESSAGE_BODIES)
                         .build())
-                .addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(JerseyServiceGenerator.class));
+                .addMethod(MethodSpec.methodBuilder("jsonAndCbor")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addJavadoc("Returns a JAX-RS provider for the JSON and CBOR request and response bodies of "
+                                + "{@link $T}.\n", serviceName)
+                        .addParameter(OBJECT_MAPPER, "jsonMapper")
+                        .addParameter(OBJECT_MAPPER, "cborMapper")
+                        .returns(CONJURE_MESSAGE_BODIES)
+                        .addStatement("return $T.create(TYPES, jsonMapper, cborMapper)", CONJURE_MESSAGE_BODIES)
+                        .build())
+                .build();
+
+        return Optional.of(JavaFile.builder(serviceName.packageName(), messageBodies)
+                .skipJavaLangImports(true)
+                .indent("    ")
+                .build());
+    }
+
+    private JavaFile generateService(ServiceDefinition serviceDefinition,
+            TypeMapper returnTypeMapper, TypeMapper argumentTypeMapper) {
+        TypeSpec.Builder serviceBuilder = resourceInterfaceBuilder(serviceDefinition.getServiceName().getName());
 
         serviceDefinition.getDocs().ifPresent(docs ->
                 serviceBuilder.addJavadoc("$L", StringUtils.appendIfMissing(docs.get(), "\n")));
 
         serviceBuilder.addMethods(serviceDefinition.getEndpoints().stream()
-                .map(endpoint -> generateServiceMethod(endpoint, returnTypeMapper, argumentTypeMapper))
+                .map(endpoint -> generateServiceMethod(endpoint, returnTypeMapper, argumentTypeMapper, false))
                 .collect(Collectors.toList()));
 
         serviceBuilder.addMethods(serviceDefinition.getEndpoints().stream()
@@ -155,10 +239,50 @@ public final class JerseyServiceGenerator implements ServiceGenerator {
                 .build();
     }
 
+    /**
+     * Generates a {@code <Service>AsyncResource} interface describing the same HTTP API as the service interface,
+     * whose endpoints return {@code void} and complete by resuming a {@code @Suspended AsyncResponse} so that Jersey
+     * does not hold a request thread while they are pending. Endpoints streaming a binary request or response body
+     * keep their synchronous signatures. The service interface is left unchanged for use by clients.
+     */
+    private JavaFile generateAsyncResource(ServiceDefinition serviceDefinition,
+            TypeMapper returnTypeMapper, TypeMapper argumentTypeMapper) {
+        ClassName serviceName = ClassName.get(
+                serviceDefinition.getServiceName().getPackage(), serviceDefinition.getServiceName().getName());
+        TypeSpec.Builder resourceBuilder = resourceInterfaceBuilder(serviceName.simpleName() + "AsyncResource")
+                .addJavadoc("Asynchronous Jersey resource for {@link $T}, whose endpoints complete by resuming the "
+                        + "suspended {@link $T}.\n", serviceName, ASYNC_RESPONSE);
+
+        resourceBuilder.addMethods(serviceDefinition.getEndpoints().stream()
+                .map(endpoint -> generateServiceMethod(endpoint, returnTypeMapper, argumentTypeMapper, true))
+                .collect(Collectors.toList()));
+
+        return JavaFile.builder(serviceName.packageName(), resourceBuilder.build())
+                .skipJavaLangImports(true)
+                .indent("    ")
+                .build();
+    }
+
+    private static TypeSpec.Builder resourceInterfaceBuilder(String name) {
+        return TypeSpec.interfaceBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Consumes"))
+                        .addMember("value", "$T.APPLICATION_JSON", ClassName.get("javax.ws.rs.core", "MediaType"))
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Produces"))
+                        .addMember("value", "$T.APPLICATION_JSON", ClassName.get("javax.ws.rs.core", "MediaType"))
+                        .build())
+                .addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Path"))
+                        .addMember("value", "$S", "/")
+                        .build())
+                .addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(JerseyServiceGenerator.class));
+    }
+
     private MethodSpec generateServiceMethod(
             EndpointDefinition endpointDef,
             TypeMapper returnTypeMapper,
-            TypeMapper argumentTypeMapper) {
+            TypeMapper argumentTypeMapper,
+            boolean async) {
         TypeName returnType = endpointDef.getReturns()
                 .map(returnTypeMapper::getClassName)
                 .orElse(ClassName.VOID);
@@ -166,8 +290,15 @@ public final class JerseyServiceGenerator implements ServiceGenerator {
         MethodSpec.Builder methodBuilder = MethodSpec.methodBuilder(endpointDef.getEndpointName().get())
                 .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
                 .addAnnotation(httpMethodToClassName(endpointDef.getHttpMethod().get().name()))
-                .addParameters(createServiceMethodParameters(endpointDef, argumentTypeMapper, true))
-                .returns(returnType);
+                .addParameters(createServiceMethodParameters(endpointDef, argumentTypeMapper, true));
+
+        if (async && !isBinaryReturnType(returnType) && !consumesTypeIsBinary(endpointDef, argumentTypeMapper)) {
+            methodBuilder.addParameter(ParameterSpec.builder(ASYNC_RESPONSE, ASYNC_RESPONSE_PARAMETER)
+                    .addAnnotation(SUSPENDED)
+                    .build());
+        } else {
+            methodBuilder.returns(returnType);
+        }
 
         // @Path("") is invalid in Feign JaxRs and equivalent to absent on an endpoint method
         String rawHttpPath = endpointDef.getHttpPath().get();
@@ -178,19 +309,13 @@ public final class JerseyServiceGenerator implements ServiceGenerator {
                         .build());
         }
 
-        if (returnType.equals(BINARY_RETURN_TYPE_OUTPUT) || returnType.equals(BINARY_RETURN_TYPE_RESPONSE)
-                || returnType.equals(OPTIONAL_BINARY_RETURN_TYPE)) {
+        if (isBinaryReturnType(returnType)) {
             methodBuilder.addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Produces"))
                     .addMember("value", "$T.APPLICATION_OCTET_STREAM", ClassName.get("javax.ws.rs.core", "MediaType"))
                     .build());
         }
 
-        boolean consumesTypeIsBinary = endpointDef.getArgs().stream()
-                .map(ArgumentDefinition::getType)
-                .map(argumentTypeMapper::getClassName)
-                .anyMatch(BINARY_ARGUMENT_TYPE::equals);
-
-        if (consumesTypeIsBinary) {
+        if (consumesTypeIsBinary(endpointDef, argumentTypeMapper)) {
             methodBuilder.addAnnotation(AnnotationSpec.builder(ClassName.get("javax.ws.rs", "Consumes"))
                     .addMember("value", "$T.APPLICATION_OCTET_STREAM", ClassName.get("javax.ws.rs.core", "MediaType"))
                     .build());
@@ -205,6 +330,23 @@ public final class JerseyServiceGenerator implements ServiceGenerator {
         return methodBuilder.build();
     }
 
+    private static boolean isOptionalType(TypeName type) {
+        TypeName rawType = type instanceof ParameterizedTypeName ? ((ParameterizedTypeName) type).rawType : type;
+        return OPTIONAL_TYPES.contains(rawType);
+    }
+
+    private static boolean isBinaryReturnType(TypeName returnType) {
+        return returnType.equals(BINARY_RETURN_TYPE_OUTPUT) || returnType.equals(BINARY_RETURN_TYPE_RESPONSE)
+                || returnType.equals(OPTIONAL_BINARY_RETURN_TYPE);
+    }
+
+    private static boolean consumesTypeIsBinary(EndpointDefinition endpointDef, TypeMapper argumentTypeMapper) {
+        return endpointDef.getArgs().stream()
+                .map(ArgumentDefinition::getType)
+                .map(argumentTypeMapper::getClassName)
+                .anyMatch(BINARY_ARGUMENT_TYPE::equals);
+    }
+
     /** Provides a linear expansion of optional query arguments to improve Java back-compat. */
     private List<MethodSpec> generateCompatibilityBackfillServiceMethods(
             EndpointDefinition endpointDef,
@@ -0,0 +1,544 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.services;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.conjure.java.ConjureAnnotations;
+import com.palantir.conjure.java.types.CodeBlocks;
+import com.palantir.conjure.java.types.TypeMapper;
+import com.palantir.conjure.spec.ArgumentDefinition;
+import com.palantir.conjure.spec.ArgumentName;
+import com.palantir.conjure.spec.EndpointDefinition;
+import com.palantir.conjure.spec.ExternalReference;
+import com.palantir.conjure.spec.HttpPath;
+import com.palantir.conjure.spec.ListType;
+import com.palantir.conjure.spec.OptionalType;
+import com.palantir.conjure.spec.PrimitiveType;
+import com.palantir.conjure.spec.ServiceDefinition;
+import com.palantir.conjure.spec.SetType;
+import com.palantir.conjure.spec.Type;
+import com.palantir.conjure.spec.TypeDefinition;
+import com.palantir.conjure.visitor.AuthTypeVisitor;
+import com.palantir.conjure.visitor.ParameterTypeVisitor;
+import com.palantir.conjure.visitor.TypeVisitor;
+import com.palantir.util.syntacticpath.Paths;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates a concrete implementation of each retrofit interface which builds OkHttp requests directly. Urls are
+ * resolved against the base url once per client, parameters are encoded by generated code, and each endpoint uses a
+ * reader and writer bound to its types when the client is created. Sending requests and decoding responses is
+ * delegated to {@code DirectClientCalls} in conjure-lib. Clients with batched calls pass the arguments of each
+ * batchable endpoint to {@code DirectClientCalls} as the properties of a call to the batch endpoint generated by
+ * {@link UndertowServiceHandlerGenerator} if batching is configured.
+ */
+final class Retrofit2ClientGenerator {
+
+    private static final ClassName OK_HTTP_CLIENT = ClassName.get("okhttp3", "OkHttpClient");
+    private static final ClassName HTTP_URL = ClassName.get("okhttp3", "HttpUrl");
+    private static final ClassName HTTP_URL_BUILDER = HTTP_URL.nestedClass("Builder");
+    private static final ClassName REQUEST = ClassName.get("okhttp3", "Request");
+    private static final ClassName REQUEST_BUILDER = REQUEST.nestedClass("Builder");
+    private static final ClassName REQUEST_BODY = ClassName.get("okhttp3", "RequestBody");
+    private static final ClassName RESPONSE_BODY = ClassName.get("okhttp3", "ResponseBody");
+    private static final ClassName OBJECT_MAPPER = ClassName.get("com.fasterxml.jackson.databind", "ObjectMapper");
+    private static final ClassName TYPE_REFERENCE = ClassName.get("com.fasterxml.jackson.core.type", "TypeReference");
+    private static final ClassName SCHEDULED_EXECUTOR = ClassName.get(ScheduledExecutorService.class);
+    private static final ClassName RESPONSE_CACHE = ClassName.get("com.palantir.conjure.java.lib", "ResponseCache");
+    private static final ClassName DIRECT_CLIENT_CALLS =
+            ClassName.get("com.palantir.conjure.java.lib.internal", "DirectClientCalls");
+    private static final ClassName DIRECT_CLIENT_FUTURES =
+            ClassName.get("com.palantir.conjure.java.lib.internal", "DirectClientFutures");
+    private static final ClassName AUTH_HEADER = ClassName.get("com.palantir.tokens.auth", "AuthHeader");
+
+    private static final String CLIENT = "client";
+    private static final String CALLS = "calls";
+    private static final String COALESCED_ENDPOINTS = "coalescedEndpoints";
+    private static final String HEDGE_SCHEDULER = "hedgeScheduler";
+    private static final String HEDGE_DELAY = "hedgeDelay";
+    private static final String RESPONSE_CACHE_FIELD = "responseCache";
+    private static final String CBOR_MAPPER = "cborMapper";
+    private static final String BATCH_SCHEDULER = "batchScheduler";
+    private static final String BATCH_WINDOW = "batchWindow";
+
+    private final ClassName futureType;
+    private final boolean coalesceGets;
+    private final boolean hedgeGets;
+    private final boolean cacheGets;
+    private final boolean negotiateCbor;
+    private final boolean batchCalls;
+    private final TypeMapper returnTypeMapper;
+    private final TypeMapper argumentTypeMapper;
+    private final List<TypeDefinition> typeDefinitions;
+
+    Retrofit2ClientGenerator(
+            ClassName futureType,
+            boolean coalesceGets,
+            boolean hedgeGets,
+            boolean cacheGets,
+            boolean negotiateCbor,
+            boolean batchCalls,
+            TypeMapper returnTypeMapper,
+            TypeMapper argumentTypeMapper,
+            List<TypeDefinition> typeDefinitions) {
+        this.futureType = futureType;
+        this.coalesceGets = coalesceGets;
+        this.hedgeGets = hedgeGets;
+        this.cacheGets = cacheGets;
+        this.negotiateCbor = negotiateCbor;
+        this.batchCalls = batchCalls;
+        this.returnTypeMapper = returnTypeMapper;
+        this.argumentTypeMapper = argumentTypeMapper;
+        this.typeDefinitions = typeDefinitions;
+    }
+
+    JavaFile generateClient(ServiceDefinition serviceDefinition, ClassName serviceInterface) {
+        ClassName clientName = serviceInterface.peerClass(serviceInterface.simpleName() + "Client");
+        TypeSpec.Builder client = TypeSpec.classBuilder(clientName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(serviceInterface)
+                .addAnnotation(ConjureAnnotations.getConjureGeneratedAnnotation(Retrofit2ClientGenerator.class))
+                .addJavadoc("Implementation of {@link $T} which builds OkHttp requests directly rather than using "
+                        + "a retrofit proxy.\nThe provided {@link $T} should be configured with the conjure client "
+                        + "modules, for example using {@code ObjectMappers.newClientObjectMapper()}.\n",
+                        serviceInterface, OBJECT_MAPPER);
+        client.addField(DIRECT_CLIENT_CALLS, CALLS, Modifier.PRIVATE, Modifier.FINAL);
+
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(OK_HTTP_CLIENT, CLIENT)
+                .addParameter(HTTP_URL, "baseUrl")
+                .addParameter(OBJECT_MAPPER, "mapper");
+        CodeBlock.Builder calls = CodeBlock.builder()
+                .add("$T.builder($N, mapper)", DIRECT_CLIENT_CALLS, CLIENT);
+        ParameterizedTypeName endpointNames = ParameterizedTypeName.get(Set.class, String.class);
+        List<ParameterSpec> options = new ArrayList<>();
+        List<CodeBlock> optionDefaults = new ArrayList<>();
+        CodeBlock.Builder optionDocs = CodeBlock.builder();
+        if (coalesceGets) {
+            calls.add(".coalescedEndpoints($N)", COALESCED_ENDPOINTS);
+            options.add(ParameterSpec.builder(endpointNames, COALESCED_ENDPOINTS).build());
+            optionDefaults.add(CodeBlock.of("$T.emptySet()", Collections.class));
+            optionDocs.add(CodeBlock.of("@param $N GET endpoints whose concurrent identical calls share a single "
+                    + "in-flight request\n", COALESCED_ENDPOINTS));
+        }
+        if (hedgeGets) {
+            calls.add(".hedging($N, $N)", HEDGE_SCHEDULER, HEDGE_DELAY);
+            options.add(ParameterSpec.builder(SCHEDULED_EXECUTOR, HEDGE_SCHEDULER).build());
+            options.add(ParameterSpec.builder(Duration.class, HEDGE_DELAY).build());
+            optionDefaults.add(CodeBlock.of("null"));
+            optionDefaults.add(CodeBlock.of("null"));
+            optionDocs.add(CodeBlock.of("@param $N schedules hedged requests, or {@code null} to disable hedging\n",
+                    HEDGE_SCHEDULER));
+            optionDocs.add(CodeBlock.of("@param $N delay after which a GET request which has not completed is sent "
+                    + "again, for example the observed 95th percentile latency of the service\n", HEDGE_DELAY));
+        }
+        if (cacheGets) {
+            calls.add(".responseCache($N)", RESPONSE_CACHE_FIELD);
+            options.add(ParameterSpec.builder(RESPONSE_CACHE, RESPONSE_CACHE_FIELD).build());
+            optionDefaults.add(CodeBlock.of("null"));
+            optionDocs.add(CodeBlock.of("@param $N caches decoded GET responses which carry an {@code ETag}, or "
+                    + "{@code null} to disable caching\n", RESPONSE_CACHE_FIELD));
+        }
+        if (negotiateCbor) {
+            calls.add(".cborMapper($N)", CBOR_MAPPER);
+            options.add(ParameterSpec.builder(OBJECT_MAPPER, CBOR_MAPPER).build());
+            optionDefaults.add(CodeBlock.of("null"));
+            optionDocs.add(CodeBlock.of("@param $N mapper for CBOR bodies, which are preferred over JSON once the "
+                    + "server has responded with CBOR, or {@code null} to only use JSON\n", CBOR_MAPPER));
+        }
+        if (batchCalls) {
+            calls.add(".batching($N, $N, baseUrl.newBuilder().addPathSegments($S).build())",
+                    BATCH_SCHEDULER, BATCH_WINDOW,
+                    UndertowServiceHandlerGenerator.batchPath(serviceDefinition).substring(1));
+            options.add(ParameterSpec.builder(SCHEDULED_EXECUTOR, BATCH_SCHEDULER).build());
+            options.add(ParameterSpec.builder(Duration.class, BATCH_WINDOW).build());
+            optionDefaults.add(CodeBlock.of("null"));
+            optionDefaults.add(CodeBlock.of("null"));
+            optionDocs.add(CodeBlock.of("@param $N schedules sending batches of calls to the batch endpoint of the "
+                    + "service, or {@code null} to send each call separately\n", BATCH_SCHEDULER));
+            optionDocs.add(CodeBlock.of("@param $N time during which calls are collected into a batch\n",
+                    BATCH_WINDOW));
+        }
+        constructor.addParameters(options)
+                .addStatement("this.$N = $L.build()", CALLS, calls.build());
+
+        List<MethodSpec> endpoints = serviceDefinition.getEndpoints().stream()
+                .map(endpoint -> generateEndpoint(endpoint, client, constructor))
+                .collect(Collectors.toList());
+
+        client.addMethod(constructor.build());
+        MethodSpec.Builder factory = MethodSpec.methodBuilder("of")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(OK_HTTP_CLIENT, CLIENT)
+                .addParameter(HTTP_URL, "baseUrl")
+                .addParameter(OBJECT_MAPPER, "mapper")
+                .returns(serviceInterface);
+        if (options.isEmpty()) {
+            client.addMethod(factory
+                    .addStatement("return new $T($N, $N, $N)", clientName, CLIENT, "baseUrl", "mapper")
+                    .build());
+        } else {
+            client.addMethod(factory
+                    .addStatement("return of($N, $N, $N, $L)",
+                            CLIENT, "baseUrl", "mapper", CodeBlock.join(optionDefaults, ", "))
+                    .build());
+            client.addMethod(MethodSpec.methodBuilder("of")
+                    .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                    .addJavadoc("Creates a client which applies the given call options.\n\n$L", optionDocs.build())
+                    .addParameter(OK_HTTP_CLIENT, CLIENT)
+                    .addParameter(HTTP_URL, "baseUrl")
+                    .addParameter(OBJECT_MAPPER, "mapper")
+                    .addParameters(options)
+                    .returns(serviceInterface)
+                    .addStatement("return new $T($N, $N, $N, $L)", clientName, CLIENT, "baseUrl", "mapper",
+                            options.stream().map(option -> CodeBlock.of("$N", option)).collect(CodeBlock.joining(", ")))
+                    .build());
+        }
+        client.addMethods(endpoints);
+
+        return JavaFile.builder(clientName.packageName(), client.build())
+                .skipJavaLangImports(true)
+                .indent("    ")
+                .build();
+    }
+
+    private MethodSpec generateEndpoint(
+            EndpointDefinition endpoint, TypeSpec.Builder client, MethodSpec.Builder constructor) {
+        String name = endpoint.getEndpointName().get();
+        // Local variable names must not clash with endpoint arguments, which also shadow fields.
+        Set<String> argNames = endpoint.getArgs().stream()
+                .map(arg -> arg.getArgName().get())
+                .collect(Collectors.toSet());
+        String urlVar = freeName("url", argNames);
+        String requestVar = freeName("request", argNames);
+        TypeName returnType = endpoint.getReturns().map(returnTypeMapper::getClassName).orElse(ClassName.VOID);
+        Set<ArgumentName> encodedPathArgs = Retrofit2ServiceGenerator.extractEncodedPathArgs(endpoint.getHttpPath());
+        HttpPath pathTemplate = Retrofit2ServiceGenerator.replaceEncodedPathArgs(endpoint.getHttpPath());
+
+        MethodSpec.Builder method = MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(ParameterizedTypeName.get(futureType, returnType.box()));
+        endpoint.getDeprecated().ifPresent(deprecated -> method.addAnnotation(Deprecated.class));
+        if (endpoint.getAuth().isPresent()) {
+            method.addParameter(AUTH_HEADER, "authHeader");
+        }
+        for (ArgumentDefinition arg : endpoint.getArgs()) {
+            method.addParameter(argumentTypeMapper.getClassName(arg.getType()), arg.getArgName().get());
+        }
+
+        // Literal segments preceding the first path parameter are resolved once against the base url.
+        List<String> segments = Paths.get(pathTemplate.get()).getSegments();
+        int prefixLength = 0;
+        while (prefixLength < segments.size() && !isParameterSegment(segments.get(prefixLength))) {
+            prefixLength++;
+        }
+        String urlField = name + "Url";
+        client.addField(HTTP_URL, urlField, Modifier.PRIVATE, Modifier.FINAL);
+        if (prefixLength == 0) {
+            constructor.addStatement("this.$N = baseUrl", urlField);
+        } else {
+            constructor.addStatement("this.$N = baseUrl.newBuilder().addPathSegments($S).build()",
+                    urlField, String.join("/", segments.subList(0, prefixLength)));
+        }
+
+        CodeBlock.Builder code = CodeBlock.builder();
+        boolean hasQueryArgs = endpoint.getArgs().stream()
+                .anyMatch(arg -> arg.getParamType().accept(ParameterTypeVisitor.IS_QUERY));
+        boolean dynamicUrl = prefixLength < segments.size() || hasQueryArgs;
+        if (dynamicUrl) {
+            code.addStatement("$T $N = $L.newBuilder()", HTTP_URL_BUILDER, urlVar, field(urlField, argNames));
+            for (String segment : segments.subList(prefixLength, segments.size())) {
+                if (!isParameterSegment(segment)) {
+                    code.addStatement("$N.addPathSegment($S)", urlVar, segment);
+                    continue;
+                }
+                ArgumentDefinition arg = argument(endpoint, segment.substring(1, segment.length() - 1));
+                boolean encoded = encodedPathArgs.contains(arg.getArgName());
+                String segmentMethod = encoded ? "addEncodedPathSegments" : "addPathSegment";
+                String checkMethod = encoded ? "encodedPathSegments" : "pathSegment";
+                code.add(encode(arg.getType(), CodeBlock.of("$N", arg.getArgName().get()), argNames,
+                        value -> CodeBlock.of("$N.$L($T.$L($L))",
+                                urlVar, segmentMethod, DIRECT_CLIENT_CALLS, checkMethod, value)));
+            }
+            for (ArgumentDefinition arg : endpoint.getArgs()) {
+                if (arg.getParamType().accept(ParameterTypeVisitor.IS_QUERY)) {
+                    String paramId = arg.getParamType().accept(ParameterTypeVisitor.QUERY).getParamId().get();
+                    code.add(encode(arg.getType(), CodeBlock.of("$N", arg.getArgName().get()), argNames,
+                            value -> CodeBlock.of("$N.addQueryParameter($S, $L)", urlVar, paramId, value)));
+                }
+            }
+        }
+
+        code.addStatement("$1T $2N = new $1T()", REQUEST_BUILDER, requestVar);
+        code.addStatement("$N.url($L)", requestVar,
+                dynamicUrl ? CodeBlock.of("$N.build()", urlVar) : field(urlField, argNames));
+        if (endpoint.getAuth().isPresent()) {
+            code.addStatement("$N.header($S, $N.toString())", requestVar, "Authorization", "authHeader");
+        }
+        code.addStatement("$N.header($S, $S)", requestVar, "hr-path-template", pathTemplate.get());
+        for (ArgumentDefinition arg : endpoint.getArgs()) {
+            if (arg.getParamType().accept(ParameterTypeVisitor.IS_HEADER)) {
+                String paramId = arg.getParamType().accept(ParameterTypeVisitor.HEADER).getParamId().get();
+                code.add(encode(arg.getType(), CodeBlock.of("$N", arg.getArgName().get()), argNames,
+                        value -> CodeBlock.of("$N.addHeader($S, $L)", requestVar, paramId, value)));
+            }
+        }
+        code.addStatement("$N.method($S, $L)", requestVar, endpoint.getHttpMethod().get().name(),
+                requestBody(endpoint, argNames, client, constructor));
+
+        CodeBlock reader = responseReader(name, returnType, argNames, client, constructor);
+        code.add(returnFuture(
+                CodeBlock.of("$L.execute($S, $N, $L)", field(CALLS, argNames), name, requestVar, reader)));
+        if (batchCalls && isBatchable(endpoint)) {
+            method.addCode(batchCall(endpoint, argNames, reader));
+        }
+        return method.addCode(code.build()).build();
+    }
+
+    /**
+     * Batch calls carry the credentials of their batch request, so endpoints with cookie auth are sent directly along
+     * with endpoints which the batch endpoint does not accept.
+     */
+    private static boolean isBatchable(EndpointDefinition endpoint) {
+        return UndertowServiceHandlerGenerator.isBatchable(endpoint)
+                && endpoint.getAuth().map(auth -> auth.accept(AuthTypeVisitor.IS_HEADER)).orElse(true);
+    }
+
+    /** Adds the call to a batch if batching is configured, encoding each argument as a property of the call. */
+    private CodeBlock batchCall(EndpointDefinition endpoint, Set<String> argNames, CodeBlock reader) {
+        CodeBlock.Builder code = CodeBlock.builder()
+                .beginControlFlow("if ($L.batching())", field(CALLS, argNames));
+        CodeBlock arguments;
+        if (endpoint.getArgs().isEmpty()) {
+            arguments = CodeBlock.of("$T.emptyMap()", Collections.class);
+        } else {
+            String argumentsVar = freeName("arguments", argNames);
+            code.addStatement("$T $N = new $T<>()",
+                    ParameterizedTypeName.get(Map.class, String.class, Object.class), argumentsVar,
+                    LinkedHashMap.class);
+            for (ArgumentDefinition arg : endpoint.getArgs()) {
+                code.addStatement("$N.put($S, $N)", argumentsVar, arg.getArgName().get(), arg.getArgName().get());
+            }
+            arguments = CodeBlock.of("$N", argumentsVar);
+        }
+        CodeBlock authHeader = endpoint.getAuth().isPresent() ? CodeBlock.of("$N", "authHeader") : CodeBlock.of("null");
+        return code.add(returnFuture(CodeBlock.of("$L.batch($S, $L, $L, $L)",
+                        field(CALLS, argNames), endpoint.getEndpointName().get(), authHeader, arguments, reader)))
+                .endControlFlow()
+                .build();
+    }
+
+    private CodeBlock returnFuture(CodeBlock future) {
+        if (futureType.equals(Retrofit2ServiceGenerator.LISTENABLE_FUTURE_TYPE)) {
+            return CodeBlocks.statement("return $T.listenable($L)", DIRECT_CLIENT_FUTURES, future);
+        }
+        return CodeBlocks.statement("return $L", future);
+    }
+
+    private CodeBlock requestBody(
+            EndpointDefinition endpoint,
+            Set<String> argNames,
+            TypeSpec.Builder client,
+            MethodSpec.Builder constructor) {
+        Optional<ArgumentDefinition> body = endpoint.getArgs().stream()
+                .filter(arg -> arg.getParamType().accept(ParameterTypeVisitor.IS_BODY))
+                .findFirst();
+        if (!body.isPresent()) {
+            String httpMethod = endpoint.getHttpMethod().get().name();
+            return httpMethod.equals("GET") || httpMethod.equals("DELETE")
+                    ? CodeBlock.of("null")
+                    : CodeBlock.of("$T.emptyBody()", DIRECT_CLIENT_CALLS);
+        }
+        String argName = body.get().getArgName().get();
+        TypeName bodyType = argumentTypeMapper.getClassName(body.get().getType());
+        if (bodyType.equals(REQUEST_BODY)) {
+            return CodeBlock.of("$N", argName);
+        }
+        String writerField = endpoint.getEndpointName().get() + "Writer";
+        client.addField(ParameterizedTypeName.get(DIRECT_CLIENT_CALLS.nestedClass("Writer"), bodyType.box()),
+                writerField, Modifier.PRIVATE, Modifier.FINAL);
+        constructor.addStatement("this.$N = $N.writer(new $T() {})",
+                writerField, CALLS, ParameterizedTypeName.get(TYPE_REFERENCE, bodyType.box()));
+        return CodeBlock.of("$L.body($N)", field(writerField, argNames), argName);
+    }
+
+    private CodeBlock responseReader(
+            String endpointName,
+            TypeName returnType,
+            Set<String> argNames,
+            TypeSpec.Builder client,
+            MethodSpec.Builder constructor) {
+        if (returnType.equals(ClassName.VOID)) {
+            return CodeBlock.of("$T.discard()", DIRECT_CLIENT_CALLS);
+        }
+        if (returnType.equals(RESPONSE_BODY)) {
+            return CodeBlock.of("$T.binary()", DIRECT_CLIENT_CALLS);
+        }
+        String readerField = endpointName + "Reader";
+        client.addField(ParameterizedTypeName.get(DIRECT_CLIENT_CALLS.nestedClass("Reader"), returnType.box()),
+                readerField, Modifier.PRIVATE, Modifier.FINAL);
+        TypeName typeReference = ParameterizedTypeName.get(TYPE_REFERENCE, returnType.box());
+        Optional<CodeBlock> emptyValue = emptyValue(returnType);
+        if (emptyValue.isPresent()) {
+            constructor.addStatement("this.$N = $N.reader(new $T() {}, $L)",
+                    readerField, CALLS, typeReference, emptyValue.get());
+        } else {
+            constructor.addStatement("this.$N = $N.reader(new $T() {})", readerField, CALLS, typeReference);
+        }
+        return field(readerField, argNames);
+    }
+
+    /** Refers to a field of the client, which is qualified if an argument of the endpoint shadows it. */
+    private static CodeBlock field(String fieldName, Set<String> argNames) {
+        return argNames.contains(fieldName) ? CodeBlock.of("this.$N", fieldName) : CodeBlock.of("$N", fieldName);
+    }
+
+    /** Returns the value of optional return types for 204 responses. */
+    private static Optional<CodeBlock> emptyValue(TypeName returnType) {
+        TypeName rawType = returnType instanceof ParameterizedTypeName
+                ? ((ParameterizedTypeName) returnType).rawType
+                : returnType;
+        for (Class<?> optionalClass : ImmutableList.of(Optional.class, OptionalInt.class, OptionalDouble.class)) {
+            if (rawType.equals(ClassName.get(optionalClass))) {
+                return Optional.of(CodeBlock.of("$T.empty()", optionalClass));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String freeName(String preferred, Set<String> argNames) {
+        String name = preferred;
+        while (argNames.contains(name)) {
+            name = name + "_";
+        }
+        return name;
+    }
+
+    private static boolean isParameterSegment(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    private static ArgumentDefinition argument(EndpointDefinition endpoint, String argName) {
+        return endpoint.getArgs().stream()
+                .filter(arg -> arg.getArgName().get().equals(argName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown path parameter: " + argName));
+    }
+
+    /**
+     * Generates statements passing each plain-encoded value of the given expression to the sink. Optional values are
+     * omitted when absent, collections produce one value per element, and aliases are encoded as their aliased type.
+     */
+    private CodeBlock encode(Type type, CodeBlock value, Set<String> argNames, Function<CodeBlock, CodeBlock> sink) {
+        return type.accept(new TypeVisitor.Default<CodeBlock>() {
+            @Override
+            public CodeBlock visitPrimitive(PrimitiveType primitive) {
+                switch (primitive.get()) {
+                    case STRING:
+                        return CodeBlocks.statement("$L", sink.apply(value));
+                    case BEARERTOKEN:
+                        return CodeBlocks.statement("$L", sink.apply(CodeBlock.of("$L.getToken()", value)));
+                    default:
+                        return CodeBlocks.statement(
+                                "$L", sink.apply(CodeBlock.of("$T.valueOf($L)", String.class, value)));
+                }
+            }
+
+            @Override
+            public CodeBlock visitOptional(OptionalType optional) {
+                Type itemType = optional.getItemType();
+                CodeBlock item;
+                if (itemType.accept(TypeVisitor.IS_PRIMITIVE)
+                        && itemType.accept(TypeVisitor.PRIMITIVE).get() == PrimitiveType.Value.INTEGER) {
+                    item = CodeBlock.of("$L.getAsInt()", value);
+                } else if (itemType.accept(TypeVisitor.IS_PRIMITIVE)
+                        && itemType.accept(TypeVisitor.PRIMITIVE).get() == PrimitiveType.Value.DOUBLE) {
+                    item = CodeBlock.of("$L.getAsDouble()", value);
+                } else {
+                    item = CodeBlock.of("$L.get()", value);
+                }
+                return CodeBlock.builder()
+                        .beginControlFlow("if ($L.isPresent())", value)
+                        .add(encode(itemType, item, argNames, sink))
+                        .endControlFlow()
+                        .build();
+            }
+
+            @Override
+            public CodeBlock visitList(ListType list) {
+                return forEach(list.getItemType());
+            }
+
+            @Override
+            public CodeBlock visitSet(SetType set) {
+                return forEach(set.getItemType());
+            }
+
+            @Override
+            public CodeBlock visitReference(com.palantir.conjure.spec.TypeName reference) {
+                Optional<Type> aliased = UndertowTypeFunctions.getAliasedType(reference, typeDefinitions);
+                if (aliased.isPresent()) {
+                    return encode(aliased.get(), CodeBlock.of("$L.get()", value), argNames, sink);
+                }
+                return CodeBlocks.statement("$L", sink.apply(CodeBlock.of("$T.valueOf($L)", String.class, value)));
+            }
+
+            @Override
+            public CodeBlock visitExternal(ExternalReference external) {
+                return CodeBlocks.statement("$L", sink.apply(CodeBlock.of("$T.valueOf($L)", String.class, value)));
+            }
+
+            @Override
+            public CodeBlock visitDefault() {
+                throw new IllegalStateException("Unsupported parameter type: " + type);
+            }
+
+            private CodeBlock forEach(Type itemType) {
+                String itemName = freeName("item", argNames);
+                return CodeBlock.builder()
+                        .beginControlFlow("for ($T $N : $L)",
+                                argumentTypeMapper.getClassName(itemType).box(), itemName, value)
+                        .add(encode(itemType, CodeBlock.of("$N", itemName), argNames, sink))
+                        .endControlFlow()
+                        .build();
+            }
+        });
+    }
+}
@@ -50,6 +50,7 @@ import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -64,8 +65,8 @@ import org.slf4j.LoggerFactory;
 
 public final class Retrofit2ServiceGenerator implements ServiceGenerator {
 
-    private static final ClassName COMPLETABLE_FUTURE_TYPE = ClassName.get("java.util.concurrent", "CompletableFuture");
-    private static final ClassName LISTENABLE_FUTURE_TYPE = ClassName.get(
+    static final ClassName COMPLETABLE_FUTURE_TYPE = ClassName.get("java.util.concurrent", "CompletableFuture");
+    static final ClassName LISTENABLE_FUTURE_TYPE = ClassName.get(
             "com.google.common.util.concurrent", "ListenableFuture");
     private static final ClassName CALL_TYPE = ClassName.get("retrofit2", "Call");
     private static final String AUTH_HEADER_NAME = "Authorization";
@@ -83,6 +84,25 @@ public final class Retrofit2ServiceGenerator implements ServiceGenerator {
                         || !featureFlags.contains(FeatureFlags.RetrofitCompletableFutures),
                 "Cannot enable both the RetrofitListenableFutures and RetrofitCompletableFutures "
                         + "Conjure experimental features. Please remove one.");
+        checkArgument(!featureFlags.contains(FeatureFlags.RetrofitDirectClients)
+                        || getReturnType() != CALL_TYPE,
+                "The RetrofitDirectClients Conjure experimental feature requires either RetrofitListenableFutures "
+                        + "or RetrofitCompletableFutures.");
+        checkArgument(!featureFlags.contains(FeatureFlags.RetrofitCoalescedGets)
+                        || featureFlags.contains(FeatureFlags.RetrofitDirectClients),
+                "The RetrofitCoalescedGets Conjure experimental feature requires RetrofitDirectClients.");
+        checkArgument(!featureFlags.contains(FeatureFlags.RetrofitHedgedGets)
+                        || featureFlags.contains(FeatureFlags.RetrofitDirectClients),
+                "The RetrofitHedgedGets Conjure experimental feature requires RetrofitDirectClients.");
+        checkArgument(!featureFlags.contains(FeatureFlags.RetrofitCachedGets)
+                        || featureFlags.contains(FeatureFlags.RetrofitDirectClients),
+                "The RetrofitCachedGets Conjure experimental feature requires RetrofitDirectClients.");
+        checkArgument(!featureFlags.contains(FeatureFlags.RetrofitCborNegotiation)
+                        || featureFlags.contains(FeatureFlags.RetrofitDirectClients),
+                "The RetrofitCborNegotiation Conjure experimental feature requires RetrofitDirectClients.");
+        checkArgument(!featureFlags.contains(FeatureFlags.RetrofitBatchedCalls)
+                        || featureFlags.contains(FeatureFlags.RetrofitDirectClients),
+                "The RetrofitBatchedCalls Conjure experimental feature requires RetrofitDirectClients.");
     }
 
     @Override
@@ -98,9 +118,25 @@ public final class Retrofit2ServiceGenerator implements ServiceGenerator {
                         new DefaultClassNameVisitor(conjureDefinition.getTypes(), featureFlags),
                         BINARY_ARGUMENT_TYPE));
 
-        return conjureDefinition.getServices().stream()
+        Set<JavaFile> files = conjureDefinition.getServices().stream()
                 .map(serviceDef -> generateService(serviceDef, returnTypeMapper, argumentTypeMapper))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(HashSet::new));
+        if (featureFlags.contains(FeatureFlags.RetrofitDirectClients)) {
+            Retrofit2ClientGenerator clientGenerator = new Retrofit2ClientGenerator(
+                    getReturnType(),
+                    featureFlags.contains(FeatureFlags.RetrofitCoalescedGets),
+                    featureFlags.contains(FeatureFlags.RetrofitHedgedGets),
+                    featureFlags.contains(FeatureFlags.RetrofitCachedGets),
+                    featureFlags.contains(FeatureFlags.RetrofitCborNegotiation),
+                    featureFlags.contains(FeatureFlags.RetrofitBatchedCalls),
+                    returnTypeMapper,
+                    argumentTypeMapper,
+                    conjureDefinition.getTypes());
+            conjureDefinition.getServices().forEach(serviceDef -> files.add(clientGenerator.generateClient(
+                    serviceDef,
+                    ClassName.get(serviceDef.getServiceName().getPackage(), serviceName(serviceDef)))));
+        }
+        return files;
     }
 
     private JavaFile generateService(ServiceDefinition serviceDefinition,
@@ -178,7 +214,7 @@ public final class Retrofit2ServiceGenerator implements ServiceGenerator {
         return methodBuilder.build();
     }
 
-    private Set<ArgumentName> extractEncodedPathArgs(HttpPath path) {
+    static Set<ArgumentName> extractEncodedPathArgs(HttpPath path) {
         Pattern pathArg = Pattern.compile("\\{([^\\}]+)\\}");
         Matcher matcher = pathArg.matcher(path.toString());
         ImmutableSet.Builder<ArgumentName> encodedArgs = ImmutableSet.builder();
@@ -192,7 +228,7 @@ public final class Retrofit2ServiceGenerator implements ServiceGenerator {
         return encodedArgs.build();
     }
 
-    private HttpPath replaceEncodedPathArgs(HttpPath httpPath) {
+    static HttpPath replaceEncodedPathArgs(HttpPath httpPath) {
         List<String> newSegments = Lists.newArrayList();
         Pattern pattern = Pattern.compile("\\{([^:]+):(.*)}");
         Path path = Paths.get(httpPath.get());
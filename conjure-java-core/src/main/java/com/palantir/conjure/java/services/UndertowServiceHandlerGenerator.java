@@ -16,6 +16,7 @@
 
 package com.palantir.conjure.java.services;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.reflect.TypeToken;
 import com.palantir.conjure.java.ConjureAnnotations;
@@ -29,6 +30,7 @@ import com.palantir.conjure.java.undertow.lib.SerializerRegistry;
 import com.palantir.conjure.java.undertow.lib.Service;
 import com.palantir.conjure.java.undertow.lib.ServiceContext;
 import com.palantir.conjure.java.undertow.lib.internal.Auth;
+import com.palantir.conjure.java.undertow.lib.internal.Batches;
 import com.palantir.conjure.java.undertow.lib.internal.BinarySerializers;
 import com.palantir.conjure.java.undertow.lib.internal.StringDeserializers;
 import com.palantir.conjure.spec.ArgumentDefinition;
@@ -49,27 +51,36 @@ import com.palantir.conjure.spec.TypeDefinition;
 import com.palantir.conjure.visitor.AuthTypeVisitor;
 import com.palantir.conjure.visitor.ParameterTypeVisitor;
 import com.palantir.conjure.visitor.TypeVisitor;
+import com.palantir.logsafe.Preconditions;
 import com.palantir.tokens.auth.AuthHeader;
 import com.palantir.tokens.auth.BearerToken;
+import com.palantir.util.syntacticpath.Paths;
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.HttpString;
 import io.undertow.util.StatusCodes;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -87,6 +98,15 @@ final class UndertowServiceHandlerGenerator {
 
     private static final String COOKIE_TOKEN_VAR_NAME = "cookieToken";
 
+    private static final String BATCH_ENDPOINT_NAME = "batch";
+    private static final String BATCH_HANDLER_NAME = "BatchHandler";
+    private static final String BATCH_CALL_NAME = "BatchCall";
+    private static final String BATCH_CALL_ENDPOINT_PROPERTY = "endpoint";
+    private static final ClassName JSON_CREATOR = ClassName.get("com.fasterxml.jackson.annotation", "JsonCreator");
+    private static final ClassName JSON_PROPERTY = ClassName.get("com.fasterxml.jackson.annotation", "JsonProperty");
+    private static final ClassName JSON_SUB_TYPES = ClassName.get("com.fasterxml.jackson.annotation", "JsonSubTypes");
+    private static final ClassName JSON_TYPE_INFO = ClassName.get("com.fasterxml.jackson.annotation", "JsonTypeInfo");
+
     private final Set<FeatureFlags> experimentalFeatures;
 
     UndertowServiceHandlerGenerator(Set<FeatureFlags> experimentalFeatures) {
@@ -106,6 +126,7 @@ final class UndertowServiceHandlerGenerator {
                 .addSuperinterface(Registrable.class);
 
         // addFields
+        registrable.addFields(createHeaderFields(serviceDefinition));
         registrable.addField(serviceClass, DELEGATE_VAR_NAME, Modifier.PRIVATE, Modifier.FINAL);
         registrable.addField(ClassName.get(SerializerRegistry.class), SERIALIZER_REGISTRY_VAR_NAME,
                 Modifier.PRIVATE, Modifier.FINAL);
@@ -123,7 +144,8 @@ final class UndertowServiceHandlerGenerator {
         // TODO(nmiyake): check for path disjointness per https://palantir.quip.com/5VxNAIyYYvnZ. Eventually, this
         // should be enforced at the IR level -- once that is done, the generator will not need to perform any
         // validation as the proper endpoint uniqueness guarantees will be provided by the IR itself.
-        CodeBlock routingHandler = CodeBlock.builder()
+        boolean batchEndpoint = experimentalFeatures.contains(FeatureFlags.UndertowBatchEndpoints);
+        CodeBlock.Builder routingHandler = CodeBlock.builder()
                 .add(CodeBlocks.of(Iterables.transform(
                         serviceDefinition.getEndpoints(),
                         e -> CodeBlock.of(
@@ -138,18 +160,24 @@ final class UndertowServiceHandlerGenerator {
                                 CodeBlock.of(
                                         "new $1T()",
                                         endpointToHandlerType(serviceDefinition.getServiceName(), e.getEndpointName()))
-                        ))))
-                .build();
+                        ))));
+        if (batchEndpoint) {
+            routingHandler.add(".add($1T.post($2S, $3S, $4S), new $5N())",
+                    Endpoint.class, batchPath(serviceDefinition), serviceName, BATCH_ENDPOINT_NAME, BATCH_HANDLER_NAME);
+        }
         registrable.addMethod(MethodSpec.methodBuilder("register")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(EndpointRegistry.class, "endpointRegistry")
-                .addStatement("$1L$2L", "endpointRegistry", routingHandler)
+                .addStatement("$1L$2L", "endpointRegistry", routingHandler.build())
                 .build());
 
         // addEndpointHandlers
         registrable.addTypes(Iterables.transform(serviceDefinition.getEndpoints(),
                 e -> generateEndpointHandler(e, typeDefinitions, typeMapper, returnTypeMapper)));
+        if (batchEndpoint) {
+            registrable.addTypes(generateBatchTypes(serviceDefinition, serviceClass, typeDefinitions, typeMapper));
+        }
 
         TypeSpec routable = registrable.build();
 
@@ -191,6 +219,188 @@ final class UndertowServiceHandlerGenerator {
                 .build();
     }
 
+    /**
+     * Returns the path of the batch endpoint, the literal path prefix shared by all endpoints of the service followed
+     * by {@code /batch}.
+     */
+    static String batchPath(ServiceDefinition serviceDefinition) {
+        List<String> prefix = null;
+        for (EndpointDefinition endpoint : serviceDefinition.getEndpoints()) {
+            if (endpoint.getEndpointName().get().equals(BATCH_ENDPOINT_NAME)) {
+                throw new IllegalStateException("Batch endpoints cannot be generated for services with an endpoint "
+                        + "named " + BATCH_ENDPOINT_NAME + ": " + serviceDefinition.getServiceName());
+            }
+            List<String> segments = Paths.get(endpoint.getHttpPath().get()).getSegments();
+            int length = 0;
+            while (length < segments.size()
+                    && !segments.get(length).contains("{")
+                    && (prefix == null
+                            || (length < prefix.size() && prefix.get(length).equals(segments.get(length))))) {
+                length++;
+            }
+            prefix = segments.subList(0, length);
+        }
+        String path = "/" + String.join("/", Iterables.concat(
+                prefix == null ? ImmutableList.of() : prefix, ImmutableList.of(BATCH_ENDPOINT_NAME)));
+        for (EndpointDefinition endpoint : serviceDefinition.getEndpoints()) {
+            if (endpoint.getHttpMethod().get().name().equals("POST")
+                    && endpoint.getHttpPath().get().equals(path)) {
+                throw new IllegalStateException("Batch endpoint path conflicts with endpoint "
+                        + endpoint.getEndpointName() + " of service " + serviceDefinition.getServiceName());
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Endpoints with binary request or response bodies stream their content and cannot be included in a batch
+     * response, and an argument named {@code endpoint} would clash with the property identifying the endpoint of a
+     * call. All other endpoints may be batched.
+     */
+    static boolean isBatchable(EndpointDefinition endpoint) {
+        boolean endpointArg = endpoint.getArgs().stream()
+                .anyMatch(arg -> arg.getArgName().get().equals(BATCH_CALL_ENDPOINT_PROPERTY));
+        boolean binaryBody = endpoint.getArgs().stream()
+                .anyMatch(arg -> arg.getParamType().accept(ParameterTypeVisitor.IS_BODY)
+                        && arg.getType().accept(TypeVisitor.IS_BINARY));
+        boolean binaryReturn = endpoint.getReturns()
+                .map(type -> type.accept(TypeVisitor.IS_BINARY) || UndertowTypeFunctions.isOptionalBinary(type))
+                .orElse(false);
+        return !binaryBody && !binaryReturn && !endpointArg;
+    }
+
+    /**
+     * Generates the handler of the batch endpoint along with a call type per batchable endpoint. Calls are decoded
+     * from the request body using the {@link SerializerRegistry} as {@code {"endpoint": <name>, <arg>: <value>...}},
+     * bound to the request's credentials, and executed using {@link Batches}. Calls missing a required argument are
+     * rejected before any call of the batch is executed.
+     */
+    private List<TypeSpec> generateBatchTypes(
+            ServiceDefinition serviceDefinition,
+            ClassName serviceClass,
+            List<TypeDefinition> typeDefinitions,
+            TypeMapper typeMapper) {
+        ClassName batchCall = batchType(serviceDefinition.getServiceName(), BATCH_CALL_NAME);
+        TypeName callable = ParameterizedTypeName.get(
+                ClassName.get(Callable.class), WildcardTypeName.subtypeOf(Object.class));
+        MethodSpec bind = MethodSpec.methodBuilder("bind")
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .addParameter(serviceClass, DELEGATE_VAR_NAME)
+                .addParameter(HttpServerExchange.class, EXCHANGE_VAR_NAME)
+                .returns(callable)
+                .build();
+
+        List<TypeSpec> calls = new ArrayList<>();
+        AnnotationSpec.Builder subTypes = AnnotationSpec.builder(JSON_SUB_TYPES);
+        for (EndpointDefinition endpoint : serviceDefinition.getEndpoints()) {
+            if (!isBatchable(endpoint)) {
+                continue;
+            }
+            String endpointName = endpoint.getEndpointName().get();
+            String callName = StringUtils.capitalize(endpointName) + BATCH_CALL_NAME;
+            subTypes.addMember("value", "@$T(value = $T.class, name = $S)",
+                    JSON_SUB_TYPES.nestedClass("Type"), batchType(serviceDefinition.getServiceName(), callName),
+                    endpointName);
+            TypeSpec.Builder call = TypeSpec.classBuilder(callName)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .addSuperinterface(batchCall);
+            if (!endpoint.getArgs().isEmpty()) {
+                MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                        .addAnnotation(JSON_CREATOR)
+                        .addModifiers(Modifier.PRIVATE);
+                for (ArgumentDefinition arg : endpoint.getArgs()) {
+                    String argName = arg.getArgName().get();
+                    // Required arguments are boxed so that absent values can be rejected when the call is bound
+                    TypeName argType = arg.getType().accept(TypeVisitor.IS_OPTIONAL)
+                            ? typeMapper.getClassName(arg.getType())
+                            : typeMapper.getClassName(arg.getType()).box();
+                    call.addField(argType, argName, Modifier.PRIVATE, Modifier.FINAL);
+                    constructor.addParameter(ParameterSpec.builder(argType, argName)
+                            .addAnnotation(AnnotationSpec.builder(JSON_PROPERTY)
+                                    .addMember("value", "$S", argName)
+                                    .build())
+                            .build())
+                            .addStatement("this.$1N = $1N", argName);
+                }
+                call.addMethod(constructor.build());
+            }
+
+            CodeBlock.Builder code = CodeBlock.builder();
+            for (ArgumentDefinition arg : endpoint.getArgs()) {
+                if (!arg.getType().accept(TypeVisitor.IS_OPTIONAL)) {
+                    code.addStatement("$1T.checkArgument($2N != null, $3S)",
+                            Preconditions.class, arg.getArgName().get(), arg.getArgName().get() + " cannot be null");
+                }
+            }
+            List<String> methodArgs = new ArrayList<>();
+            addAuthCode(code, endpoint).ifPresent(methodArgs::add);
+            UndertowServiceGenerator.sortArgumentDefinitions(endpoint.getArgs())
+                    .forEach(arg -> methodArgs.add(arg.getArgName().get()));
+            CodeBlock invocation = CodeBlock.of("$N.$N($L)",
+                    DELEGATE_VAR_NAME, endpointName, String.join(", ", methodArgs));
+            if (endpoint.getReturns().isPresent()) {
+                code.addStatement("return () -> $L", invocation);
+            } else {
+                code.add("return () -> {\n$>")
+                        .addStatement("$L", invocation)
+                        .addStatement("return null")
+                        .add("$<};\n");
+            }
+            calls.add(call.addMethod(MethodSpec.methodBuilder(bind.name)
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameters(bind.parameters)
+                    .returns(callable)
+                    .addCode(code.build())
+                    .build())
+                    .build());
+        }
+
+        TypeName callsType = ParameterizedTypeName.get(ClassName.get(List.class), batchCall);
+        TypeName callsTypeToken = ParameterizedTypeName.get(ClassName.get(TypeToken.class), callsType);
+        TypeSpec handler = TypeSpec.classBuilder(BATCH_HANDLER_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .addSuperinterface(HttpHandler.class)
+                .addField(FieldSpec.builder(callsTypeToken, "callsType", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T() {}", callsTypeToken)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("handleRequest")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(HttpServerExchange.class, EXCHANGE_VAR_NAME)
+                        .addException(IOException.class)
+                        .addStatement("$T calls = $N.deserialize(callsType, $N)",
+                                callsType, SERIALIZER_REGISTRY_VAR_NAME, EXCHANGE_VAR_NAME)
+                        .addStatement("$T bound = new $T<>(calls.size())",
+                                ParameterizedTypeName.get(ClassName.get(List.class), callable), ArrayList.class)
+                        .beginControlFlow("for ($T call : calls)", batchCall)
+                        .addStatement("bound.add(call.bind($N, $N))", DELEGATE_VAR_NAME, EXCHANGE_VAR_NAME)
+                        .endControlFlow()
+                        .addStatement("$1N.serialize($2T.execute(bound, $3N), $3N)",
+                                SERIALIZER_REGISTRY_VAR_NAME, Batches.class, EXCHANGE_VAR_NAME)
+                        .build())
+                .build();
+        TypeSpec callInterface = TypeSpec.interfaceBuilder(BATCH_CALL_NAME)
+                .addModifiers(Modifier.PRIVATE)
+                .addAnnotation(AnnotationSpec.builder(JSON_TYPE_INFO)
+                        .addMember("use", "$T.Id.NAME", JSON_TYPE_INFO)
+                        .addMember("property", "$S", BATCH_CALL_ENDPOINT_PROPERTY)
+                        .build())
+                .addAnnotation(subTypes.build())
+                .addMethod(bind)
+                .build();
+        return ImmutableList.<TypeSpec>builder()
+                .add(handler)
+                .add(callInterface)
+                .addAll(calls)
+                .build();
+    }
+
+    private static ClassName batchType(com.palantir.conjure.spec.TypeName serviceName, String name) {
+        return ClassName.get(serviceName.getPackage(),
+                serviceName.getName() + "Endpoints", serviceName.getName() + "Registrable", name);
+    }
+
     private TypeName endpointToHandlerType(com.palantir.conjure.spec.TypeName serviceName, EndpointName name) {
         return ClassName.get(serviceName.getPackage(),
                 serviceName.getName() + "Endpoints", serviceName.getName() + "Registrable",
@@ -231,6 +441,36 @@ final class UndertowServiceHandlerGenerator {
                 .build();
     }
 
+    /**
+     * Header names are converted to {@link HttpString} constants once per service rather than on each lookup, well
+     * known headers resolve to the shared {@link io.undertow.util.Headers} constants. Constants are named after the
+     * header, so that arguments, which are lower camel case, cannot shadow them.
+     */
+    private static List<FieldSpec> createHeaderFields(ServiceDefinition serviceDefinition) {
+        Map<String, String> headers = serviceDefinition.getEndpoints().stream()
+                .flatMap(endpoint -> endpoint.getArgs().stream())
+                .filter(arg -> arg.getParamType().accept(ParameterTypeVisitor.IS_HEADER))
+                .map(UndertowServiceHandlerGenerator::headerParamId)
+                .collect(Collectors.toMap(UndertowServiceHandlerGenerator::headerConstantName, Function.identity(),
+                        (first, second) -> first, LinkedHashMap::new));
+        return headers.entrySet().stream()
+                .map(header -> FieldSpec.builder(HttpString.class, header.getKey(),
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.tryFromString($S)", HttpString.class, header.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static String headerParamId(ArgumentDefinition argument) {
+        return argument.getParamType().accept(ParameterTypeVisitor.HEADER).getParamId().get();
+    }
+
+    /** Header names differing only in case share a constant, as {@link HttpString} compares them ignoring case. */
+    private static String headerConstantName(String paramId) {
+        String name = paramId.replaceAll("[^A-Za-z0-9]", "_").toUpperCase(Locale.ROOT);
+        return Character.isDigit(name.charAt(0)) ? "HEADER_" + name : name;
+    }
+
     private static final String PATH_PARAMS_VAR_NAME = "pathParams";
     private static final String QUERY_PARAMS_VAR_NAME = "queryParams";
     private static final String HEADER_PARAMS_VAR_NAME = "headerParams";
@@ -423,7 +663,7 @@ final class UndertowServiceHandlerGenerator {
                 params,
                 ParameterTypeVisitor.IS_PATH,
                 PATH_PARAMS_VAR_NAME,
-                arg -> arg.getArgName().get(),
+                arg -> CodeBlock.of("$S", arg.getArgName().get()),
                 typeDefinitions,
                 typeMapper);
     }
@@ -435,7 +675,7 @@ final class UndertowServiceHandlerGenerator {
                 params,
                 ParameterTypeVisitor.IS_QUERY,
                 QUERY_PARAMS_VAR_NAME,
-                arg -> arg.getParamType().accept(ParameterTypeVisitor.QUERY).getParamId().get(),
+                arg -> CodeBlock.of("$S", arg.getParamType().accept(ParameterTypeVisitor.QUERY).getParamId().get()),
                 typeDefinitions,
                 typeMapper);
     }
@@ -446,14 +686,14 @@ final class UndertowServiceHandlerGenerator {
                 params,
                 ParameterTypeVisitor.IS_HEADER,
                 HEADER_PARAMS_VAR_NAME,
-                arg -> arg.getParamType().accept(ParameterTypeVisitor.HEADER).getParamId().get(), typeDefinitions,
+                arg -> CodeBlock.of("$N", headerConstantName(headerParamId(arg))), typeDefinitions,
                 typeMapper);
     }
 
     private CodeBlock generateParameterCodeBlock(Stream<ArgumentDefinition> params,
             ParameterType.Visitor<Boolean> paramTypeVisitor,
             String paramsVarName,
-            Function<ArgumentDefinition, String> toParamId,
+            Function<ArgumentDefinition, CodeBlock> toParamId,
             List<TypeDefinition> typeDefinitions,
             TypeMapper typeMapper) {
         return CodeBlocks.of(params.filter(param -> param.getParamType().accept(paramTypeVisitor)).map(
@@ -485,10 +725,10 @@ final class UndertowServiceHandlerGenerator {
     }
 
     private CodeBlock decodePlainParameterCodeBlock(Type type, TypeMapper typeMapper, String resultVarName,
-            String paramsVarName, String paramId) {
+            String paramsVarName, CodeBlock paramId) {
         if (type.accept(TypeVisitor.IS_EXTERNAL)) {
             return CodeBlocks.statement(
-                    "$1T $2N = $3T.valueOf($4T.deserializeString($5N.get($6S)))",
+                    "$1T $2N = $3T.valueOf($4T.deserializeString($5N.get($6L)))",
                     typeMapper.getClassName(type),
                     resultVarName,
                     typeMapper.getClassName(type),
@@ -503,7 +743,7 @@ final class UndertowServiceHandlerGenerator {
             return complexDeserializer.get();
         }
         return CodeBlocks.statement(
-                "$1T $2N = $3T.$4L($5N.get($6S))",
+                "$1T $2N = $3T.$4L($5N.get($6L))",
                 typeMapper.getClassName(type),
                 resultVarName,
                 ClassName.get(StringDeserializers.class),
@@ -521,7 +761,7 @@ final class UndertowServiceHandlerGenerator {
      * For example enum types and external imports.
      */
     private Optional<CodeBlock> getComplexTypeStringDeserializer(
-            Type type, TypeMapper typeMapper, String resultVarName, String paramsVarName, String paramId) {
+            Type type, TypeMapper typeMapper, String resultVarName, String paramsVarName, CodeBlock paramId) {
         return type.accept(new TypeVisitor.Default<Optional<String>>() {
             @Override
             public Optional<String> visitExternal(ExternalReference value) {
@@ -558,7 +798,7 @@ final class UndertowServiceHandlerGenerator {
                 return Optional.empty();
             }
         }).map(functionName -> CodeBlocks.statement(
-                "$1T $2N = $3T.$4L($5N.get($6S), $7T::valueOf)",
+                "$1T $2N = $3T.$4L($5N.get($6L), $7T::valueOf)",
                 typeMapper.getClassName(type),
                 resultVarName,
                 StringDeserializers.class,
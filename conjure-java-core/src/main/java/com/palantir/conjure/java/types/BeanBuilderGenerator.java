@@ -23,7 +23,9 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.palantir.conjure.java.ConjureAnnotations;
 import com.palantir.conjure.java.FeatureFlags;
+import com.palantir.conjure.java.lib.SafeLong;
 import com.palantir.conjure.java.lib.internal.ConjureCollections;
+import com.palantir.conjure.java.lib.internal.SafeLongs;
 import com.palantir.conjure.java.types.BeanGenerator.EnrichedField;
 import com.palantir.conjure.java.util.JavaNameSanitizer;
 import com.palantir.conjure.spec.Documentation;
@@ -34,6 +36,7 @@ import com.palantir.conjure.spec.ObjectDefinition;
 import com.palantir.conjure.spec.OptionalType;
 import com.palantir.conjure.spec.PrimitiveType;
 import com.palantir.conjure.spec.Type;
+import com.palantir.conjure.visitor.TypeDefinitionVisitor;
 import com.palantir.conjure.visitor.TypeVisitor;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
@@ -210,7 +213,7 @@ public final class BeanBuilderGenerator {
 
     private EnrichedField createField(FieldName fieldName, FieldDefinition field) {
         FieldSpec.Builder spec = FieldSpec.builder(
-                typeMapper.getClassName(field.getType()),
+                fieldTypeName(typeMapper, featureFlags, field.getType()),
                 JavaNameSanitizer.sanitize(fieldName),
                 Modifier.PRIVATE);
 
@@ -306,7 +309,22 @@ public final class BeanBuilderGenerator {
 
     private CodeBlock typeAwareAssignment(EnrichedField enriched, Type type, boolean shouldClearFirst) {
         FieldSpec spec = enriched.poetSpec();
-        if (type.accept(TypeVisitor.IS_LIST) || type.accept(TypeVisitor.IS_SET)) {
+        if (isCompactCollection(type)) {
+            CodeBlock nullCheckedValue = Expressions.requireNonNull(
+                    spec.name, enriched.fieldName().get() + " cannot be null");
+            if (shouldClearFirst) {
+                // Replacement collections, including those deserialized by Jackson, are copied once into their
+                // compact form, build() then transfers them without copying again.
+                return CodeBlocks.statement("this.$1N = $2L",
+                        spec.name, compactImmutableCollection(typeMapper, type, nullCheckedValue));
+            }
+            return CodeBlocks.of(
+                    ensureMutable(spec, type),
+                    type.accept(TypeVisitor.IS_MAP)
+                            ? CodeBlocks.statement("this.$1N.putAll($2L)", spec.name, nullCheckedValue)
+                            : CodeBlocks.statement("$1T.addAll(this.$2N, $3L)",
+                                    ConjureCollections.class, spec.name, nullCheckedValue));
+        } else if (type.accept(TypeVisitor.IS_LIST) || type.accept(TypeVisitor.IS_SET)) {
             CodeBlock addStatement = CodeBlocks.statement(
                     "$1T.addAll(this.$2N, $3L)",
                     ConjureCollections.class,
@@ -344,6 +362,8 @@ public final class BeanBuilderGenerator {
             } else {
                 return CodeBlocks.statement("this.$1L = $2L", spec.name, nullCheckedValue);
             }
+        } else if (isPrimitiveSafeLong(featureFlags, type)) {
+            return CodeBlocks.statement("this.$1N = $2T.checkSafe($1N)", spec.name, SafeLongs.class);
         } else {
             CodeBlock nullCheckedValue = spec.type.isPrimitive()
                     ? CodeBlock.of("$N", spec.name) // primitive types can't be null, so no need for requireNonNull!
@@ -352,6 +372,99 @@ public final class BeanBuilderGenerator {
         }
     }
 
+    private boolean isCompactCollection(Type type) {
+        return isCompactCollection(featureFlags, type);
+    }
+
+    /** Returns true if the builder produces an immutable collection which may be shared between objects. */
+    static boolean isCompactCollection(Set<FeatureFlags> featureFlags, Type type) {
+        if (featureFlags.contains(FeatureFlags.UsePrimitiveSafeLongs) && isSafeLongList(type)) {
+            return true;
+        }
+        return featureFlags.contains(FeatureFlags.UseCompactCollections)
+                && (type.accept(TypeVisitor.IS_LIST)
+                        || type.accept(TypeVisitor.IS_SET)
+                        || type.accept(TypeVisitor.IS_MAP));
+    }
+
+    /** Returns true if the field is stored as a primitive {@code long} rather than a {@link SafeLong}. */
+    static boolean isPrimitiveSafeLong(Set<FeatureFlags> featureFlags, Type type) {
+        return featureFlags.contains(FeatureFlags.UsePrimitiveSafeLongs) && isSafeLong(type);
+    }
+
+    /** Returns the type used to store the given field in objects and builders. */
+    static TypeName fieldTypeName(TypeMapper typeMapper, Set<FeatureFlags> featureFlags, Type type) {
+        return isPrimitiveSafeLong(featureFlags, type) ? TypeName.LONG : typeMapper.getClassName(type);
+    }
+
+    private static boolean isSafeLong(Type type) {
+        return type.accept(TypeVisitor.IS_PRIMITIVE)
+                && type.accept(TypeVisitor.PRIMITIVE).get() == PrimitiveType.Value.SAFELONG;
+    }
+
+    private static boolean isSafeLongList(Type type) {
+        return type.accept(TypeVisitor.IS_LIST) && isSafeLong(type.accept(TypeVisitor.LIST).getItemType());
+    }
+
+    /** Suffix of the {@link ConjureCollections} factory methods for the given collection type. */
+    private static String compactCollectionKind(Type type) {
+        if (type.accept(TypeVisitor.IS_MAP)) {
+            return "Map";
+        }
+        return type.accept(TypeVisitor.IS_LIST) ? "List" : "Set";
+    }
+
+    /**
+     * Returns an expression converting the given collection to its compact immutable form. Sets of enums and maps
+     * keyed by enums are indexed by ordinal, integer keys are stored unboxed.
+     */
+    static CodeBlock compactImmutableCollection(TypeMapper typeMapper, Type type, CodeBlock value) {
+        if (isSafeLongList(type)) {
+            return CodeBlock.of("$T.immutableSafeLongList($L)", ConjureCollections.class, value);
+        }
+        Optional<ClassName> enumClass = enumElementClass(typeMapper, type);
+        if (enumClass.isPresent()) {
+            return CodeBlock.of("$1T.immutableEnum$2L($3L, $4T.UNKNOWN, $5T::get)",
+                    ConjureCollections.class, compactCollectionKind(type), value,
+                    enumClass.get().nestedClass("Value"), enumClass.get());
+        }
+        return CodeBlock.of("$T.immutable$L($L)", ConjureCollections.class,
+                isIntegerKeyedMap(type) ? "IntKeyMap" : compactCollectionKind(type), value);
+    }
+
+    /** Returns the class of the conjure enum contained by a set or used as the key of a map, if any. */
+    private static Optional<ClassName> enumElementClass(TypeMapper typeMapper, Type type) {
+        Type elementType;
+        if (type.accept(TypeVisitor.IS_SET)) {
+            elementType = type.accept(TypeVisitor.SET).getItemType();
+        } else if (type.accept(TypeVisitor.IS_MAP)) {
+            elementType = type.accept(TypeVisitor.MAP).getKeyType();
+        } else {
+            return Optional.empty();
+        }
+        if (!elementType.accept(TypeVisitor.IS_INTERNAL_REFERENCE)) {
+            return Optional.empty();
+        }
+        return typeMapper.getType(elementType.accept(TypeVisitor.REFERENCE))
+                .filter(definition -> definition.accept(TypeDefinitionVisitor.IS_ENUM))
+                .map(definition -> (ClassName) typeMapper.getClassName(elementType));
+    }
+
+    private static boolean isIntegerKeyedMap(Type type) {
+        if (!type.accept(TypeVisitor.IS_MAP)) {
+            return false;
+        }
+        Type keyType = type.accept(TypeVisitor.MAP).getKeyType();
+        return keyType.accept(TypeVisitor.IS_PRIMITIVE)
+                && keyType.accept(TypeVisitor.PRIMITIVE).get() == PrimitiveType.Value.INTEGER;
+    }
+
+    /** Collections may be shared with a built object, they are copied on first modification. */
+    private static CodeBlock ensureMutable(FieldSpec spec, Type type) {
+        return CodeBlocks.statement("this.$1N = $2T.mutable$3L(this.$1N)",
+                spec.name, ConjureCollections.class, compactCollectionKind(type));
+    }
+
     private boolean isByteBuffer(Type type) {
         return type.accept(TypeVisitor.IS_BINARY) && !featureFlags.contains(FeatureFlags.UseImmutableBytes);
     }
@@ -382,9 +495,26 @@ public final class BeanBuilderGenerator {
                     createOptionalSetter(enriched));
         }
 
+        if (isPrimitiveSafeLong(featureFlags, type)) {
+            return ImmutableList.of(
+                    createSafeLongSetter(enriched));
+        }
+
         return ImmutableList.of();
     }
 
+    /** Values provided as {@link SafeLong} have already been validated. */
+    private MethodSpec createSafeLongSetter(EnrichedField enriched) {
+        FieldSpec field = enriched.poetSpec();
+        return publicSetter(enriched)
+                .addParameter(SafeLong.class, field.name)
+                .addStatement("this.$1N = $2L.longValue()", field.name,
+                        Expressions.requireNonNull(field.name, enriched.fieldName().get() + " cannot be null"))
+                .addStatement("this.$L = true", deriveFieldInitializedName(enriched))
+                .addStatement("return this")
+                .build();
+    }
+
     private MethodSpec createOptionalSetter(EnrichedField enriched) {
         FieldSpec field = enriched.poetSpec();
         OptionalType type = enriched.conjureDef().getType().accept(TypeVisitor.OPTIONAL);
@@ -449,18 +579,24 @@ public final class BeanBuilderGenerator {
 
     private MethodSpec createItemSetter(EnrichedField enriched, Type itemType) {
         FieldSpec field = enriched.poetSpec();
+        Type type = enriched.conjureDef().getType();
         return publicSetter(enriched)
                 .addParameter(typeMapper.getClassName(itemType), field.name)
+                .addCode(isCompactCollection(type) ? ensureMutable(field, type) : CodeBlock.of(""))
                 .addStatement("this.$1N.add($1N)", field.name)
                 .addStatement("return this")
                 .build();
     }
 
     private MethodSpec createMapSetter(EnrichedField enriched) {
+        FieldSpec field = enriched.poetSpec();
         MapType type = enriched.conjureDef().getType().accept(TypeVisitor.MAP);
         return publicSetter(enriched)
                 .addParameter(typeMapper.getClassName(type.getKeyType()), "key")
                 .addParameter(typeMapper.getClassName(type.getValueType()), "value")
+                .addCode(isCompactCollection(enriched.conjureDef().getType())
+                        ? ensureMutable(field, enriched.conjureDef().getType())
+                        : CodeBlock.of(""))
                 .addStatement("this.$1N.put(key, value)", enriched.poetSpec().name)
                 .addStatement("return this")
                 .build();
@@ -482,11 +618,48 @@ public final class BeanBuilderGenerator {
             method.addStatement("validatePrimitiveFieldsHaveBeenInitialized()");
         }
 
+        // Ownership of compact collections is transferred to the built object, the builder
+        // retains the immutable result and copies it if modified again.
+        for (EnrichedField field : enrichedFields) {
+            Type type = field.conjureDef().getType();
+            if (isCompactCollection(type)) {
+                method.addStatement("this.$1N = $2L", field.poetSpec().name,
+                        compactImmutableCollection(typeMapper, type, CodeBlock.of("this.$N", field.poetSpec().name)));
+            }
+        }
+
+        if (!featureFlags.contains(FeatureFlags.GenerateWithMethods)) {
+            return method
+                    .addStatement("return new $L", Expressions.constructorCall(objectClass, fields))
+                    .build();
+        }
+
+        // Objects with "with" methods share collections between instances and do not copy them on construction,
+        // the builder provides copies which are not modified by later calls to its setters.
+        List<CodeBlock> arguments = new ArrayList<>(enrichedFields.size());
+        for (EnrichedField field : enrichedFields) {
+            arguments.add(unmodifiableBuildArgument(field));
+        }
         return method
-                .addStatement("return new $L", Expressions.constructorCall(objectClass, fields))
+                .addStatement("return new $T($L)", objectClass, CodeBlock.join(arguments, ", "))
                 .build();
     }
 
+    private CodeBlock unmodifiableBuildArgument(EnrichedField field) {
+        Type type = field.conjureDef().getType();
+        String name = field.poetSpec().name;
+        if (isCompactCollection(type)) {
+            return CodeBlock.of("$N", name);
+        } else if (type.accept(TypeVisitor.IS_LIST)) {
+            return CodeBlock.of("$T.unmodifiableList(new $T<>($N))", Collections.class, ArrayList.class, name);
+        } else if (type.accept(TypeVisitor.IS_SET)) {
+            return CodeBlock.of("$T.unmodifiableSet(new $T<>($N))", Collections.class, LinkedHashSet.class, name);
+        } else if (type.accept(TypeVisitor.IS_MAP)) {
+            return CodeBlock.of("$T.unmodifiableMap(new $T<>($N))", Collections.class, LinkedHashMap.class, name);
+        }
+        return CodeBlock.of("$N", name);
+    }
+
     private static TypeName asRawType(TypeName type) {
         if (type instanceof ParameterizedTypeName) {
             return ((ParameterizedTypeName) type).rawType;
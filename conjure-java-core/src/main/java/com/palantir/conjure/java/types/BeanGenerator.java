@@ -23,11 +23,14 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.collect.Collections2;
 import com.palantir.conjure.java.ConjureAnnotations;
 import com.palantir.conjure.java.FeatureFlags;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.lib.internal.SafeLongs;
 import com.palantir.conjure.java.util.CaseConverter;
 import com.palantir.conjure.java.util.JavaNameSanitizer;
 import com.palantir.conjure.spec.FieldDefinition;
 import com.palantir.conjure.spec.FieldName;
 import com.palantir.conjure.spec.ObjectDefinition;
+import com.palantir.conjure.spec.Type;
 import com.palantir.conjure.visitor.TypeVisitor;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
@@ -40,9 +43,12 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeSpec;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -66,7 +72,7 @@ public final class BeanGenerator {
         ClassName objectClass = ClassName.get(typePackage, typeDef.getTypeName().getName());
         ClassName builderClass = ClassName.get(objectClass.packageName(), objectClass.simpleName(), "Builder");
 
-        Collection<EnrichedField> fields = createFields(typeMapper, typeDef.getFields());
+        Collection<EnrichedField> fields = createFields(typeMapper, typeDef.getFields(), featureFlags);
         Collection<FieldSpec> poetFields = EnrichedField.toPoetSpecs(fields);
         Collection<EnrichedField> nonPrimitiveEnrichedFields = fields.stream()
                 .filter(field -> !field.isPrimitive())
@@ -75,9 +81,13 @@ public final class BeanGenerator {
         TypeSpec.Builder typeBuilder = TypeSpec.classBuilder(typeDef.getTypeName().getName())
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addFields(poetFields)
-                .addMethod(createConstructor(fields, poetFields))
+                .addMethod(createConstructor(fields, poetFields, featureFlags))
                 .addMethods(createGetters(fields, featureFlags));
 
+        if (featureFlags.contains(FeatureFlags.GenerateWithMethods)) {
+            typeBuilder.addMethods(createWithMethods(typeMapper, objectClass, fields, featureFlags));
+        }
+
         if (!poetFields.isEmpty()) {
             typeBuilder
                     .addMethod(MethodSpecs.createEquals(objectClass))
@@ -133,18 +143,19 @@ public final class BeanGenerator {
     }
 
     private static Collection<EnrichedField> createFields(
-            TypeMapper typeMapper, List<FieldDefinition> fields) {
+            TypeMapper typeMapper, List<FieldDefinition> fields, Set<FeatureFlags> featureFlags) {
         return fields.stream()
                 .map(e -> EnrichedField.of(e.getFieldName(), e, FieldSpec.builder(
                         // fields are guarded against using reserved keywords
-                        typeMapper.getClassName(e.getType()),
+                        BeanBuilderGenerator.fieldTypeName(typeMapper, featureFlags, e.getType()),
                         JavaNameSanitizer.sanitize(e.getFieldName()),
                         Modifier.PRIVATE, Modifier.FINAL)
                         .build()))
                 .collect(Collectors.toList());
     }
 
-    private static MethodSpec createConstructor(Collection<EnrichedField> fields, Collection<FieldSpec> poetFields) {
+    private static MethodSpec createConstructor(
+            Collection<EnrichedField> fields, Collection<FieldSpec> poetFields, Set<FeatureFlags> featureFlags) {
         MethodSpec.Builder builder = MethodSpec.constructorBuilder()
                 .addModifiers(Modifier.PRIVATE);
 
@@ -153,6 +164,9 @@ public final class BeanGenerator {
             builder.addStatement("$L", Expressions.localMethodCall("validateFields", nonPrimitivePoetFields));
         }
 
+        // With methods share collections between instances, the builder is responsible for providing
+        // immutable collections rather than the constructor.
+        boolean sharesCollections = featureFlags.contains(FeatureFlags.GenerateWithMethods);
         CodeBlock.Builder body = CodeBlock.builder();
         for (EnrichedField field : fields) {
             FieldSpec spec = field.poetSpec();
@@ -161,7 +175,11 @@ public final class BeanGenerator {
 
             // Collection and Map types not copied in constructor for performance. This assumes that the constructor
             // is private and necessarily called from the builder, which does its own defensive copying.
-            if (field.conjureDef().getType().accept(TypeVisitor.IS_LIST)) {
+            // Compact collections provided by the builder are immutable, and need not be wrapped.
+            if (sharesCollections
+                    || BeanBuilderGenerator.isCompactCollection(featureFlags, field.conjureDef().getType())) {
+                body.addStatement("this.$1N = $1N", spec);
+            } else if (field.conjureDef().getType().accept(TypeVisitor.IS_LIST)) {
                 // TODO(melliot): contribute a fix to JavaPoet that parses $T correctly for a JavaPoet FieldSpec
                 body.addStatement("this.$1N = $2T.unmodifiableList($1N)", spec, Collections.class);
             } else if (field.conjureDef().getType().accept(TypeVisitor.IS_SET)) {
@@ -178,6 +196,65 @@ public final class BeanGenerator {
         return builder.build();
     }
 
+    private static Collection<MethodSpec> createWithMethods(
+            TypeMapper typeMapper,
+            ClassName objectClass,
+            Collection<EnrichedField> fields,
+            Set<FeatureFlags> featureFlags) {
+        List<MethodSpec> methods = new ArrayList<>(fields.size());
+        for (EnrichedField field : fields) {
+            FieldSpec spec = field.poetSpec();
+            MethodSpec.Builder method = MethodSpec.methodBuilder("with" + field.getterName().substring("get".length()))
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(spec.type, spec.name)
+                    .returns(objectClass);
+            if (field.conjureDef().getType().accept(TypeVisitor.IS_BINARY)
+                    && !featureFlags.contains(FeatureFlags.UseImmutableBytes)) {
+                // ByteBuffers are mutable and must be copied, consistent with the builder
+                method.addStatement("$1L", Expressions.requireNonNull(
+                                spec.name, field.fieldName().get() + " cannot be null"))
+                        .addStatement("$1T $2N = $1T.allocate($3N.remaining()).put($3N.duplicate())",
+                                ByteBuffer.class, spec.name + "Copy", spec.name)
+                        .addStatement("$1N.rewind()", spec.name + "Copy");
+            }
+            List<CodeBlock> arguments = new ArrayList<>(fields.size());
+            for (EnrichedField other : fields) {
+                arguments.add(other == field
+                        ? withMethodArgument(typeMapper, field, featureFlags)
+                        : CodeBlock.of("this.$N", other.poetSpec()));
+            }
+            methods.add(method
+                    .addStatement("return new $T($L)", objectClass, CodeBlock.join(arguments, ", "))
+                    .build());
+        }
+        return methods;
+    }
+
+    /** Returns the expression providing the replacement value of a field, which must not be modifiable. */
+    private static CodeBlock withMethodArgument(
+            TypeMapper typeMapper, EnrichedField field, Set<FeatureFlags> featureFlags) {
+        FieldSpec spec = field.poetSpec();
+        Type type = field.conjureDef().getType();
+        if (BeanBuilderGenerator.isPrimitiveSafeLong(featureFlags, type)) {
+            return CodeBlock.of("$T.checkSafe($N)", SafeLongs.class, spec);
+        } else if (spec.type.isPrimitive()) {
+            return CodeBlock.of("$N", spec);
+        }
+        CodeBlock value = Expressions.requireNonNull(spec.name, field.fieldName().get() + " cannot be null");
+        if (BeanBuilderGenerator.isCompactCollection(featureFlags, type)) {
+            return BeanBuilderGenerator.compactImmutableCollection(typeMapper, type, value);
+        } else if (type.accept(TypeVisitor.IS_LIST)) {
+            return CodeBlock.of("$T.unmodifiableList(new $T<>($L))", Collections.class, ArrayList.class, value);
+        } else if (type.accept(TypeVisitor.IS_SET)) {
+            return CodeBlock.of("$T.unmodifiableSet(new $T<>($L))", Collections.class, LinkedHashSet.class, value);
+        } else if (type.accept(TypeVisitor.IS_MAP)) {
+            return CodeBlock.of("$T.unmodifiableMap(new $T<>($L))", Collections.class, LinkedHashMap.class, value);
+        } else if (type.accept(TypeVisitor.IS_BINARY) && !featureFlags.contains(FeatureFlags.UseImmutableBytes)) {
+            return CodeBlock.of("$N", spec.name + "Copy");
+        }
+        return value;
+    }
+
     private static Collection<MethodSpec> createGetters(
             Collection<EnrichedField> fields, Set<FeatureFlags> featureFlags) {
         return fields.stream()
@@ -196,6 +273,10 @@ public final class BeanGenerator {
         if (field.conjureDef().getType().accept(TypeVisitor.IS_BINARY)
                 && !featureFlags.contains(FeatureFlags.UseImmutableBytes)) {
             getterBuilder.addStatement("return this.$N.asReadOnlyBuffer()", field.poetSpec().name);
+        } else if (BeanBuilderGenerator.isPrimitiveSafeLong(featureFlags, field.conjureDef().getType())) {
+            getterBuilder
+                    .returns(SafeLong.class)
+                    .addStatement("return $T.of(this.$N)", SafeLong.class, field.poetSpec().name);
         } else {
             getterBuilder.addStatement("return this.$N", field.poetSpec().name);
         }
@@ -226,9 +226,11 @@ public final class EnumGenerator {
         }
         parser.add("default:\n")
                 .indent()
-                // Only validate unknown values, matches are validated at build time.
-                .addStatement("$T.validate($N)", ConjureEnums.class, param)
-                .addStatement("return new $T(Value.UNKNOWN, $N)", thisClass, param)
+                // Only validate unknown values, matches are validated at build time. Instances of unknown values
+                // are validated once and shared.
+                .addStatement("return $1T.unknown($2T.class, $3N, $4L)",
+                        ConjureEnums.class, thisClass, param,
+                        CodeBlock.of("unknownValue -> new $T(Value.UNKNOWN, unknownValue)", thisClass))
                 .unindent()
                 .endControlFlow();
 
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.QosException;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.product.EteBatchServiceAsyncResource;
+import com.palantir.tokens.auth.AuthHeader;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import javax.ws.rs.container.AsyncResponse;
+
+/** Completes each call on a separate executor after the request thread has been released. */
+final class EteBatchAsyncResource implements EteBatchServiceAsyncResource {
+    private final ExecutorService executor = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("async-resource-%d").setDaemon(true).build());
+
+    @Override
+    public void echo(AuthHeader authHeader, String value, AsyncResponse asyncResponse) {
+        complete(asyncResponse, () -> authHeader.getBearerToken().getToken() + ":" + value);
+    }
+
+    @Override
+    public void add(AuthHeader authHeader, int left, int right, AsyncResponse asyncResponse) {
+        complete(asyncResponse, () -> left + right);
+    }
+
+    @Override
+    public void optionalEcho(AuthHeader authHeader, Optional<String> value, AsyncResponse asyncResponse) {
+        complete(asyncResponse, () -> value);
+    }
+
+    @Override
+    public void fail(AuthHeader authHeader, AsyncResponse asyncResponse) {
+        complete(asyncResponse, () -> {
+            throw new ServiceException(ErrorType.PERMISSION_DENIED);
+        });
+    }
+
+    @Override
+    public void throttle(AuthHeader authHeader, AsyncResponse asyncResponse) {
+        complete(asyncResponse, () -> {
+            throw QosException.throttle();
+        });
+    }
+
+    private void complete(AsyncResponse asyncResponse, Supplier<?> result) {
+        CompletableFuture.supplyAsync(result, executor).whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                asyncResponse.resume(throwable.getCause());
+            } else {
+                asyncResponse.resume(value);
+            }
+        });
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.palantir.conjure.java;
 
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 import com.google.common.collect.ImmutableList;
 import com.palantir.conjure.java.api.config.service.UserAgent;
@@ -26,6 +27,7 @@ import com.palantir.conjure.java.config.ssl.SslSocketFactories;
 import com.palantir.conjure.java.serialization.ObjectMappers;
 import com.palantir.conjure.java.server.jersey.ConjureJerseyFeature;
 import com.palantir.conjure.java.server.jersey.Java8OptionalMessageBodyWriter;
+import com.palantir.product.EteServiceMessageBodies;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.setup.Environment;
@@ -43,9 +45,14 @@ public final class EteTestServer extends Application<Configuration> {
         // Must be higher priority than the default writer provided by Dropwizard, otherwise empty optionals
         // result in 404 response codes.
         environment.jersey().getResourceConfig().register(Java8OptionalMessageBodyWriter.class, 1);
+        // Must be higher priority than the Jackson provider above. Bodies are indented so that tests can tell them
+        // apart from bodies written by the Jackson provider.
+        environment.jersey().getResourceConfig().register(EteServiceMessageBodies.json(
+                ObjectMappers.newServerObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)), 1);
         environment.jersey().register(new EteResource());
         environment.jersey().register(new EteBinaryResource());
         environment.jersey().register(new EmptyPathResource());
+        environment.jersey().register(new EteBatchAsyncResource());
     }
 
     private static final SslConfiguration TRUST_STORE_CONFIGURATION =
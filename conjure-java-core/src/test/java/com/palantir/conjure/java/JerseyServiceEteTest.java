@@ -19,12 +19,15 @@ package com.palantir.conjure.java;
 import static com.palantir.conjure.java.EteTestServer.clientConfiguration;
 import static com.palantir.conjure.java.EteTestServer.clientUserAgent;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
 import com.google.common.net.HttpHeaders;
 import com.palantir.conjure.defs.Conjure;
+import com.palantir.conjure.java.api.errors.RemoteException;
 import com.palantir.conjure.java.client.jaxrs.JaxRsClient;
 import com.palantir.conjure.java.client.retrofit2.Retrofit2Client;
 import com.palantir.conjure.java.lib.SafeLong;
@@ -33,6 +36,7 @@ import com.palantir.conjure.java.serialization.ObjectMappers;
 import com.palantir.conjure.java.services.JerseyServiceGenerator;
 import com.palantir.conjure.spec.ConjureDefinition;
 import com.palantir.product.EmptyPathService;
+import com.palantir.product.EteBatchService;
 import com.palantir.product.EteBinaryServiceRetrofit;
 import com.palantir.product.EteService;
 import com.palantir.product.StringAliasExample;
@@ -43,6 +47,7 @@ import io.dropwizard.testing.junit.DropwizardAppRule;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
@@ -74,6 +79,7 @@ public final class JerseyServiceEteTest extends TestBase {
 
     private final EteService client;
     private final EteBinaryServiceRetrofit binary;
+    private final EteBatchService async;
 
     public JerseyServiceEteTest() {
         client = JaxRsClient.create(
@@ -86,6 +92,11 @@ public final class JerseyServiceEteTest extends TestBase {
                 clientUserAgent(),
                 new HostMetricsRegistry(),
                 clientConfiguration());
+        async = JaxRsClient.create(
+                EteBatchService.class,
+                clientUserAgent(),
+                new HostMetricsRegistry(),
+                clientConfiguration());
     }
 
     @Test
@@ -176,6 +187,18 @@ public final class JerseyServiceEteTest extends TestBase {
         assertThat(httpUrlConnection.getResponseCode()).isEqualTo(422);
     }
 
+    @Test
+    public void generated_message_body_provider_writes_service_bodies() throws IOException {
+        URL url = new URL("http://0.0.0.0:8080/test-example/api/base/enum/list/query?queryParamName=VALUE");
+        HttpURLConnection con = (HttpURLConnection) url.openConnection();
+        con.setRequestProperty(HttpHeaders.AUTHORIZATION, "Bearer authheader");
+        assertThat(con.getResponseCode()).isEqualTo(200);
+        try (InputStream body = con.getInputStream()) {
+            // Only the registered EteServiceMessageBodies provider indents its output
+            assertThat(new String(ByteStreams.toByteArray(body), StandardCharsets.UTF_8)).isEqualTo("[ \"VALUE\" ]");
+        }
+    }
+
     @Test
     public void test_optionalBinary_present() throws IOException {
         Response<ResponseBody> response = binary.getOptionalBinaryPresent(AuthHeader.valueOf("authHeader")).execute();
@@ -192,14 +215,37 @@ public final class JerseyServiceEteTest extends TestBase {
         assertThat(response.body()).isNull();
     }
 
+    @Test
+    public void jaxrs_client_can_call_an_async_resource() {
+        assertThat(async.add(AuthHeader.valueOf("authHeader"), 1, 2)).isEqualTo(3);
+    }
+
+    @Test
+    public void async_resource_failures_are_mapped_to_remote_exceptions() {
+        assertThatThrownBy(() -> async.fail(AuthHeader.valueOf("authHeader")))
+                .isInstanceOf(RemoteException.class)
+                .satisfies(e -> {
+                    RemoteException remoteException = (RemoteException) e;
+                    assertThat(remoteException.getStatus()).isEqualTo(403);
+                    assertThat(remoteException.getError().errorCode()).isEqualTo("PERMISSION_DENIED");
+                });
+    }
+
     @BeforeClass
     public static void beforeClass() throws IOException {
         ConjureDefinition def = Conjure.parse(
                 ImmutableList.of(new File("src/test/resources/ete-service.yml"),
                         new File("src/test/resources/ete-binary.yml")));
-        List<Path> files = new JerseyServiceGenerator(ImmutableSet.of(FeatureFlags.RequireNotNullAuthAndBodyParams))
+        List<Path> files = new JerseyServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RequireNotNullAuthAndBodyParams, FeatureFlags.JerseyMessageBodyProviders))
                 .emit(def, folder.getRoot());
         validateGeneratorOutput(files, Paths.get("src/integrationInput/java/com/palantir/product"));
+
+        ConjureDefinition asyncDef = Conjure.parse(ImmutableList.of(new File("src/test/resources/ete-batch.yml")));
+        List<Path> asyncFiles = new JerseyServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RequireNotNullAuthAndBodyParams, FeatureFlags.JerseyAsyncEndpoints))
+                .emit(asyncDef, folder.getRoot());
+        validateGeneratorOutput(asyncFiles, Paths.get("src/integrationInput/java/com/palantir/product"));
     }
 
     private static HttpURLConnection preparePostRequest() throws IOException {
@@ -97,6 +97,42 @@ public final class JerseyServiceGeneratorTests extends TestBase {
         validateGeneratorOutput(files, Paths.get("src/test/resources/test/api"), ".jersey.binary_as_response");
     }
 
+    @Test
+    public void testAsyncEndpoints() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+        File src = folder.newFolder("src");
+        new JerseyServiceGenerator(ImmutableSet.of(FeatureFlags.JerseyAsyncEndpoints)).emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestService.java"))
+                .contains("Set<String> getBranches(")
+                .doesNotContain("AsyncResponse");
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceAsyncResource.java"))
+                .contains("void getBranches(")
+                .contains("@Suspended AsyncResponse asyncResponse);")
+                .contains("StreamingOutput getRawData(")
+                .contains("void uploadRawData(")
+                .doesNotContain("default ");
+    }
+
+    @Test
+    public void testMessageBodyProviders() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+        File src = folder.newFolder("src");
+        new JerseyServiceGenerator(ImmutableSet.of(FeatureFlags.JerseyMessageBodyProviders)).emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceMessageBodies.java"))
+                .contains("public final class TestServiceMessageBodies")
+                .contains("new TypeReference<Set<String>>() {}.getType()")
+                .contains("Dataset.class")
+                .contains("Boolean.class")
+                .contains("ConjureMessageBodies.create(TYPES, jsonMapper, cborMapper)")
+                .doesNotContain("StreamingOutput")
+                .doesNotContain("InputStream")
+                .doesNotContain("Optional");
+    }
+
     private void testServiceGeneration(String conjureFile) throws IOException {
         ConjureDefinition def = Conjure.parse(
                 ImmutableList.of(new File("src/test/resources/" + conjureFile + ".yml")));
@@ -0,0 +1,471 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.lib.ResponseCache;
+import com.palantir.conjure.java.lib.StreamingBody;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.product.StringAliasExample;
+import com.palantir.product.direct.EteBinaryServiceRetrofit;
+import com.palantir.product.direct.EteBinaryServiceRetrofitClient;
+import com.palantir.product.direct.EteServiceRetrofit;
+import com.palantir.product.direct.EteServiceRetrofitClient;
+import com.palantir.tokens.auth.AuthHeader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.Okio;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+/** Exercises the call options of the checked-in direct clients against a mock server. */
+public final class Retrofit2DirectClientTest {
+    private static final AuthHeader AUTH_HEADER = AuthHeader.valueOf("authHeader");
+    private static final ObjectMapper MAPPER = ObjectMappers.newClientObjectMapper();
+    private static final ObjectMapper CBOR_MAPPER =
+            new ObjectMapper(new CBORFactory()).registerModule(new Jdk8Module());
+    private static final String CBOR_ACCEPT = "application/cbor, application/json;q=0.9";
+
+    @Rule
+    public final MockWebServer server = new MockWebServer();
+
+    private final OkHttpClient okHttpClient = new OkHttpClient();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void after() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void failed_calls_complete_with_the_remote_exception() {
+        server.enqueue(new MockResponse()
+                .setResponseCode(403)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"errorCode\":\"PERMISSION_DENIED\",\"errorName\":\"Default:PermissionDenied\","
+                        + "\"errorInstanceId\":\"00000000-0000-0000-0000-000000000000\",\"parameters\":{}}"));
+
+        assertThatThrownBy(() -> client(ImmutableSet.of(), null, null, null).string(AUTH_HEADER).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RemoteException.class)
+                .satisfies(e -> {
+                    RemoteException remote = (RemoteException) e.getCause();
+                    assertThat(remote.getStatus()).isEqualTo(403);
+                    assertThat(remote.getError().errorCode()).isEqualTo("PERMISSION_DENIED");
+                    assertThat(remote.getError().errorName()).isEqualTo("Default:PermissionDenied");
+                });
+    }
+
+    @Test
+    public void failed_calls_without_an_error_body_report_the_status() {
+        server.enqueue(new MockResponse().setResponseCode(503).setBody("unavailable"));
+
+        assertThatThrownBy(() -> client(ImmutableSet.of(), null, null, null).string(AUTH_HEADER).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IOException.class)
+                .hasMessageContaining("Unexpected response code: 503");
+    }
+
+    @Test
+    public void coalesced_gets_share_a_single_request() throws Exception {
+        server.enqueue(new MockResponse().setBody("\"value\"").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        EteServiceRetrofit client = coalescingClient("string");
+
+        CompletableFuture<String> first = client.string(AUTH_HEADER);
+        CompletableFuture<String> second = client.string(AUTH_HEADER);
+
+        assertThat(first.get()).isEqualTo("value");
+        assertThat(second.get()).isEqualTo("value");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void cancelling_a_coalesced_get_does_not_cancel_the_shared_request() throws Exception {
+        server.enqueue(new MockResponse().setBody("\"value\"").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        EteServiceRetrofit client = coalescingClient("string");
+
+        CompletableFuture<String> first = client.string(AUTH_HEADER);
+        CompletableFuture<String> second = client.string(AUTH_HEADER);
+        first.cancel(true);
+
+        assertThat(second.get()).isEqualTo("value");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void gets_with_different_headers_are_not_coalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody("\"first\"").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("\"second\""));
+        EteServiceRetrofit client = coalescingClient("string");
+
+        CompletableFuture<String> first = client.string(AUTH_HEADER);
+        CompletableFuture<String> second = client.string(AuthHeader.valueOf("otherAuthHeader"));
+
+        assertThat(ImmutableSet.of(first.get(), second.get())).containsExactlyInAnyOrder("first", "second");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void gets_of_other_endpoints_are_not_coalesced() throws Exception {
+        server.enqueue(new MockResponse().setBody("1").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("2"));
+        EteServiceRetrofit client = coalescingClient("string");
+
+        CompletableFuture<Integer> first = client.integer(AUTH_HEADER);
+        CompletableFuture<Integer> second = client.integer(AUTH_HEADER);
+
+        assertThat(ImmutableSet.of(first.get(), second.get())).containsExactlyInAnyOrder(1, 2);
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void coalesced_gets_are_sent_again_once_complete() throws Exception {
+        server.enqueue(new MockResponse().setBody("\"first\""));
+        server.enqueue(new MockResponse().setBody("\"second\""));
+        EteServiceRetrofit client = coalescingClient("string");
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("first");
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("second");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void coalesced_gets_which_fail_to_send_are_not_left_in_flight() throws Exception {
+        server.enqueue(new MockResponse().setBody("\"value\""));
+        AtomicBoolean failed = new AtomicBoolean();
+        OkHttpClient failingOnce = okHttpClient.newBuilder()
+                .eventListenerFactory(call -> {
+                    if (!failed.getAndSet(true)) {
+                        throw new IllegalStateException("Failed to create the call");
+                    }
+                    return EventListener.NONE;
+                })
+                .build();
+        EteServiceRetrofit client = EteServiceRetrofitClient.of(failingOnce, server.url("/"), MAPPER,
+                ImmutableSet.of("string"), null, null, null, null);
+
+        assertThatThrownBy(() -> client.string(AUTH_HEADER)).isInstanceOf(IllegalStateException.class);
+        assertThat(client.string(AUTH_HEADER).get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void hedged_gets_complete_with_the_first_response() throws Exception {
+        EteServiceRetrofit client = hedgingClient(Duration.ofMillis(50));
+        // Every hedgeable call refills a tenth of a hedge, so the tenth call may be hedged.
+        for (int i = 0; i < 9; i++) {
+            server.enqueue(new MockResponse().setBody("\"fast\""));
+            assertThat(client.string(AUTH_HEADER).get()).isEqualTo("fast");
+        }
+        server.enqueue(new MockResponse().setBody("\"slow\"").setHeadersDelay(1, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("\"hedged\""));
+
+        assertThat(client.string(AUTH_HEADER).get(500, TimeUnit.MILLISECONDS)).isEqualTo("hedged");
+        assertThat(server.getRequestCount()).isEqualTo(11);
+    }
+
+    @Test
+    public void hedging_requires_a_positive_delay() {
+        assertThatThrownBy(() -> hedgingClient(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessageContaining("hedgeDelay is required when hedging");
+        assertThatThrownBy(() -> hedgingClient(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("hedgeDelay must be positive");
+        assertThatThrownBy(() -> hedgingClient(Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void gets_are_not_hedged_beyond_the_budget() throws Exception {
+        EteServiceRetrofit client = hedgingClient(Duration.ofMillis(10));
+        server.enqueue(new MockResponse().setBody("\"slow\"").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("\"hedged\""));
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("slow");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void gets_are_sent_unhedged_when_the_scheduler_rejects_hedges() throws Exception {
+        scheduler.shutdown();
+        EteServiceRetrofit client = client(ImmutableSet.of("string"), scheduler, Duration.ofMillis(10), null);
+        server.enqueue(new MockResponse().setBody("\"first\""));
+        server.enqueue(new MockResponse().setBody("\"second\""));
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("first");
+        // The coalesced call is no longer in flight once it completes.
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("second");
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void cached_gets_reuse_the_value_when_not_modified() throws Exception {
+        ResponseCache cache = ResponseCache.create(1024);
+        EteServiceRetrofit client = cachingClient(cache);
+        server.enqueue(new MockResponse().setBody("\"value\"").setHeader("ETag", "\"1\""));
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"1\""));
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("value");
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("value");
+
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isEqualTo("\"1\"");
+        assertThat(cache.notModifiedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void cached_gets_replace_the_value_when_modified() throws Exception {
+        ResponseCache cache = ResponseCache.create(1024);
+        EteServiceRetrofit client = cachingClient(cache);
+        server.enqueue(new MockResponse().setBody("\"first\"").setHeader("ETag", "\"1\""));
+        server.enqueue(new MockResponse().setBody("\"second\"").setHeader("ETag", "\"2\""));
+        server.enqueue(new MockResponse().setResponseCode(304));
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("first");
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("second");
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("second");
+
+        server.takeRequest();
+        server.takeRequest();
+        RecordedRequest revalidated = server.takeRequest();
+        assertThat(revalidated.getHeader("If-None-Match")).isEqualTo("\"2\"");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void coalesced_cached_gets_look_up_the_cache_once() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("ETag", "\"1\"")
+                .setBody("\"value\"")
+                .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        ResponseCache cache = ResponseCache.create(1024);
+        EteServiceRetrofit client = client(ImmutableSet.of("string"), null, null, cache);
+
+        CompletableFuture<String> first = client.string(AUTH_HEADER);
+        CompletableFuture<String> second = client.string(AUTH_HEADER);
+
+        assertThat(first.get()).isEqualTo("value");
+        assertThat(second.get()).isEqualTo("value");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isZero();
+    }
+
+    @Test
+    public void gets_without_etag_are_not_cached() throws Exception {
+        ResponseCache cache = ResponseCache.create(1024);
+        EteServiceRetrofit client = cachingClient(cache);
+        server.enqueue(new MockResponse().setBody("\"first\""));
+        server.enqueue(new MockResponse().setBody("\"second\""));
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("first");
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("second");
+
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+        assertThat(server.takeRequest().getHeader("If-None-Match")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void streaming_bodies_send_input_streams_with_their_length() throws Exception {
+        byte[] content = "Hello, world!".getBytes(StandardCharsets.UTF_8);
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        StreamingBody body = StreamingBody.of(new ByteArrayInputStream(content), content.length);
+        assertThat(binaryClient().postBinary(AUTH_HEADER, body).get().string()).isEqualTo("ok");
+
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getHeader("Content-Length")).isEqualTo(String.valueOf(content.length));
+        assertThat(request.getHeader("Content-Encoding")).isNull();
+        assertThat(request.getBody().readByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    public void streaming_bodies_can_be_gzip_compressed_and_report_progress() throws Exception {
+        byte[] content = "Hello, world!".getBytes(StandardCharsets.UTF_8);
+        AtomicLong progress = new AtomicLong();
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        StreamingBody body = StreamingBody.of(new ByteArrayInputStream(content)).gzip().onProgress(progress::set);
+        assertThat(binaryClient().postBinary(AUTH_HEADER, body).get().string()).isEqualTo("ok");
+
+        RecordedRequest request = server.takeRequest();
+        assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+        assertThat(Okio.buffer(Okio.source(new GZIPInputStream(request.getBody().inputStream()))).readByteArray())
+                .isEqualTo(content);
+        assertThat(progress.get()).isEqualTo(content.length);
+    }
+
+    @Test
+    public void input_stream_bodies_can_only_be_written_once() throws Exception {
+        StreamingBody body = StreamingBody.of(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+        Buffer first = new Buffer();
+        body.writeTo(first);
+
+        assertThat(first.readByteArray()).isEqualTo(new byte[] {1, 2, 3});
+        assertThatThrownBy(() -> body.writeTo(new Buffer()))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Input stream body can only be written once");
+    }
+
+    @Test
+    public void cbor_is_sent_once_the_server_responds_with_cbor() throws Exception {
+        EteServiceRetrofit client = cborClient();
+        server.enqueue(cborResponse("first"));
+        server.enqueue(cborResponse("second"));
+
+        assertThat(client.notNullBody(AUTH_HEADER, StringAliasExample.of("first")).get())
+                .isEqualTo(StringAliasExample.of("first"));
+        assertThat(client.notNullBody(AUTH_HEADER, StringAliasExample.of("second")).get())
+                .isEqualTo(StringAliasExample.of("second"));
+
+        RecordedRequest first = server.takeRequest();
+        assertThat(first.getHeader("Accept")).isEqualTo(CBOR_ACCEPT);
+        assertThat(first.getHeader("Content-Type")).startsWith("application/json");
+        assertThat(first.getBody().readUtf8()).isEqualTo("\"first\"");
+        RecordedRequest second = server.takeRequest();
+        assertThat(second.getHeader("Accept")).isEqualTo(CBOR_ACCEPT);
+        assertThat(second.getHeader("Content-Type")).isEqualTo("application/cbor");
+        assertThat(CBOR_MAPPER.readValue(second.getBody().readByteArray(), String.class)).isEqualTo("second");
+    }
+
+    @Test
+    public void cbor_is_accepted_again_after_the_server_responds_with_json() throws Exception {
+        EteServiceRetrofit client = cborClient();
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("\"first\""));
+        server.enqueue(cborResponse("second"));
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("first");
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("second");
+
+        assertThat(server.takeRequest().getHeader("Accept")).isEqualTo(CBOR_ACCEPT);
+        assertThat(server.takeRequest().getHeader("Accept")).isEqualTo(CBOR_ACCEPT);
+    }
+
+    @Test
+    public void cbor_bodies_are_sent_again_as_json_when_unsupported() throws Exception {
+        EteServiceRetrofit client = cborClient();
+        server.enqueue(cborResponse("first"));
+        server.enqueue(new MockResponse().setResponseCode(415));
+        server.enqueue(cborResponse("second"));
+        server.enqueue(cborResponse("third"));
+
+        assertThat(client.notNullBody(AUTH_HEADER, StringAliasExample.of("first")).get())
+                .isEqualTo(StringAliasExample.of("first"));
+        assertThat(client.notNullBody(AUTH_HEADER, StringAliasExample.of("second")).get())
+                .isEqualTo(StringAliasExample.of("second"));
+        assertThat(client.notNullBody(AUTH_HEADER, StringAliasExample.of("third")).get())
+                .isEqualTo(StringAliasExample.of("third"));
+
+        server.takeRequest();
+        assertThat(server.takeRequest().getHeader("Content-Type")).isEqualTo("application/cbor");
+        RecordedRequest resent = server.takeRequest();
+        assertThat(resent.getHeader("Content-Type")).startsWith("application/json");
+        assertThat(resent.getBody().readUtf8()).isEqualTo("\"second\"");
+        // The service rejected CBOR bodies, so they are no longer sent even though it responds with CBOR.
+        assertThat(server.takeRequest().getHeader("Content-Type")).startsWith("application/json");
+    }
+
+    @Test
+    public void requests_are_sent_again_accepting_json_when_cbor_is_not_acceptable() throws Exception {
+        EteServiceRetrofit client = cborClient();
+        server.enqueue(new MockResponse().setResponseCode(406));
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("\"value\""));
+
+        assertThat(client.string(AUTH_HEADER).get()).isEqualTo("value");
+
+        assertThat(server.takeRequest().getHeader("Accept")).isEqualTo(CBOR_ACCEPT);
+        assertThat(server.takeRequest().getHeader("Accept")).isEqualTo("application/json");
+    }
+
+    @Test
+    public void cbor_negotiation_is_not_shared_between_clients() throws Exception {
+        server.enqueue(cborResponse("first"));
+        server.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("\"second\""));
+
+        assertThat(cborClient().notNullBody(AUTH_HEADER, StringAliasExample.of("first")).get())
+                .isEqualTo(StringAliasExample.of("first"));
+        assertThat(cborClient().notNullBody(AUTH_HEADER, StringAliasExample.of("second")).get())
+                .isEqualTo(StringAliasExample.of("second"));
+
+        server.takeRequest();
+        assertThat(server.takeRequest().getHeader("Content-Type")).startsWith("application/json");
+    }
+
+    private EteServiceRetrofit coalescingClient(String... endpoints) {
+        return client(ImmutableSet.copyOf(endpoints), null, null, null);
+    }
+
+    private EteServiceRetrofit hedgingClient(Duration hedgeDelay) {
+        return client(ImmutableSet.of(), scheduler, hedgeDelay, null);
+    }
+
+    private EteServiceRetrofit cachingClient(ResponseCache responseCache) {
+        return client(ImmutableSet.of(), null, null, responseCache);
+    }
+
+    private EteServiceRetrofit cborClient() {
+        return EteServiceRetrofitClient.of(okHttpClient, server.url("/"), MAPPER,
+                ImmutableSet.of(), null, null, null, CBOR_MAPPER);
+    }
+
+    private EteBinaryServiceRetrofit binaryClient() {
+        return EteBinaryServiceRetrofitClient.of(okHttpClient, server.url("/"), MAPPER);
+    }
+
+    private EteServiceRetrofit client(
+            Set<String> coalescedEndpoints,
+            ScheduledExecutorService hedgeScheduler,
+            Duration hedgeDelay,
+            ResponseCache responseCache) {
+        return EteServiceRetrofitClient.of(okHttpClient, server.url("/"), MAPPER,
+                coalescedEndpoints, hedgeScheduler, hedgeDelay, responseCache, null);
+    }
+
+    private static MockResponse cborResponse(Object value) throws IOException {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/cbor")
+                .setBody(new Buffer().write(CBOR_MAPPER.writeValueAsBytes(value)));
+    }
+}
@@ -19,6 +19,7 @@ package com.palantir.conjure.java;
 import static com.palantir.conjure.java.EteTestServer.clientConfiguration;
 import static com.palantir.conjure.java.EteTestServer.clientUserAgent;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -26,9 +27,15 @@ import com.palantir.conjure.defs.Conjure;
 import com.palantir.conjure.java.client.retrofit2.Retrofit2Client;
 import com.palantir.conjure.java.lib.SafeLong;
 import com.palantir.conjure.java.okhttp.HostMetricsRegistry;
+import com.palantir.conjure.java.serialization.ObjectMappers;
 import com.palantir.conjure.java.services.Retrofit2ServiceGenerator;
 import com.palantir.conjure.spec.ConjureDefinition;
+import com.palantir.conjure.spec.ServiceDefinition;
+import com.palantir.conjure.spec.TypeName;
 import com.palantir.product.EteServiceRetrofit;
+import com.palantir.product.SimpleEnum;
+import com.palantir.product.StringAliasExample;
+import com.palantir.product.direct.EteServiceRetrofitClient;
 import com.palantir.ri.ResourceIdentifier;
 import com.palantir.tokens.auth.AuthHeader;
 import io.dropwizard.Configuration;
@@ -43,6 +50,9 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Ignore;
@@ -51,6 +61,14 @@ import org.junit.rules.TemporaryFolder;
 
 public final class Retrofit2ServiceEteTest extends TestBase {
 
+    private static final ImmutableSet<FeatureFlags> DIRECT_CLIENT_FLAGS = ImmutableSet.of(
+            FeatureFlags.RetrofitCompletableFutures,
+            FeatureFlags.RetrofitDirectClients,
+            FeatureFlags.RetrofitCoalescedGets,
+            FeatureFlags.RetrofitHedgedGets,
+            FeatureFlags.RetrofitCachedGets,
+            FeatureFlags.RetrofitCborNegotiation);
+
     @ClassRule
     public static final TemporaryFolder folder = new TemporaryFolder();
 
@@ -58,14 +76,22 @@ public final class Retrofit2ServiceEteTest extends TestBase {
     public static final DropwizardAppRule<Configuration> RULE =
             new DropwizardAppRule<>(EteTestServer.class);
 
+    private static final AuthHeader AUTH_HEADER = AuthHeader.valueOf("authHeader");
+
     private final EteServiceRetrofit client;
 
+    private final com.palantir.product.direct.EteServiceRetrofit directClient;
+
     public Retrofit2ServiceEteTest() {
         client = Retrofit2Client.create(
                 EteServiceRetrofit.class,
                 clientUserAgent(),
                 new HostMetricsRegistry(),
                 clientConfiguration());
+        directClient = EteServiceRetrofitClient.of(
+                new OkHttpClient(),
+                HttpUrl.parse("http://localhost:8080/test-example/api"),
+                ObjectMappers.newClientObjectMapper());
     }
 
     @Ignore // string returns in Jersey should use a mandated wrapper alias type
@@ -125,6 +151,49 @@ public final class Retrofit2ServiceEteTest extends TestBase {
                 .isEqualTo("Hello, world!");
     }
 
+    @Test
+    public void direct_client_can_retrieve_primitives_from_a_server() throws Exception {
+        assertThat(directClient.double_(AUTH_HEADER).get()).isEqualTo(1 / 3d);
+        assertThat(directClient.boolean_(AUTH_HEADER).get()).isTrue();
+        assertThat(directClient.safelong(AUTH_HEADER).get()).isEqualTo(SafeLong.of(12345));
+        assertThat(directClient.rid(AUTH_HEADER).get())
+                .isEqualTo(ResourceIdentifier.of("ri.foundry.main.dataset.1234"));
+        assertThat(directClient.datetime(AUTH_HEADER).get())
+                .isEqualTo(OffsetDateTime.ofInstant(Instant.ofEpochMilli(1234), ZoneId.from(ZoneOffset.UTC)));
+    }
+
+    @Test
+    public void direct_client_can_retrieve_binary_data_from_a_server() throws Exception {
+        assertThat(directClient.binary(AUTH_HEADER).get().string()).isEqualTo("Hello, world!");
+    }
+
+    @Test
+    public void direct_client_can_retrieve_an_optional_empty_from_a_server() throws Exception {
+        assertThat(directClient.optionalEmpty(AUTH_HEADER).get()).isEmpty();
+    }
+
+    @Test
+    public void direct_client_sends_bodies_query_parameters_and_headers() throws Exception {
+        StringAliasExample value = StringAliasExample.of("value");
+        assertThat(directClient.notNullBody(AUTH_HEADER, value).get()).isEqualTo(value);
+        assertThat(directClient.aliasOne(AUTH_HEADER, value).get()).isEqualTo(value);
+        assertThat(directClient.optionalAliasOne(AUTH_HEADER, Optional.empty()).get())
+                .isEqualTo(StringAliasExample.of("foo"));
+        assertThat(directClient.enumListQuery(AUTH_HEADER, ImmutableList.of(SimpleEnum.VALUE, SimpleEnum.VALUE2))
+                .get())
+                .containsExactly(SimpleEnum.VALUE, SimpleEnum.VALUE2);
+        assertThat(directClient.enumHeader(AUTH_HEADER, SimpleEnum.VALUE2).get()).isEqualTo(SimpleEnum.VALUE2);
+        assertThat(directClient.noReturn(AUTH_HEADER).get()).isNull();
+    }
+
+    @Test
+    public void direct_client_rejects_dot_path_segments() {
+        assertThatThrownBy(() -> directClient.path(AUTH_HEADER, ".."))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> directClient.path(AUTH_HEADER, "."))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @BeforeClass
     public static void beforeClass() throws IOException {
         ConjureDefinition def = Conjure.parse(ImmutableList.of(
@@ -132,5 +201,21 @@ public final class Retrofit2ServiceEteTest extends TestBase {
                 new File("src/test/resources/ete-binary.yml")));
         List<Path> files = new Retrofit2ServiceGenerator(ImmutableSet.of()).emit(def, folder.getRoot());
         validateGeneratorOutput(files, Paths.get("src/integrationInput/java/com/palantir/product"));
+
+        // Direct clients are generated into a separate package so that they do not clash with the Call-based
+        // interfaces above.
+        ConjureDefinition directDef = ConjureDefinition.builder()
+                .from(def)
+                .services(def.getServices().stream()
+                        .map(service -> ServiceDefinition.builder()
+                                .from(service)
+                                .serviceName(TypeName.of(
+                                        service.getServiceName().getName(), "com.palantir.product.direct"))
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+        List<Path> directFiles = new Retrofit2ServiceGenerator(DIRECT_CLIENT_FLAGS)
+                .emit(directDef, folder.newFolder("direct"));
+        validateGeneratorOutput(directFiles, Paths.get("src/integrationInput/java/com/palantir/product/direct"));
     }
 }
@@ -86,6 +86,172 @@ public final class Retrofit2ServiceGeneratorTests extends TestBase {
                 .contains("import com.palantir.product.StringExample;");
     }
 
+    @Test
+    public void testDirectClients() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(
+                ImmutableSet.of(FeatureFlags.RetrofitListenableFutures, FeatureFlags.RetrofitDirectClients))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceRetrofitClient.java"))
+                .contains("public final class TestServiceRetrofitClient implements TestServiceRetrofit")
+                .contains("addPathSegments(\"catalog/datasets\")")
+                .contains("addEncodedPathSegments(DirectClientCalls.encodedPathSegments(branch))")
+                .contains("addPathSegment(DirectClientCalls.pathSegment(String.valueOf(datasetRid)))")
+                .contains("addQueryParameter(\"different\", String.valueOf(something))")
+                .contains("addHeader(\"Test-Header\", testHeaderArg)")
+                .contains("request.method(\"POST\", createDatasetWriter.body(request));")
+                .contains("calls.reader(new TypeReference<Optional<Dataset>>() {}, Optional.empty())")
+                .contains("return DirectClientFutures.listenable(")
+                .doesNotContain("retrofit2.")
+                .doesNotContain("private static");
+    }
+
+    @Test
+    public void testDirectClientHelpersDoNotClashWithEndpoints() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-direct-client-names.yml")));
+
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitCompletableFutures,
+                FeatureFlags.RetrofitDirectClients,
+                FeatureFlags.RetrofitCborNegotiation))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "test/api/DirectClientNamesServiceRetrofitClient.java"))
+                .contains("public CompletableFuture<String> accept() {")
+                .contains("public CompletableFuture<String> execute() {")
+                .contains("request.method(\"POST\", bodyWriter.body(calls));")
+                .contains("return this.calls.execute(\"body\", request, bodyReader);")
+                .doesNotContainPattern("private [^(]*\\b(accept|execute|body)\\(");
+    }
+
+    @Test
+    public void testCoalescedGets() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitCompletableFutures,
+                FeatureFlags.RetrofitDirectClients,
+                FeatureFlags.RetrofitCoalescedGets))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceRetrofitClient.java"))
+                .contains(".coalescedEndpoints(coalescedEndpoints)")
+                .contains("return calls.execute(\"getDataset\", request, getDatasetReader);")
+                .contains("return calls.execute(\"getRawData\", request, DirectClientCalls.binary());");
+    }
+
+    @Test
+    public void testHedgedGets() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitListenableFutures,
+                FeatureFlags.RetrofitDirectClients,
+                FeatureFlags.RetrofitHedgedGets))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceRetrofitClient.java"))
+                .contains(".hedging(hedgeScheduler, hedgeDelay)")
+                .contains("Duration hedgeDelay")
+                .doesNotContain("hedgeableCalls")
+                .doesNotContain("coalescedEndpoints");
+    }
+
+    @Test
+    public void testCachedGets() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitCompletableFutures,
+                FeatureFlags.RetrofitDirectClients,
+                FeatureFlags.RetrofitCachedGets))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceRetrofitClient.java"))
+                .contains("ResponseCache responseCache")
+                .contains(".responseCache(responseCache)");
+    }
+
+    @Test
+    public void testBinaryBodiesAreStreamedByTheRuntime() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitListenableFutures,
+                FeatureFlags.RetrofitDirectClients))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceRetrofitClient.java"))
+                .doesNotContain("StreamingBody")
+                .doesNotContain("Content-Encoding");
+    }
+
+    @Test
+    public void testCborNegotiation() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitCompletableFutures,
+                FeatureFlags.RetrofitDirectClients,
+                FeatureFlags.RetrofitCborNegotiation))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceRetrofitClient.java"))
+                .contains("ObjectMapper cborMapper")
+                .contains(".cborMapper(cborMapper)")
+                .contains("request.method(\"POST\", createDatasetWriter.body(request));")
+                .doesNotContain("header(\"Accept\"");
+    }
+
+    @Test
+    public void testBatchedCalls() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+        File src = folder.newFolder("src");
+        new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitCompletableFutures,
+                FeatureFlags.RetrofitDirectClients,
+                FeatureFlags.RetrofitBatchedCalls))
+                .emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceRetrofitClient.java"))
+                .contains("ScheduledExecutorService batchScheduler")
+                .contains("addPathSegments(\"catalog/batch\")")
+                .contains("if (calls.batching()) {")
+                .contains("\"getFileSystems\",");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchedCallsRequireDirectClients() {
+        new Retrofit2ServiceGenerator(
+                ImmutableSet.of(FeatureFlags.RetrofitCompletableFutures, FeatureFlags.RetrofitBatchedCalls));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDirectClientsRequireFutures() {
+        new Retrofit2ServiceGenerator(ImmutableSet.of(FeatureFlags.RetrofitDirectClients));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCoalescedGetsRequireDirectClients() {
+        new Retrofit2ServiceGenerator(
+                ImmutableSet.of(FeatureFlags.RetrofitListenableFutures, FeatureFlags.RetrofitCoalescedGets));
+    }
+
     private static String compiledFileContent(File srcDir, String clazz) throws IOException {
         return new String(Files.readAllBytes(Paths.get(srcDir.getPath(), clazz)), StandardCharsets.UTF_8);
     }
@@ -0,0 +1,271 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HttpHeaders;
+import com.palantir.conjure.defs.Conjure;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.conjure.java.services.Retrofit2ServiceGenerator;
+import com.palantir.conjure.java.services.UndertowServiceGenerator;
+import com.palantir.conjure.java.undertow.lib.ServiceContext;
+import com.palantir.conjure.java.undertow.runtime.ConjureHandler;
+import com.palantir.conjure.java.undertow.runtime.ConjureSerializerRegistry;
+import com.palantir.conjure.java.undertow.runtime.DispatchExecutor;
+import com.palantir.conjure.spec.ConjureDefinition;
+import com.palantir.product.EteBatchServiceEndpoints;
+import com.palantir.product.EteBatchServiceRetrofit;
+import com.palantir.product.EteBatchServiceRetrofitClient;
+import com.palantir.tokens.auth.AuthHeader;
+import io.undertow.Handlers;
+import io.undertow.Undertow;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class UndertowBatchEteTest extends TestBase {
+    private static final ObjectMapper CLIENT_OBJECT_MAPPER = ObjectMappers.newClientObjectMapper();
+    private static final AuthHeader AUTH_HEADER = AuthHeader.valueOf("authHeader");
+
+    @ClassRule
+    public static final TemporaryFolder folder = new TemporaryFolder();
+
+    private static final UndertowBatchResource resource = new UndertowBatchResource();
+
+    private static final DispatchExecutor executor = DispatchExecutor.create("batch-service", 8, 64);
+
+    private static final ScheduledExecutorService batchScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private static final AtomicInteger batchRequests = new AtomicInteger();
+
+    private static final EteBatchServiceRetrofit client = EteBatchServiceRetrofitClient.of(
+            new OkHttpClient.Builder()
+                    .addInterceptor(chain -> {
+                        if (chain.request().url().encodedPath().endsWith("/batch")) {
+                            batchRequests.incrementAndGet();
+                        }
+                        return chain.proceed(chain.request());
+                    })
+                    .build(),
+            HttpUrl.parse("http://localhost:8080/test-example/api"),
+            CLIENT_OBJECT_MAPPER,
+            batchScheduler,
+            Duration.ofMillis(200));
+
+    private static Undertow server;
+
+    @BeforeClass
+    public static void before() throws IOException {
+        ConjureDefinition def = Conjure.parse(ImmutableList.of(new File("src/test/resources/ete-batch.yml")));
+        List<Path> files = new UndertowServiceGenerator(ImmutableSet.of(
+                FeatureFlags.UndertowServicePrefix, FeatureFlags.UndertowBatchEndpoints))
+                .emit(def, folder.getRoot());
+        validateGeneratorOutput(files, Paths.get("src/integrationInput/java/com/palantir/product"));
+        List<Path> clientFiles = new Retrofit2ServiceGenerator(ImmutableSet.of(
+                FeatureFlags.RetrofitCompletableFutures,
+                FeatureFlags.RetrofitDirectClients,
+                FeatureFlags.RetrofitBatchedCalls))
+                .emit(def, folder.getRoot());
+        validateGeneratorOutput(clientFiles, Paths.get("src/integrationInput/java/com/palantir/product"));
+
+        ServiceContext context = ServiceContext.builder()
+                .serializerRegistry(ConjureSerializerRegistry.getDefault())
+                .build();
+        ConjureHandler handler = ConjureHandler.builder()
+                .serviceExecutor("EteBatchService", executor)
+                .build();
+        EteBatchServiceEndpoints.of(resource).create(context).register(handler);
+        server = Undertow.builder()
+                .addHttpListener(8080, "0.0.0.0")
+                .setHandler(Handlers.path().addPrefixPath("/test-example/api", handler))
+                .build();
+        server.start();
+    }
+
+    @AfterClass
+    public static void after() {
+        if (server != null) {
+            server.stop();
+        }
+        executor.close();
+        batchScheduler.shutdownNow();
+    }
+
+    @Test
+    public void batch_returns_a_result_per_call_in_call_order() throws IOException {
+        HttpURLConnection connection = postBatch(
+                "[{\"endpoint\": \"echo\", \"value\": \"foo\"},"
+                        + "{\"endpoint\": \"add\", \"left\": 1, \"right\": 2},"
+                        + "{\"endpoint\": \"optionalEcho\", \"value\": \"bar\"},"
+                        + "{\"endpoint\": \"optionalEcho\"},"
+                        + "{\"endpoint\": \"fail\"}]");
+
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        JsonNode results = readBody(connection.getInputStream());
+        assertThat(results).hasSize(5);
+        assertThat(results.get(0).get("value").asText()).isEqualTo("authHeader:foo");
+        assertThat(results.get(1).get("value").asInt()).isEqualTo(3);
+        assertThat(results.get(2).get("value").asText()).isEqualTo("bar");
+        assertThat(results.get(3).path("value").isMissingNode() || results.get(3).path("value").isNull())
+                .isTrue();
+        assertThat(results.get(4).has("value")).isFalse();
+        assertThat(results.get(4).get("error").get("errorCode").asText()).isEqualTo("PERMISSION_DENIED");
+    }
+
+    @Test
+    public void batched_calls_run_on_the_service_executor() throws IOException {
+        resource.threads().clear();
+        HttpURLConnection connection = postBatch(
+                "[{\"endpoint\": \"echo\", \"value\": \"foo\"},"
+                        + "{\"endpoint\": \"add\", \"left\": 1, \"right\": 2},"
+                        + "{\"endpoint\": \"echo\", \"value\": \"bar\"},"
+                        + "{\"endpoint\": \"add\", \"left\": 3, \"right\": 4}]");
+
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+        assertThat(readBody(connection.getInputStream())).hasSize(4);
+        assertThat(resource.threads()).isNotEmpty().allMatch(thread -> thread.startsWith("batch-service-"));
+    }
+
+    @Test
+    public void batch_with_a_missing_required_argument_is_rejected_without_executing_calls() throws IOException {
+        int invocations = resource.invocations();
+        HttpURLConnection connection = postBatch(
+                "[{\"endpoint\": \"echo\", \"value\": \"foo\"},"
+                        + "{\"endpoint\": \"add\", \"left\": 1}]");
+
+        assertThat(connection.getResponseCode()).isEqualTo(400);
+        JsonNode error = readBody(connection.getErrorStream());
+        assertThat(error.get("errorCode").asText()).isEqualTo("INVALID_ARGUMENT");
+        assertThat(resource.invocations()).isEqualTo(invocations);
+    }
+
+    @Test
+    public void batch_without_an_auth_header_is_rejected() throws IOException {
+        HttpURLConnection connection = prepareBatchRequest();
+        sendBatchRequestData(connection, "[{\"endpoint\": \"echo\", \"value\": \"foo\"}]");
+
+        assertThat(connection.getResponseCode()).isEqualTo(400);
+    }
+
+    @Test
+    public void throttled_calls_fail_the_batch() throws IOException {
+        HttpURLConnection connection = postBatch(
+                "[{\"endpoint\": \"throttle\"}, {\"endpoint\": \"echo\", \"value\": \"foo\"}]");
+
+        assertThat(connection.getResponseCode()).isEqualTo(429);
+    }
+
+    @Test
+    public void client_sends_calls_made_within_the_window_in_a_single_batch() throws Exception {
+        int batches = batchRequests.get();
+        CompletableFuture<String> echo = client.echo(AUTH_HEADER, "foo");
+        CompletableFuture<Integer> add = client.add(AUTH_HEADER, 1, 2);
+        CompletableFuture<Optional<String>> optionalEcho = client.optionalEcho(AUTH_HEADER, Optional.of("bar"));
+        CompletableFuture<Optional<String>> emptyEcho = client.optionalEcho(AUTH_HEADER, Optional.empty());
+        CompletableFuture<Void> fail = client.fail(AUTH_HEADER);
+
+        assertThat(echo.get()).isEqualTo("authHeader:foo");
+        assertThat(add.get()).isEqualTo(3);
+        assertThat(optionalEcho.get()).contains("bar");
+        assertThat(emptyEcho.get()).isEmpty();
+        assertThatThrownBy(fail::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RemoteException.class)
+                .satisfies(e -> {
+                    RemoteException remoteException = (RemoteException) e.getCause();
+                    assertThat(remoteException.getStatus()).isEqualTo(403);
+                    assertThat(remoteException.getError().errorCode()).isEqualTo("PERMISSION_DENIED");
+                });
+        assertThat(batchRequests.get()).isEqualTo(batches + 1);
+    }
+
+    @Test
+    public void client_batches_calls_per_auth_header() throws Exception {
+        int batches = batchRequests.get();
+        CompletableFuture<String> first = client.echo(AUTH_HEADER, "foo");
+        CompletableFuture<String> second = client.echo(AuthHeader.valueOf("other"), "foo");
+
+        assertThat(first.get()).isEqualTo("authHeader:foo");
+        assertThat(second.get()).isEqualTo("other:foo");
+        assertThat(batchRequests.get()).isEqualTo(batches + 2);
+    }
+
+    @Test
+    public void throttled_calls_fail_the_calls_batched_with_them() {
+        CompletableFuture<Void> throttle = client.throttle(AUTH_HEADER);
+        CompletableFuture<String> echo = client.echo(AUTH_HEADER, "foo");
+
+        assertThatThrownBy(throttle::get).isInstanceOf(ExecutionException.class);
+        assertThatThrownBy(echo::get).isInstanceOf(ExecutionException.class);
+    }
+
+    private static HttpURLConnection postBatch(String calls) throws IOException {
+        HttpURLConnection connection = prepareBatchRequest();
+        connection.setRequestProperty(HttpHeaders.AUTHORIZATION, "Bearer authHeader");
+        sendBatchRequestData(connection, calls);
+        return connection;
+    }
+
+    private static HttpURLConnection prepareBatchRequest() throws IOException {
+        URL url = new URL("http://localhost:8080/test-example/api/batched/batch");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty(HttpHeaders.CONTENT_TYPE, "application/json");
+        return connection;
+    }
+
+    private static void sendBatchRequestData(HttpURLConnection connection, String calls) throws IOException {
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(calls.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static JsonNode readBody(InputStream body) throws IOException {
+        try (InputStream in = body) {
+            return CLIENT_OBJECT_MAPPER.readTree(in);
+        }
+    }
+}
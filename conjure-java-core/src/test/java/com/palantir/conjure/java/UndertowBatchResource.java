@@ -0,0 +1,76 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java;
+
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.QosException;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.product.UndertowEteBatchService;
+import com.palantir.tokens.auth.AuthHeader;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class UndertowBatchResource implements UndertowEteBatchService {
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+    int invocations() {
+        return invocations.get();
+    }
+
+    /** Names of the threads on which calls have been invoked. */
+    Set<String> threads() {
+        return threads;
+    }
+
+    @Override
+    public String echo(AuthHeader authHeader, String value) {
+        invocations.incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+        return authHeader.getBearerToken().getToken() + ":" + value;
+    }
+
+    @Override
+    public int add(AuthHeader authHeader, int left, int right) {
+        invocations.incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+        return left + right;
+    }
+
+    @Override
+    public Optional<String> optionalEcho(AuthHeader authHeader, Optional<String> value) {
+        invocations.incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+        return value;
+    }
+
+    @Override
+    public void fail(AuthHeader authHeader) {
+        invocations.incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+        throw new ServiceException(ErrorType.PERMISSION_DENIED);
+    }
+
+    @Override
+    public void throttle(AuthHeader authHeader) {
+        invocations.incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+        throw QosException.throttle();
+    }
+}
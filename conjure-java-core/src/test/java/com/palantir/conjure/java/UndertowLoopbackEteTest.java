@@ -0,0 +1,128 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.net.HttpHeaders;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.conjure.java.undertow.lib.ServiceContext;
+import com.palantir.conjure.java.undertow.runtime.ConjureSerializerRegistry;
+import com.palantir.conjure.java.undertow.runtime.Loopback;
+import com.palantir.conjure.java.undertow.runtime.LoopbackInterceptor;
+import com.palantir.product.EteBatchServiceEndpoints;
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Calls generated Undertow endpoints through a {@link Loopback} rather than a server. */
+public final class UndertowLoopbackEteTest {
+    private static final ObjectMapper CLIENT_OBJECT_MAPPER = ObjectMappers.newClientObjectMapper();
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private static final UndertowBatchResource resource = new UndertowBatchResource();
+
+    private static Loopback loopback;
+    private static OkHttpClient client;
+
+    @BeforeClass
+    public static void before() {
+        ServiceContext context = ServiceContext.builder()
+                .serializerRegistry(ConjureSerializerRegistry.getDefault())
+                .build();
+        loopback = Loopback.of(EteBatchServiceEndpoints.of(resource).create(context));
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new LoopbackInterceptor(loopback))
+                .build();
+    }
+
+    @AfterClass
+    public static void after() {
+        if (loopback != null) {
+            loopback.close();
+        }
+    }
+
+    @Test
+    public void loopback_calls_reach_the_service_with_the_auth_header() throws IOException {
+        try (Response response = client.newCall(authorized()
+                .url("http://loopback/batched/echo")
+                .post(RequestBody.create(JSON, "\"foo\""))
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(CLIENT_OBJECT_MAPPER.readValue(response.body().string(), String.class))
+                    .isEqualTo("authHeader:foo");
+        }
+    }
+
+    @Test
+    public void loopback_calls_deserialize_query_parameters() throws IOException {
+        try (Response response = client.newCall(authorized()
+                .url("http://loopback/batched/add?left=1&right=2")
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("3");
+        }
+    }
+
+    @Test
+    public void loopback_calls_without_an_auth_header_are_rejected() throws IOException {
+        int invocations = resource.invocations();
+        try (Response response = client.newCall(new Request.Builder()
+                .url("http://loopback/batched/echo")
+                .post(RequestBody.create(JSON, "\"foo\""))
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(400);
+            assertThat(resource.invocations()).isEqualTo(invocations);
+        }
+    }
+
+    @Test
+    public void loopback_calls_map_service_exceptions() throws IOException {
+        try (Response response = client.newCall(authorized()
+                .url("http://loopback/batched/fail")
+                .post(RequestBody.create(JSON, ""))
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(403);
+            JsonNode error = CLIENT_OBJECT_MAPPER.readTree(response.body().string());
+            assertThat(error.get("errorCode").asText()).isEqualTo("PERMISSION_DENIED");
+            assertThat(error.get("errorInstanceId").asText()).isNotEmpty();
+        }
+    }
+
+    @Test
+    public void loopback_calls_map_qos_exceptions() throws IOException {
+        try (Response response = client.newCall(authorized()
+                .url("http://loopback/batched/throttle")
+                .post(RequestBody.create(JSON, ""))
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(429);
+        }
+    }
+
+    private static Request.Builder authorized() {
+        return new Request.Builder().header(HttpHeaders.AUTHORIZATION, "Bearer authHeader");
+    }
+}
@@ -79,6 +79,47 @@ public final class UndertowServiceGeneratorTests extends TestBase {
         validateGeneratorOutput(files, Paths.get("src/test/resources/test/api"), ".undertow.binary");
     }
 
+    @Test
+    public void testHeaderConstantsAreNotShadowedByLocals() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-shadowed-headers.yml")));
+        File src = folder.newFolder("src");
+        new UndertowServiceGenerator(ImmutableSet.of()).emit(def, src);
+
+        assertThat(compiledFileContent(src, "test/api/ShadowedHeaderServiceEndpoints.java"))
+                .contains("AuthHeader authHeader = Auth.header(exchange);")
+                .contains("String tokenHeader =")
+                .contains("String limitHeader =")
+                .contains("private static final HttpString X_AUTH = HttpString.tryFromString(\"X-Auth\");")
+                .contains("headerParams.get(X_AUTH)")
+                .contains("headerParams.get(X_TOKEN)")
+                .contains("headerParams.get(X_LIMIT)");
+    }
+
+    @Test
+    public void testBatchEndpoints() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-service.yml")));
+        File src = folder.newFolder("src");
+        new UndertowServiceGenerator(ImmutableSet.of(FeatureFlags.UndertowBatchEndpoints)).emit(def, src);
+
+        assertThat(compiledFileContent(src, "com/palantir/another/TestServiceEndpoints.java"))
+                .contains("\"/catalog/batch\"")
+                .contains("class BatchHandler implements HttpHandler")
+                .contains("Batches.execute(")
+                .contains("GetDatasetBatchCall")
+                .doesNotContain("GetRawDataBatchCall")
+                .doesNotContain("UploadRawDataBatchCall");
+    }
+
+    @Test
+    public void testBatchEndpointGeneration() throws IOException {
+        ConjureDefinition def = Conjure.parse(ImmutableList.of(new File("src/test/resources/ete-batch.yml")));
+        List<Path> files = new UndertowServiceGenerator(ImmutableSet.of(FeatureFlags.UndertowBatchEndpoints))
+                .emit(def, folder.getRoot());
+        validateGeneratorOutput(files, Paths.get("src/test/resources/test/api"), ".undertow.batch");
+    }
+
     private void testServiceGeneration(String conjureFile) throws IOException {
         ConjureDefinition def = Conjure.parse(
                 ImmutableList.of(new File("src/test/resources/" + conjureFile + ".yml")));
@@ -43,6 +43,11 @@ public class EnumTests {
         assertThat(enumExample.toString()).isEqualTo("SOME_VALUE");
     }
 
+    @Test
+    public void testUnknownValuesAreShared() {
+        assertThat(EnumExample.valueOf("OTHER_VALUE")).isSameAs(EnumExample.valueOf("OTHER_VALUE"));
+    }
+
     @Test
     public void testVisitUnknown() {
         EnumExample enumExample = EnumExample.valueOf("SOME_VALUE");
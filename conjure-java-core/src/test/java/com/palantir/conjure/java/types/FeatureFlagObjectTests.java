@@ -0,0 +1,176 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ */
+
+package com.palantir.conjure.java.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.compact.CompactCollectionsExample;
+import com.palantir.compact.Permission;
+import com.palantir.compact.PermissionMapExample;
+import com.palantir.compact.PermissionSetExample;
+import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.serialization.ObjectMappers;
+import com.palantir.primitive.SafeLongIdsExample;
+import com.palantir.with.WithMethodsExample;
+import com.palantir.with.compact.CompactWithMethodsExample;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Exercises the objects generated with {@link com.palantir.conjure.java.FeatureFlags#UseCompactCollections},
+ * {@link com.palantir.conjure.java.FeatureFlags#UsePrimitiveSafeLongs} and
+ * {@link com.palantir.conjure.java.FeatureFlags#GenerateWithMethods}, see {@link ObjectGeneratorTests}.
+ */
+public final class FeatureFlagObjectTests {
+
+    private static final ObjectMapper mapper = ObjectMappers.newServerObjectMapper();
+
+    @Test
+    public void compact_collections_round_trip_in_insertion_order() throws Exception {
+        assertRoundTrip("{\"items\":[\"b\",\"a\"],\"tags\":[\"y\",\"x\"],\"names\":{\"2\":\"two\",\"1\":\"one\"}}",
+                CompactCollectionsExample.class);
+        assertRoundTrip("{\"permissions\":[\"ADMIN\",\"CUSTOM\",\"READ\"]}", PermissionSetExample.class);
+        assertRoundTrip("{\"grants\":{\"WRITE\":\"w\",\"CUSTOM\":\"c\",\"READ\":\"r\"}}", PermissionMapExample.class);
+    }
+
+    @Test
+    public void compact_enum_collections_contain_known_and_unknown_values() throws Exception {
+        PermissionSetExample set = mapper.readValue(
+                "{\"permissions\":[\"ADMIN\",\"CUSTOM\",\"ADMIN\"]}", PermissionSetExample.class);
+        assertThat(set.getPermissions()).containsExactly(Permission.ADMIN, Permission.valueOf("CUSTOM"));
+        assertThat(set.getPermissions()).doesNotContain(Permission.READ, Permission.valueOf("OTHER"));
+
+        PermissionMapExample map = PermissionMapExample.builder()
+                .grants(Permission.WRITE, "w")
+                .grants(Permission.valueOf("CUSTOM"), "c")
+                .build();
+        assertThat(map.getGrants())
+                .containsEntry(Permission.WRITE, "w")
+                .containsEntry(Permission.valueOf("CUSTOM"), "c");
+        assertThat(map.getGrants().get(Permission.READ)).isNull();
+    }
+
+    @Test
+    public void compact_collections_are_shared_by_builder_from() {
+        CompactCollectionsExample example = CompactCollectionsExample.builder()
+                .items("a")
+                .tags("x")
+                .names(1, "one")
+                .build();
+        CompactCollectionsExample copy = CompactCollectionsExample.builder().from(example).build();
+        assertThat(copy).isEqualTo(example);
+        assertThat(copy.getItems()).isSameAs(example.getItems());
+        assertThat(copy.getTags()).isSameAs(example.getTags());
+        assertThat(copy.getNames()).isSameAs(example.getNames());
+    }
+
+    @Test
+    public void compact_collections_are_not_modified_by_building_again() {
+        CompactCollectionsExample.Builder builder = CompactCollectionsExample.builder()
+                .items("a")
+                .tags("x")
+                .names(1, "one");
+        CompactCollectionsExample first = builder.build();
+        CompactCollectionsExample second = builder.items("b").tags("y").names(2, "two").build();
+
+        assertThat(first.getItems()).containsExactly("a");
+        assertThat(first.getTags()).containsExactly("x");
+        assertThat(first.getNames()).containsOnlyKeys(1);
+        assertThat(second.getItems()).containsExactly("a", "b");
+        assertThat(second.getTags()).containsExactly("x", "y");
+        assertThat(second.getNames()).containsOnlyKeys(1, 2);
+        assertThatThrownBy(() -> first.getItems().add("c")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void primitive_safelongs_round_trip() throws Exception {
+        assertRoundTrip("{\"id\":9007199254740991,\"ids\":[1,-9007199254740991]}", SafeLongIdsExample.class);
+        SafeLongIdsExample example = SafeLongIdsExample.of(3, ImmutableList.of(SafeLong.of(4)));
+        assertThat(example.getId()).isEqualTo(SafeLong.of(3));
+        assertThat(SafeLongIdsExample.builder().from(example).build()).isEqualTo(example);
+    }
+
+    @Test
+    public void primitive_safelongs_must_be_safe() {
+        assertThatThrownBy(() -> mapper.readValue("{\"id\":9007199254740992,\"ids\":[]}", SafeLongIdsExample.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("number must be safely representable in javascript");
+        assertThatThrownBy(() -> SafeLongIdsExample.builder().id(Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void with_methods_replace_a_single_field() throws Exception {
+        WithMethodsExample example = WithMethodsExample.of(1, ImmutableList.of("a"), bytes("data"));
+        WithMethodsExample withCount = example.withCount(2);
+        assertThat(withCount.getCount()).isEqualTo(2);
+        assertThat(withCount.getItems()).isSameAs(example.getItems());
+        assertThat(example.getCount()).isEqualTo(1);
+
+        List<String> items = new ArrayList<>(ImmutableList.of("b"));
+        WithMethodsExample withItems = example.withItems(items);
+        items.add("c");
+        assertThat(withItems.getItems()).containsExactly("b");
+        assertThatThrownBy(() -> withItems.getItems().add("d")).isInstanceOf(UnsupportedOperationException.class);
+
+        ByteBuffer binary = bytes("other");
+        WithMethodsExample withBinary = example.withBinary(binary);
+        binary.put(0, (byte) 'O');
+        assertThat(withBinary.getBinary()).isEqualTo(bytes("other"));
+        assertRoundTrip(mapper.writeValueAsString(withBinary), WithMethodsExample.class);
+    }
+
+    @Test
+    public void with_methods_objects_are_not_modified_by_building_again() {
+        WithMethodsExample.Builder builder = WithMethodsExample.builder()
+                .count(1)
+                .items("a")
+                .binary(bytes("data"));
+        WithMethodsExample first = builder.build();
+        WithMethodsExample second = builder.items("b").build();
+        WithMethodsExample third = builder.items(ImmutableList.of("c")).build();
+
+        assertThat(first.getItems()).containsExactly("a");
+        assertThat(second.getItems()).containsExactly("a", "b");
+        assertThat(third.getItems()).containsExactly("c");
+        assertThat(first.withCount(2).getItems()).containsExactly("a");
+    }
+
+    @Test
+    public void compact_with_methods_share_immutable_collections() throws Exception {
+        CompactWithMethodsExample example = CompactWithMethodsExample.builder()
+                .count(1)
+                .id(SafeLong.of(2))
+                .items("a")
+                .tags("x")
+                .build();
+        CompactWithMethodsExample withTags = example.withTags(ImmutableSet.of("y"));
+        assertThat(withTags.getItems()).isSameAs(example.getItems());
+        assertThat(withTags.getTags()).containsExactly("y");
+        assertThat(example.withId(3).getId()).isEqualTo(SafeLong.of(3));
+        assertThatThrownBy(() -> example.withId(Long.MAX_VALUE)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(CompactWithMethodsExample.builder().from(example).build().getItems())
+                .isSameAs(example.getItems());
+        assertRoundTrip("{\"count\":1,\"id\":2,\"items\":[\"a\"],\"tags\":[\"x\"]}", CompactWithMethodsExample.class);
+    }
+
+    private static <T> void assertRoundTrip(String json, Class<T> clazz) throws Exception {
+        T value = mapper.readValue(json, clazz);
+        assertThat(mapper.writeValueAsString(value)).isEqualTo(json);
+        assertThat(mapper.readValue(json, clazz)).isEqualTo(value);
+    }
+
+    private static ByteBuffer bytes(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
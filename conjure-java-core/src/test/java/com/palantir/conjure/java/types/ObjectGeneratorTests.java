@@ -7,6 +7,7 @@ package com.palantir.conjure.java.types;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.palantir.conjure.defs.Conjure;
 import com.palantir.conjure.java.FeatureFlags;
 import com.palantir.conjure.spec.ConjureDefinition;
@@ -91,6 +92,49 @@ public final class ObjectGeneratorTests {
         assertThatFilesAreTheSame(files, REFERENCE_FILES_FOLDER);
     }
 
+    @Test
+    public void testObjectGenerator_compactCollections() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-compact-collections.yml")));
+        List<Path> files = new ObjectGenerator(Collections.singleton(FeatureFlags.UseCompactCollections))
+                .emit(def, folder.getRoot());
+
+        assertThatFilesAreTheSame(files, REFERENCE_FILES_FOLDER);
+    }
+
+    @Test
+    public void testObjectGenerator_primitiveSafeLongs() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-primitive-safelongs.yml")));
+        List<Path> files = new ObjectGenerator(Collections.singleton(FeatureFlags.UsePrimitiveSafeLongs))
+                .emit(def, folder.getRoot());
+
+        assertThatFilesAreTheSame(files, REFERENCE_FILES_FOLDER);
+    }
+
+    @Test
+    public void testObjectGenerator_withMethods() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-with-methods.yml")));
+        List<Path> files = new ObjectGenerator(Collections.singleton(FeatureFlags.GenerateWithMethods))
+                .emit(def, folder.getRoot());
+
+        assertThatFilesAreTheSame(files, REFERENCE_FILES_FOLDER);
+    }
+
+    @Test
+    public void testObjectGenerator_withMethodsCompactCollections() throws IOException {
+        ConjureDefinition def = Conjure.parse(
+                ImmutableList.of(new File("src/test/resources/example-compact-with-methods.yml")));
+        List<Path> files = new ObjectGenerator(ImmutableSet.of(
+                FeatureFlags.GenerateWithMethods,
+                FeatureFlags.UseCompactCollections,
+                FeatureFlags.UsePrimitiveSafeLongs))
+                .emit(def, folder.getRoot());
+
+        assertThatFilesAreTheSame(files, REFERENCE_FILES_FOLDER);
+    }
+
     private void assertThatFilesAreTheSame(List<Path> files, String referenceFilesFolder) throws IOException {
         for (Path file : files) {
             Path relativized = folder.getRoot().toPath().relativize(file);
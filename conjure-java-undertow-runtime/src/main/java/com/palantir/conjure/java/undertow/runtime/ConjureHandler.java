@@ -17,8 +17,11 @@
 package com.palantir.conjure.java.undertow.runtime;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.palantir.conjure.java.undertow.lib.Endpoint;
 import com.palantir.conjure.java.undertow.lib.EndpointRegistry;
+import com.palantir.logsafe.Preconditions;
 import com.palantir.tracing.undertow.TracedOperationHandler;
 import io.undertow.Handlers;
 import io.undertow.server.HttpHandler;
@@ -27,6 +30,10 @@ import io.undertow.server.RoutingHandler;
 import io.undertow.server.handlers.BlockingHandler;
 import io.undertow.server.handlers.ResponseCodeHandler;
 import io.undertow.util.Methods;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 
 /**
@@ -35,40 +42,54 @@ import java.util.function.BiFunction;
  */
 public final class ConjureHandler implements HttpHandler, EndpointRegistry {
 
-    private static final ImmutableList<BiFunction<Endpoint, HttpHandler, HttpHandler>> WRAPPERS =
-            ImmutableList.<BiFunction<Endpoint, HttpHandler, HttpHandler>>of(
-            // Allow the server to configure UndertowOptions.DECODE_URL = false to allow slashes in parameters.
-            // Servers which do not configure DECODE_URL will still work properly except for encoded slash values.
-            // When DECODE_URL has not been disabled, the following handler will no-op
-            (endpoint, handler) -> new ConjureUrlDecodingHandler(handler, "UTF-8"),
-            // no-cache and web-security handlers add listeners for the response to be committed,
-            // they can be executed on the IO thread.
-            (endpoint, handler) -> Methods.GET.equals(endpoint.method())
-                    // Only applies to GET methods
-                    ? new NoCachingResponseHandler(handler) : handler,
-            (endpoint, handler) -> new WebSecurityHandler(handler),
-            // It is vitally important to never run blocking operations on the initial IO thread otherwise
-            // the server will not process new requests. all handlers executed after BlockingHandler
-            // use the larger task pool which is allowed to block. Any operation which sets thread
-            // state (e.g. SLF4J MDC or Tracer) must execute on the blocking thread otherwise state
-            // will not propagate to the wrapped service.
-            (endpoint, handler) -> new BlockingHandler(handler),
-            // Logging context and trace handler must execute prior to the exception
-            // to provide user and trace information on exceptions.
-            (endpoint, handler) -> new LoggingContextHandler(handler),
-            (endpoint, handler) -> new TracedOperationHandler(
-                    handler, endpoint.method() + " " + endpoint.template()),
-            (endpoint, handler) -> new ConjureExceptionHandler(handler)
-    ).reverse();
-
     private final RoutingHandler routingHandler;
+    private final ImmutableList<BiFunction<Endpoint, HttpHandler, HttpHandler>> wrappers;
+    private final ImmutableMap<String, Executor> serviceExecutors;
+    private final ImmutableMap<String, Executor> endpointExecutors;
+
+    private ConjureHandler(Builder builder) {
+        this.routingHandler = Handlers.routing().setFallbackHandler(builder.fallback);
+        this.serviceExecutors = ImmutableMap.copyOf(builder.serviceExecutors);
+        this.endpointExecutors = ImmutableMap.copyOf(builder.endpointExecutors);
+        this.wrappers = ImmutableList.<BiFunction<Endpoint, HttpHandler, HttpHandler>>of(
+                // Allow the server to configure UndertowOptions.DECODE_URL = false to allow slashes in parameters.
+                // Servers which do not configure DECODE_URL will still work properly except for encoded slash values.
+                // When DECODE_URL has not been disabled, the following handler will no-op
+                (endpoint, handler) -> new ConjureUrlDecodingHandler(handler, "UTF-8"),
+                // no-cache and web-security handlers add listeners for the response to be committed,
+                // they can be executed on the IO thread.
+                (endpoint, handler) -> Methods.GET.equals(endpoint.method())
+                        // Only applies to GET methods
+                        ? new NoCachingResponseHandler(handler) : handler,
+                (endpoint, handler) -> new WebSecurityHandler(handler),
+                // It is vitally important to never run blocking operations on the initial IO thread otherwise
+                // the server will not process new requests. all handlers executed after BlockingHandler
+                // use the larger task pool which is allowed to block. Any operation which sets thread
+                // state (e.g. SLF4J MDC or Tracer) must execute on the blocking thread otherwise state
+                // will not propagate to the wrapped service. Services may be configured with a dedicated
+                // executor to isolate them from other services.
+                (endpoint, handler) -> executor(endpoint)
+                        .<HttpHandler>map(dispatchExecutor -> new DispatchingHandler(handler, dispatchExecutor))
+                        .orElseGet(() -> new BlockingHandler(handler)),
+                // Logging context and trace handler must execute prior to the exception
+                // to provide user and trace information on exceptions.
+                (endpoint, handler) -> new LoggingContextHandler(handler),
+                (endpoint, handler) -> new TracedOperationHandler(
+                        handler, endpoint.method() + " " + endpoint.template()),
+                (endpoint, handler) -> new ConjureExceptionHandler(handler)
+        ).reverse();
+    }
 
     public ConjureHandler(HttpHandler fallback) {
-        this.routingHandler = Handlers.routing().setFallbackHandler(fallback);
+        this(builder().fallback(fallback));
     }
 
     public ConjureHandler() {
-        this(ResponseCodeHandler.HANDLE_404);
+        this(builder());
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     @Override
@@ -79,11 +100,73 @@ public final class ConjureHandler implements HttpHandler, EndpointRegistry {
     @Override
     public ConjureHandler add(Endpoint endpoint, HttpHandler handler) {
         HttpHandler current = handler;
-        for (BiFunction<Endpoint, HttpHandler, HttpHandler> wrapper : WRAPPERS) {
+        for (BiFunction<Endpoint, HttpHandler, HttpHandler> wrapper : wrappers) {
             current = wrapper.apply(endpoint, current);
         }
         routingHandler.add(endpoint.method(), endpoint.template(), current);
         return this;
     }
 
+    private Optional<Executor> executor(Endpoint endpoint) {
+        if (!endpoint.serviceName().isPresent()) {
+            return Optional.empty();
+        }
+        String serviceName = endpoint.serviceName().get();
+        Optional<Executor> endpointExecutor = endpoint.name()
+                .map(name -> endpointExecutors.get(endpointKey(serviceName, name)));
+        return endpointExecutor.isPresent()
+                ? endpointExecutor
+                : Optional.ofNullable(serviceExecutors.get(serviceName));
+    }
+
+    private static String endpointKey(String serviceName, String endpointName) {
+        return serviceName + '.' + endpointName;
+    }
+
+    public static final class Builder {
+
+        private HttpHandler fallback = ResponseCodeHandler.HANDLE_404;
+        private final Map<String, Executor> serviceExecutors = new HashMap<>();
+        private final Map<String, Executor> endpointExecutors = new HashMap<>();
+
+        private Builder() {}
+
+        /** {@link HttpHandler} used for requests which do not match a registered endpoint. Responds 404 by default. */
+        @CanIgnoreReturnValue
+        public Builder fallback(HttpHandler value) {
+            this.fallback = Preconditions.checkNotNull(value, "Value is required");
+            return this;
+        }
+
+        /**
+         * Requests to all endpoints of the given service are executed on the provided {@link Executor} instead of
+         * the shared Undertow worker pool. A bounded {@link DispatchExecutor} isolates the service from others hosted
+         * by the same server.
+         */
+        @CanIgnoreReturnValue
+        public Builder serviceExecutor(String serviceName, Executor executor) {
+            serviceExecutors.put(
+                    Preconditions.checkNotNull(serviceName, "Service name is required"),
+                    Preconditions.checkNotNull(executor, "Executor is required"));
+            return this;
+        }
+
+        /**
+         * Requests to the given endpoint are executed on the provided {@link Executor}, taking precedence over
+         * an executor configured for the entire service.
+         */
+        @CanIgnoreReturnValue
+        public Builder endpointExecutor(String serviceName, String endpointName, Executor executor) {
+            endpointExecutors.put(
+                    endpointKey(
+                            Preconditions.checkNotNull(serviceName, "Service name is required"),
+                            Preconditions.checkNotNull(endpointName, "Endpoint name is required")),
+                    Preconditions.checkNotNull(executor, "Executor is required"));
+            return this;
+        }
+
+        public ConjureHandler build() {
+            return new ConjureHandler(this);
+        }
+    }
 }
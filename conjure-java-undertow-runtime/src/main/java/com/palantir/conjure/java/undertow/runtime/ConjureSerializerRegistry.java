@@ -17,6 +17,9 @@
 package com.palantir.conjure.java.undertow.runtime;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ObjectArrays;
 import com.google.common.reflect.TypeToken;
 import com.palantir.conjure.java.undertow.lib.SerializerRegistry;
@@ -27,17 +30,34 @@ import io.undertow.server.HttpServerExchange;
 import io.undertow.util.HeaderValues;
 import io.undertow.util.Headers;
 import java.io.IOException;
+import java.util.List;
 
 /** Orchestrates serialization and deserialization of response and request bodies. */
 public final class ConjureSerializerRegistry implements SerializerRegistry {
 
+    /**
+     * Upper bound on the number of distinct header values for which negotiation results are memoized. Clients send
+     * a small number of distinct values in practice, least recently used values are evicted when they do not.
+     */
+    @VisibleForTesting
+    static final int MAX_CACHED_HEADER_VALUES = 256;
+
+    /** Header values longer than this are negotiated on every request rather than retained by the caches. */
+    @VisibleForTesting
+    static final int MAX_CACHED_HEADER_LENGTH = 512;
+
     private final Serializer defaultSerializer;
     private final Serializer[] serializers;
+    private final Cache<String, Serializer> requestDeserializerCache = newCache();
+    /** Keyed by the header value, or an {@link ImmutableList} of the values when several Accept headers are sent. */
+    @VisibleForTesting
+    final Cache<Object, Serializer> responseSerializerCache = newCache();
 
     /**
      * Creates a registry that {@link #getResponseSerializer selects} the first (based on input order) of the
-     * provided serializers that  {@link Serializer#supportsContentType supports} the serialization format
-     * {@link Headers#ACCEPT accepted} by a given request, or the first serializer if no such serializer can be found.
+     * provided serializers that  {@link Serializer#supportsContentType supports} the most preferred serialization
+     * format {@link Headers#ACCEPT accepted} by a given request, or the first serializer if no such serializer can be
+     * found. Accepted media ranges are ordered by quality value, and may use wildcards.
      */
     public ConjureSerializerRegistry(Serializer defaultSerializer, Serializer... serializers) {
         this.defaultSerializer = defaultSerializer;
@@ -58,8 +78,15 @@ public final class ConjureSerializerRegistry implements SerializerRegistry {
         if (contentType == null) {
             throw new SafeIllegalArgumentException("Request is missing Content-Type header");
         }
+        Serializer cached = requestDeserializerCache.getIfPresent(contentType);
+        if (cached != null) {
+            return cached;
+        }
         for (Serializer serializer : serializers) {
             if (serializer.supportsContentType(contentType)) {
+                if (contentType.length() <= MAX_CACHED_HEADER_LENGTH) {
+                    requestDeserializerCache.put(contentType, serializer);
+                }
                 return serializer;
             }
         }
@@ -71,11 +98,38 @@ public final class ConjureSerializerRegistry implements SerializerRegistry {
     @VisibleForTesting
     Serializer getResponseSerializer(HttpServerExchange exchange) {
         HeaderValues acceptValues = exchange.getRequestHeaders().get(Headers.ACCEPT);
-        if (acceptValues != null) {
-            // This implementation prefers the client "Accept" order
-            for (String acceptValue : acceptValues) {
+        if (acceptValues == null || acceptValues.isEmpty()) {
+            return defaultSerializer;
+        }
+        // Multiple values are keyed by a list of the header strings, which avoids copying their characters
+        Object key = acceptValues.size() == 1 ? acceptValues.getFirst() : ImmutableList.copyOf(acceptValues);
+        Serializer cached = responseSerializerCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        String accept = acceptValues.size() == 1 ? acceptValues.getFirst() : String.join(",", acceptValues);
+        Serializer result = negotiateResponseSerializer(accept);
+        if (accept.length() <= MAX_CACHED_HEADER_LENGTH) {
+            responseSerializerCache.put(key, result);
+        }
+        return result;
+    }
+
+    private Serializer negotiateResponseSerializer(String accept) {
+        // This implementation prefers the client "Accept" order for equally weighted media ranges
+        for (String mediaRange : MediaTypes.parseAccept(accept)) {
+            if (MediaTypes.WILDCARD.equals(mediaRange) || MediaTypes.isSubtypeWildcard(mediaRange)) {
+                // Wildcards must not select a serializer whose type the client refused, e.g. 'application/json;q=0'
+                List<String> rejected = MediaTypes.parseRejected(accept);
                 for (Serializer serializer : serializers) {
-                    if (serializer.supportsContentType(acceptValue)) {
+                    if (MediaTypes.wildcardIncludes(mediaRange, serializer.getContentType())
+                            && !isRejected(serializer, rejected)) {
+                        return serializer;
+                    }
+                }
+            } else {
+                for (Serializer serializer : serializers) {
+                    if (serializer.supportsContentType(mediaRange)) {
                         return serializer;
                     }
                 }
@@ -85,6 +139,20 @@ public final class ConjureSerializerRegistry implements SerializerRegistry {
         return defaultSerializer;
     }
 
+    private static boolean isRejected(Serializer serializer, List<String> rejected) {
+        for (String mediaRange : rejected) {
+            if (MediaTypes.wildcardIncludes(mediaRange, serializer.getContentType())
+                    || serializer.supportsContentType(mediaRange)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <K> Cache<K, Serializer> newCache() {
+        return CacheBuilder.newBuilder().maximumSize(MAX_CACHED_HEADER_VALUES).build();
+    }
+
     /** Serialize a value to a provided exchange. */
     @Override
     public void serialize(Object value, HttpServerExchange exchange) throws IOException {
@@ -94,6 +162,13 @@ public final class ConjureSerializerRegistry implements SerializerRegistry {
         serializer.serialize(value, exchange.getOutputStream());
     }
 
+    @Override
+    public void warmUp(TypeToken<?> type) {
+        for (Serializer serializer : serializers) {
+            serializer.warmUp(type);
+        }
+    }
+
     @Override
     public <T> T deserialize(TypeToken<T> type, HttpServerExchange exchange) throws IOException {
         Serializer serializer = getRequestDeserializer(exchange);
@@ -71,6 +71,15 @@ final class ConjureUrlDecodingHandler implements HttpHandler {
 
     private static void decodeQueryString(HttpServerExchange exchange, String charset, StringBuilder sb) {
         if (!exchange.getQueryString().isEmpty()) {
+            if (!hasEncodedKeys(exchange.getQueryParameters(), charset, sb)) {
+                // Values are decoded in place, URLUtils.decode returns the input when nothing requires decoding.
+                for (Deque<String> values : exchange.getQueryParameters().values()) {
+                    for (int i = values.size(); i > 0; i--) {
+                        values.addLast(URLUtils.decode(values.removeFirst(), charset, true, true, sb));
+                    }
+                }
+                return;
+            }
             Map<String, Deque<String>> newParams = new TreeMap<>();
             for (Map.Entry<String, Deque<String>> param : exchange.getQueryParameters().entrySet()) {
                 final Deque<String> newValues = new ArrayDeque<>(param.getValue().size());
@@ -84,6 +93,15 @@ final class ConjureUrlDecodingHandler implements HttpHandler {
         }
     }
 
+    private static boolean hasEncodedKeys(Map<String, Deque<String>> params, String charset, StringBuilder sb) {
+        for (String key : params.keySet()) {
+            if (!key.equals(URLUtils.decode(key, charset, true, true, sb))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static void decodePathTemplateMatch(HttpServerExchange exchange, String charset, StringBuilder sb) {
         PathTemplateMatch pathTemplateMatch = exchange.getAttachment(PathTemplateMatch.ATTACHMENT_KEY);
         if (pathTemplateMatch != null) {
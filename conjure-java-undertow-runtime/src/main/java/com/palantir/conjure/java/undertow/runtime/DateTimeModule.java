@@ -0,0 +1,211 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.palantir.conjure.java.lib.internal.ConjureDateTimes;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * Jackson module which reads and writes {@link OffsetDateTime} values in canonical RFC 3339 form without
+ * {@link java.time.format.DateTimeFormatter}. The serializers and deserializers registered by the jsr310 module are
+ * wrapped rather than replaced, any value or configuration not handled by the fast path is delegated to them. Values
+ * of properties with a {@code @JsonFormat} which changes the jsr310 (de)serializer always use the jsr310 one.
+ */
+final class DateTimeModule extends SimpleModule {
+
+    DateTimeModule() {
+        super(DateTimeModule.class.getCanonicalName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addBeanSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(
+                    SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                return beanDesc.getBeanClass() == OffsetDateTime.class
+                        ? new OffsetDateTimeSerializer((JsonSerializer<Object>) serializer, true)
+                        : serializer;
+            }
+        });
+        context.addBeanDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonDeserializer<?> modifyDeserializer(
+                    DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+                return beanDesc.getBeanClass() == OffsetDateTime.class
+                        ? new OffsetDateTimeDeserializer((JsonDeserializer<Object>) deserializer, true)
+                        : deserializer;
+            }
+        });
+    }
+
+    private static final class OffsetDateTimeSerializer extends JsonSerializer<OffsetDateTime>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<Object> delegate;
+        // False once the delegate was contextualized with a format, such as a pattern or shape, which the fast path
+        // does not implement.
+        private final boolean defaultFormat;
+
+        OffsetDateTimeSerializer(JsonSerializer<Object> delegate, boolean defaultFormat) {
+            this.delegate = delegate;
+            this.defaultFormat = defaultFormat;
+        }
+
+        @Override
+        public void serialize(OffsetDateTime value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            if (defaultFormat && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                char[] buffer = new char[ConjureDateTimes.MAX_RFC3339_LENGTH];
+                int length = ConjureDateTimes.formatRfc3339(value, buffer);
+                if (length >= 0) {
+                    gen.writeString(buffer, 0, length);
+                    return;
+                }
+            }
+            delegate.serialize(value, gen, provider);
+        }
+
+        @Override
+        public void serializeWithType(
+                OffsetDateTime value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+                throws IOException {
+            delegate.serializeWithType(value, gen, provider, typeSer);
+        }
+
+        @Override
+        public Class<OffsetDateTime> handledType() {
+            return OffsetDateTime.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer) {
+                JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(provider, property);
+                if (contextual != delegate) {
+                    return new OffsetDateTimeSerializer((JsonSerializer<Object>) contextual, false);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+    }
+
+    private static final class OffsetDateTimeDeserializer extends JsonDeserializer<Object>
+            implements ContextualDeserializer, ResolvableDeserializer {
+
+        private final JsonDeserializer<Object> delegate;
+        // False once the delegate was contextualized with a format, such as a pattern, which the fast path does not
+        // implement.
+        private final boolean defaultFormat;
+
+        OffsetDateTimeDeserializer(JsonDeserializer<Object> delegate, boolean defaultFormat) {
+            this.delegate = delegate;
+            this.defaultFormat = defaultFormat;
+        }
+
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            if (defaultFormat && parser.hasToken(JsonToken.VALUE_STRING)) {
+                OffsetDateTime value = ConjureDateTimes.parseRfc3339(CharBuffer.wrap(
+                        parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+                if (value != null) {
+                    return adjustToContextTimeZone(value, ctxt);
+                }
+            }
+            return delegate.deserialize(parser, ctxt);
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser parser, DeserializationContext ctxt, TypeDeserializer typeDeser)
+                throws IOException {
+            return delegate.deserializeWithType(parser, ctxt, typeDeser);
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return OffsetDateTime.class;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualDeserializer) {
+                JsonDeserializer<?> contextual =
+                        ((ContextualDeserializer) delegate).createContextual(ctxt, property);
+                if (contextual != delegate) {
+                    return new OffsetDateTimeDeserializer((JsonDeserializer<Object>) contextual, false);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+            if (delegate instanceof ResolvableDeserializer) {
+                ((ResolvableDeserializer) delegate).resolve(ctxt);
+            }
+        }
+
+        /** Matches the behavior of the jsr310 deserializer. */
+        private static OffsetDateTime adjustToContextTimeZone(OffsetDateTime value, DeserializationContext ctxt) {
+            if (!ctxt.isEnabled(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)) {
+                return value;
+            }
+            ZoneId zone = ctxt.getTimeZone().toZoneId();
+            return value.withOffsetSameInstant(zone.getRules().getOffset(value.toLocalDateTime()));
+        }
+    }
+}
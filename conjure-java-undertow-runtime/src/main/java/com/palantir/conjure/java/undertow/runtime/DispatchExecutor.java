@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded {@link Executor} which may be provided to {@link ConjureHandler.Builder} in order to isolate services
+ * from one another. Requests which cannot be queued are rejected, and result in a
+ * {@link com.palantir.conjure.java.api.errors.QosException#unavailable() 503 Unavailable} response.
+ */
+public final class DispatchExecutor implements Executor, AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    private DispatchExecutor(String name, int threads, int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a new {@link DispatchExecutor} using up to {@code threads} threads, and queueing at most
+     * {@code queueCapacity} requests before rejecting new work.
+     */
+    public static DispatchExecutor create(String name, int threads, int queueCapacity) {
+        Preconditions.checkNotNull(name, "name is required");
+        Preconditions.checkArgument(threads > 0, "threads must be positive", SafeArg.of("threads", threads));
+        Preconditions.checkArgument(queueCapacity > 0, "queueCapacity must be positive",
+                SafeArg.of("queueCapacity", queueCapacity));
+        return new DispatchExecutor(name, threads, queueCapacity);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long enqueuedNanos = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWaitNanos.add(System.nanoTime() - enqueuedNanos);
+                executed.increment();
+                command.run();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    /** Number of requests waiting for a thread. */
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /** Number of requests which have begun executing. */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /** Number of requests which were rejected because the queue was full. */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Total time requests which have begun executing spent waiting in the queue. */
+    public long totalQueueWait(TimeUnit unit) {
+        return unit.convert(queueWaitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /** Stops accepting new requests, requests which have already been queued are allowed to complete. */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
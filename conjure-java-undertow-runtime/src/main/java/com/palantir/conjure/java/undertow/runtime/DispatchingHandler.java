@@ -0,0 +1,66 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.api.errors.QosException;
+import com.palantir.conjure.java.undertow.lib.Attachments;
+import io.undertow.server.Connectors;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Equivalent to {@link io.undertow.server.handlers.BlockingHandler}, but dispatches to the provided {@link Executor}
+ * rather than the shared XNIO worker pool. When the executor rejects the request, for example because its queue is
+ * full, a {@link QosException#unavailable() 503 Unavailable} response is sent. The executor is attached to the
+ * exchange as {@link Attachments#DISPATCH_EXECUTOR} so that work derived from the request, such as the calls of a
+ * batch request, runs on it as well.
+ */
+final class DispatchingHandler implements HttpHandler {
+
+    private static final HttpHandler UNAVAILABLE = new ConjureExceptionHandler(exchange -> {
+        throw QosException.unavailable();
+    });
+
+    private final HttpHandler next;
+    private final Executor executor;
+
+    DispatchingHandler(HttpHandler next, Executor executor) {
+        this.next = next;
+        this.executor = executor;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        exchange.putAttachment(Attachments.DISPATCH_EXECUTOR, executor);
+        exchange.startBlocking();
+        if (exchange.isInIoThread()) {
+            // Undertow submits the task once the IO thread has returned from the handler chain,
+            // rejection must be handled at that point in order to produce a response.
+            exchange.dispatch(task -> {
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    Connectors.executeRootHandler(UNAVAILABLE, exchange);
+                }
+            }, next);
+        } else {
+            next.handleRequest(exchange);
+        }
+    }
+}
@@ -0,0 +1,587 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.conjure.java.undertow.lib.Registrable;
+import com.palantir.logsafe.Preconditions;
+import io.undertow.Undertow;
+import io.undertow.connector.ByteBufferPool;
+import io.undertow.server.Connectors;
+import io.undertow.server.DefaultByteBufferPool;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.protocol.http.HttpServerConnection;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import io.undertow.util.ParameterLimitException;
+import io.undertow.util.Protocols;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import org.xnio.IoUtils;
+import org.xnio.OptionMap;
+import org.xnio.Options;
+import org.xnio.StreamConnection;
+import org.xnio.Xnio;
+import org.xnio.XnioIoThread;
+import org.xnio.XnioWorker;
+import org.xnio.channels.StreamSinkChannel;
+import org.xnio.channels.StreamSourceChannel;
+import org.xnio.conduits.ConduitReadableByteChannel;
+import org.xnio.conduits.ConduitWritableByteChannel;
+import org.xnio.conduits.ReadReadyHandler;
+import org.xnio.conduits.StreamSinkConduit;
+import org.xnio.conduits.StreamSourceConduit;
+import org.xnio.conduits.WriteReadyHandler;
+
+/**
+ * In-process transport which executes requests against an {@link HttpHandler}, typically a {@link ConjureHandler} with
+ * generated services registered, without opening sockets. Each request is handled as an in-memory
+ * {@link HttpServerExchange} on an XNIO worker owned by the loopback, so requests pass through the same handler chain
+ * as requests received by an Undertow server, including authentication, serialization, exception mapping and the
+ * configured executors. Request and response bodies are buffered in memory.
+ */
+public final class Loopback implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_PARAMETERS = 1000;
+    private static final SocketAddress ADDRESS = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    private static final long CANCEL_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final HttpHandler handler;
+    private final XnioWorker worker;
+    private final ByteBufferPool bufferPool = new DefaultByteBufferPool(false, BUFFER_SIZE);
+
+    private Loopback(HttpHandler handler, XnioWorker worker) {
+        this.handler = handler;
+        this.worker = worker;
+    }
+
+    /** Creates a loopback which executes requests against a {@link ConjureHandler} serving the given services. */
+    public static Loopback of(Registrable... services) {
+        ConjureHandler handler = new ConjureHandler();
+        for (Registrable service : services) {
+            service.register(handler);
+        }
+        return of(handler);
+    }
+
+    /** Creates a loopback which executes requests against the given handler. */
+    public static Loopback of(HttpHandler handler) {
+        Preconditions.checkNotNull(handler, "Handler is required");
+        try {
+            return new Loopback(handler, Xnio.getInstance(Undertow.class.getClassLoader()).createWorker(
+                    OptionMap.builder()
+                            .set(Options.WORKER_IO_THREADS, 1)
+                            .set(Options.WORKER_NAME, "conjure-loopback")
+                            .getMap()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create loopback worker", e);
+        }
+    }
+
+    /**
+     * Executes a request and waits for its response, without a timeout.
+     *
+     * @param method the HTTP method, for example {@code GET}
+     * @param uri the encoded path of the request including its query string, for example {@code /api/items?limit=10}
+     * @param headers request headers
+     * @param body request body, empty for requests without a body
+     */
+    public Result execute(String method, String uri, Map<String, List<String>> headers, byte[] body)
+            throws IOException {
+        return execute(method, uri, headers, body, Duration.ZERO);
+    }
+
+    /**
+     * Executes a request and waits at most {@code timeout} for its response, a zero timeout waits indefinitely. If
+     * the wait times out or the calling thread is interrupted the request is cancelled, its exchange is ended and
+     * further reads and writes by the handler fail.
+     *
+     * @throws SocketTimeoutException if no response was produced within the timeout
+     * @throws InterruptedIOException if the calling thread was interrupted while waiting
+     */
+    public Result execute(String method, String uri, Map<String, List<String>> headers, byte[] body, Duration timeout)
+            throws IOException {
+        return await(start(method, uri, headers, body), timeout, () -> false);
+    }
+
+    /** Starts a request, cancelling the returned future ends the exchange. */
+    CompletableFuture<Result> start(String method, String uri, Map<String, List<String>> headers, byte[] body)
+            throws IOException {
+        LoopbackConnection connection = new LoopbackConnection(worker.getIoThread(), body);
+        HttpServerExchange exchange = new HttpServerExchange(
+                new HttpServerConnection(connection, bufferPool, handler, OptionMap.EMPTY, BUFFER_SIZE, null),
+                requestHeaders(headers, body.length),
+                new HeaderMap(),
+                Long.MAX_VALUE);
+        exchange.setRequestMethod(Methods.fromString(method));
+        exchange.setProtocol(Protocols.HTTP_1_1);
+        exchange.setRequestScheme("http");
+        try {
+            Connectors.setExchangeRequestPath(
+                    exchange, uri, StandardCharsets.UTF_8.name(), true, false, new StringBuilder(), MAX_PARAMETERS);
+        } catch (ParameterLimitException e) {
+            throw new IOException("Too many query parameters", e);
+        }
+        connection.bind(exchange);
+
+        CompletableFuture<Result> result = new CompletableFuture<>();
+        exchange.addExchangeCompleteListener((completed, nextListener) -> {
+            result.complete(new Result(
+                    completed.getStatusCode(), responseHeaders(completed), connection.responseBody()));
+            nextListener.proceed();
+        });
+        result.whenComplete((ignored, failure) -> {
+            if (result.isCancelled()) {
+                connection.getIoThread().execute(connection::cancel);
+            }
+        });
+        // Requests are started on the IO thread as they would be by a server, so that blocking handlers dispatch
+        // to the worker or configured executors.
+        connection.getIoThread().execute(() -> Connectors.executeRootHandler(handler, exchange));
+        return result;
+    }
+
+    /**
+     * Waits for a started request, polling {@code canceled} so that requests cancelled by another thread stop
+     * waiting promptly. A zero timeout waits indefinitely.
+     */
+    static Result await(CompletableFuture<Result> result, Duration timeout, BooleanSupplier canceled)
+            throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            while (true) {
+                long waitNanos = CANCEL_POLL_NANOS;
+                if (!timeout.isZero()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        result.cancel(false);
+                        throw new SocketTimeoutException("Timed out waiting for a loopback response");
+                    }
+                    waitNanos = Math.min(waitNanos, remaining);
+                }
+                if (canceled.getAsBoolean()) {
+                    result.cancel(false);
+                    throw new IOException("Canceled");
+                }
+                try {
+                    return result.get(waitNanos, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    // Check the deadline and cancellation again
+                }
+            }
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a loopback response");
+        } catch (ExecutionException e) {
+            throw new IOException("Loopback request failed", e.getCause());
+        }
+    }
+
+    /** Shuts down the worker used to execute requests. */
+    @Override
+    public void close() {
+        worker.shutdown();
+    }
+
+    private static HeaderMap requestHeaders(Map<String, List<String>> headers, int contentLength) {
+        HeaderMap requestHeaders = new HeaderMap();
+        headers.forEach((name, values) -> requestHeaders.addAll(HttpString.tryFromString(name), values));
+        if (!requestHeaders.contains(Headers.HOST)) {
+            requestHeaders.put(Headers.HOST, "localhost");
+        }
+        if (contentLength > 0) {
+            requestHeaders.put(Headers.CONTENT_LENGTH, contentLength);
+        }
+        return requestHeaders;
+    }
+
+    private static Map<String, List<String>> responseHeaders(HttpServerExchange exchange) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (HeaderValues values : exchange.getResponseHeaders()) {
+            headers.put(values.getHeaderName().toString(), Collections.unmodifiableList(new ArrayList<>(values)));
+        }
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /** Response to a request executed by a {@link Loopback}. */
+    public static final class Result {
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        private Result(int status, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public int status() {
+            return status;
+        }
+
+        public Map<String, List<String>> headers() {
+            return headers;
+        }
+
+        public byte[] body() {
+            return body.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "Result{status=" + status + ", headers=" + headers + ", body=" + body.length + " bytes}";
+        }
+    }
+
+    /**
+     * Connection whose source provides the request body and whose sink collects the response body. Undertow frames
+     * HTTP messages in conduits installed when parsing requests from a socket, these are not installed for loopback
+     * exchanges, so bodies are exchanged as-is and the exchange is terminated by the conduits once the request body
+     * has been read and the response body written.
+     */
+    private static final class LoopbackConnection extends StreamConnection {
+        private final RequestConduit request;
+        private final ResponseConduit response;
+
+        LoopbackConnection(XnioIoThread thread, byte[] body) {
+            super(thread);
+            this.request = new RequestConduit(thread, ByteBuffer.wrap(body));
+            this.response = new ResponseConduit(thread);
+            setSourceConduit(request);
+            setSinkConduit(response);
+        }
+
+        void bind(HttpServerExchange exchange) {
+            request.exchange = exchange;
+            response.exchange = exchange;
+            if (!request.body.hasRemaining()) {
+                request.terminate();
+            }
+        }
+
+        byte[] responseBody() {
+            return response.body.toByteArray();
+        }
+
+        /** Ends the exchange of a cancelled request, the handler fails on its next write. */
+        void cancel() {
+            request.terminate();
+            response.terminateWrites();
+        }
+
+        @Override
+        public SocketAddress getPeerAddress() {
+            return ADDRESS;
+        }
+
+        @Override
+        public SocketAddress getLocalAddress() {
+            return ADDRESS;
+        }
+
+        @Override
+        protected void notifyWriteClosed() {}
+
+        @Override
+        protected void notifyReadClosed() {}
+    }
+
+    private static final class RequestConduit implements StreamSourceConduit {
+        private final XnioIoThread thread;
+        private final ByteBuffer body;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile HttpServerExchange exchange;
+        private volatile ReadReadyHandler handler;
+        private volatile boolean resumed;
+        private volatile boolean shutdown;
+
+        RequestConduit(XnioIoThread thread, ByteBuffer body) {
+            this.thread = thread;
+            this.body = body;
+        }
+
+        void terminate() {
+            if (terminated.compareAndSet(false, true)) {
+                Connectors.terminateRequest(exchange);
+            }
+        }
+
+        @Override
+        public synchronized int read(ByteBuffer dst) {
+            if (!body.hasRemaining()) {
+                terminate();
+                return -1;
+            }
+            int length = Math.min(dst.remaining(), body.remaining());
+            ByteBuffer slice = body.duplicate();
+            slice.limit(slice.position() + length);
+            dst.put(slice);
+            body.position(body.position() + length);
+            return length;
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offs, int len) {
+            long total = 0;
+            for (int i = offs; i < offs + len; i++) {
+                int read = read(dsts[i]);
+                if (read < 0) {
+                    return total == 0 ? -1 : total;
+                }
+                total += read;
+            }
+            return total;
+        }
+
+        @Override
+        public long transferTo(long position, long count, FileChannel target) throws IOException {
+            return target.transferFrom(new ConduitReadableByteChannel(this), position, count);
+        }
+
+        @Override
+        public long transferTo(long count, ByteBuffer throughBuffer, StreamSinkChannel target) throws IOException {
+            return IoUtils.transfer(new ConduitReadableByteChannel(this), count, throughBuffer, target);
+        }
+
+        @Override
+        public void terminateReads() {
+            shutdown = true;
+        }
+
+        @Override
+        public boolean isReadShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public void resumeReads() {
+            resumed = true;
+            wakeupReads();
+        }
+
+        @Override
+        public void suspendReads() {
+            resumed = false;
+        }
+
+        @Override
+        public void wakeupReads() {
+            // The body is always available, the handler is notified once as it would be on receiving data.
+            resumed = true;
+            ReadReadyHandler readyHandler = handler;
+            if (readyHandler != null) {
+                thread.execute(() -> {
+                    if (resumed) {
+                        readyHandler.readReady();
+                    }
+                });
+            }
+        }
+
+        @Override
+        public boolean isReadResumed() {
+            return resumed;
+        }
+
+        @Override
+        public void awaitReadable() {}
+
+        @Override
+        public void awaitReadable(long time, TimeUnit timeUnit) {}
+
+        @Override
+        public XnioIoThread getReadThread() {
+            return thread;
+        }
+
+        @Override
+        public void setReadReadyHandler(ReadReadyHandler readyHandler) {
+            this.handler = readyHandler;
+        }
+
+        @Override
+        public XnioWorker getWorker() {
+            return thread.getWorker();
+        }
+    }
+
+    private static final class ResponseConduit implements StreamSinkConduit {
+        private final XnioIoThread thread;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile HttpServerExchange exchange;
+        private volatile WriteReadyHandler handler;
+        private volatile boolean resumed;
+
+        ResponseConduit(XnioIoThread thread) {
+            this.thread = thread;
+        }
+
+        @Override
+        public synchronized int write(ByteBuffer src) throws ClosedChannelException {
+            if (terminated.get()) {
+                throw new ClosedChannelException();
+            }
+            int length = src.remaining();
+            if (src.hasArray()) {
+                body.write(src.array(), src.arrayOffset() + src.position(), length);
+                src.position(src.limit());
+            } else {
+                byte[] bytes = new byte[length];
+                src.get(bytes);
+                body.write(bytes, 0, length);
+            }
+            return length;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offs, int len) throws ClosedChannelException {
+            long total = 0;
+            for (int i = offs; i < offs + len; i++) {
+                total += write(srcs[i]);
+            }
+            return total;
+        }
+
+        @Override
+        public int writeFinal(ByteBuffer src) throws ClosedChannelException {
+            int written = write(src);
+            terminateWrites();
+            return written;
+        }
+
+        @Override
+        public long writeFinal(ByteBuffer[] srcs, int offs, int len) throws ClosedChannelException {
+            long written = write(srcs, offs, len);
+            terminateWrites();
+            return written;
+        }
+
+        @Override
+        public long transferFrom(FileChannel src, long position, long count) throws IOException {
+            return src.transferTo(position, count, new ConduitWritableByteChannel(this));
+        }
+
+        @Override
+        public long transferFrom(StreamSourceChannel source, long count, ByteBuffer throughBuffer)
+                throws IOException {
+            return IoUtils.transfer(source, count, throughBuffer, new ConduitWritableByteChannel(this));
+        }
+
+        @Override
+        public void terminateWrites() {
+            if (terminated.compareAndSet(false, true)) {
+                Connectors.terminateResponse(exchange);
+            }
+        }
+
+        @Override
+        public void truncateWrites() {
+            terminateWrites();
+        }
+
+        @Override
+        public boolean isWriteShutdown() {
+            return terminated.get();
+        }
+
+        @Override
+        public boolean flush() {
+            return true;
+        }
+
+        @Override
+        public void resumeWrites() {
+            resumed = true;
+            wakeupWrites();
+        }
+
+        @Override
+        public void suspendWrites() {
+            resumed = false;
+        }
+
+        @Override
+        public void wakeupWrites() {
+            // Writes never block, the handler is notified once as it would be when the socket becomes writable.
+            resumed = true;
+            WriteReadyHandler readyHandler = handler;
+            if (readyHandler != null) {
+                thread.execute(() -> {
+                    if (resumed) {
+                        readyHandler.writeReady();
+                    }
+                });
+            }
+        }
+
+        @Override
+        public boolean isWriteResumed() {
+            return resumed;
+        }
+
+        @Override
+        public void awaitWritable() {}
+
+        @Override
+        public void awaitWritable(long time, TimeUnit timeUnit) {}
+
+        @Override
+        public XnioIoThread getWriteThread() {
+            return thread;
+        }
+
+        @Override
+        public void setWriteReadyHandler(WriteReadyHandler readyHandler) {
+            this.handler = readyHandler;
+        }
+
+        @Override
+        public XnioWorker getWorker() {
+            return thread.getWorker();
+        }
+    }
+}
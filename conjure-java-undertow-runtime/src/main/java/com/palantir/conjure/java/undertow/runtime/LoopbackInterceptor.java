@@ -0,0 +1,95 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.palantir.logsafe.Preconditions;
+import io.undertow.util.StatusCodes;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * OkHttp {@link Interceptor} which executes calls against a {@link Loopback} instead of the network, allowing clients
+ * built on OkHttp, including generated retrofit clients, to call services registered in the same process. Must be
+ * installed as an application interceptor, the scheme, host and port of request URLs are ignored.
+ *
+ * <p>The client's read timeout bounds the wait for each response, failing the call with a
+ * {@link java.net.SocketTimeoutException}. Cancelled calls, including calls cancelled by the client's call timeout,
+ * stop waiting and end the exchange.
+ *
+ * <p>Requires OkHttp on the classpath, which is not a dependency of this module.
+ */
+public final class LoopbackInterceptor implements Interceptor {
+
+    private final Loopback loopback;
+
+    public LoopbackInterceptor(Loopback loopback) {
+        this.loopback = Preconditions.checkNotNull(loopback, "Loopback is required");
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : request.headers().names()) {
+            headers.put(name, request.headers(name));
+        }
+        byte[] body = new byte[0];
+        RequestBody requestBody = request.body();
+        if (requestBody != null) {
+            MediaType contentType = requestBody.contentType();
+            if (contentType != null && !headers.containsKey("Content-Type")) {
+                headers.put("Content-Type", Collections.singletonList(contentType.toString()));
+            }
+            Buffer buffer = new Buffer();
+            requestBody.writeTo(buffer);
+            body = buffer.readByteArray();
+        }
+        String query = request.url().encodedQuery();
+        String uri = query == null ? request.url().encodedPath() : request.url().encodedPath() + '?' + query;
+
+        Loopback.Result result = Loopback.await(
+                loopback.start(request.method(), uri, headers, body),
+                Duration.ofMillis(chain.readTimeoutMillis()),
+                chain.call()::isCanceled);
+        Headers.Builder responseHeaders = new Headers.Builder();
+        result.headers().forEach((name, values) -> values.forEach(value -> responseHeaders.add(name, value)));
+        List<String> contentTypes = result.headers().getOrDefault("Content-Type", Collections.emptyList());
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(result.status())
+                .message(StatusCodes.getReason(result.status()))
+                .headers(responseHeaders.build())
+                .body(ResponseBody.create(
+                        contentTypes.isEmpty() ? null : MediaType.parse(contentTypes.get(0)), result.body()))
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/** Parsing of media types and media ranges for content negotiation. */
+final class MediaTypes {
+
+    static final String WILDCARD = "*/*";
+
+    private static final String QUALITY_PARAMETER = "q";
+
+    private MediaTypes() {}
+
+    /**
+     * Parses the media ranges of an {@code Accept} header value, without parameters, in order of preference. Ranges
+     * are ordered by descending quality value, preserving the order provided by the client for equal quality values.
+     * Ranges with a quality value of zero are not acceptable and are omitted.
+     */
+    static List<String> parseAccept(String accept) {
+        List<MediaRange> ranges = new ArrayList<>();
+        for (MediaRange range : parse(accept)) {
+            if (range.quality() > 0) {
+                ranges.add(range);
+            }
+        }
+        // List.sort is stable, equally preferred ranges retain the client order.
+        ranges.sort(Comparator.comparingDouble(MediaRange::quality).reversed());
+        List<String> result = new ArrayList<>(ranges.size());
+        for (MediaRange range : ranges) {
+            result.add(range.mediaType());
+        }
+        return result;
+    }
+
+    /**
+     * Parses the media ranges of an {@code Accept} header value which the client explicitly refuses with a quality
+     * value of zero, without parameters.
+     */
+    static List<String> parseRejected(String accept) {
+        List<String> result = new ArrayList<>();
+        for (MediaRange range : parse(accept)) {
+            if (range.quality() <= 0) {
+                result.add(range.mediaType());
+            }
+        }
+        return result;
+    }
+
+    /** Returns true if the given media range ends in a subtype wildcard, for example {@code application/*}. */
+    static boolean isSubtypeWildcard(String mediaRange) {
+        return mediaRange.endsWith("/*");
+    }
+
+    /**
+     * Returns true if the given wildcard media range, either {@code *}{@code /*} or a subtype wildcard such as
+     * {@code application/*}, includes the given content type.
+     */
+    static boolean wildcardIncludes(String mediaRange, String contentType) {
+        if (WILDCARD.equals(mediaRange)) {
+            return true;
+        }
+        // Retain the trailing slash, 'application/*' must not match 'applications/json'
+        return isSubtypeWildcard(mediaRange)
+                && contentType.startsWith(mediaRange.substring(0, mediaRange.length() - 1));
+    }
+
+    private static List<MediaRange> parse(String accept) {
+        List<MediaRange> ranges = new ArrayList<>();
+        for (String element : accept.split(",")) {
+            int parametersStart = element.indexOf(';');
+            String mediaType = (parametersStart < 0 ? element : element.substring(0, parametersStart))
+                    .trim()
+                    .toLowerCase(Locale.ROOT);
+            double quality = parametersStart < 0 ? 1 : parseQuality(element.substring(parametersStart + 1));
+            if (!mediaType.isEmpty()) {
+                ranges.add(new MediaRange(mediaType, quality));
+            }
+        }
+        return ranges;
+    }
+
+    private static double parseQuality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && QUALITY_PARAMETER.equals(parameter.substring(0, separator).trim())) {
+                try {
+                    return Double.parseDouble(parameter.substring(separator + 1).trim());
+                } catch (NumberFormatException e) {
+                    // Lenient handling of malformed quality values, consistent with ignoring unknown parameters.
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static final class MediaRange {
+        private final String mediaType;
+        private final double quality;
+
+        MediaRange(String mediaType, double quality) {
+            this.mediaType = mediaType;
+            this.quality = quality;
+        }
+
+        String mediaType() {
+            return mediaType;
+        }
+
+        double quality() {
+            return quality;
+        }
+    }
+}
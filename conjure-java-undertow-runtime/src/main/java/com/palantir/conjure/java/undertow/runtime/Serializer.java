@@ -37,6 +37,12 @@ public interface Serializer {
      */
     <T> T deserialize(InputStream input, TypeToken<T> type) throws IOException;
 
+    /**
+     * Eagerly resolves any state required to serialize and deserialize values of the given type. Implementations
+     * which do not cache per-type state may no-op.
+     */
+    default void warmUp(TypeToken<?> type) {}
+
     String getContentType();
 
     boolean supportsContentType(String contentType);
@@ -17,8 +17,16 @@
 package com.palantir.conjure.java.undertow.runtime;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.reflect.TypeToken;
 import com.palantir.conjure.java.serialization.ObjectMappers;
 import com.palantir.logsafe.Preconditions;
@@ -28,17 +36,23 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
 
 // TODO(rfink): Consider async Jackson, see
 //              https://github.com/spring-projects/spring-framework/commit/31e0e537500c0763a36d3af2570d5c253a374690
 //              and https://groups.google.com/forum/#!topic/jackson-user/m_prSo8d_Pw
 public final class Serializers {
 
+    static final int DEFAULT_NDJSON_FLUSH_BATCH_SIZE = 100;
+
     private Serializers() {}
 
     private abstract static class AbstractJacksonSerializer implements Serializer {
 
-        private final ObjectMapper mapper;
+        final ObjectMapper mapper;
 
         AbstractJacksonSerializer(ObjectMapper mapper) {
             this.mapper = Preconditions.checkNotNull(mapper, "ObjectMapper is required");
@@ -53,7 +67,7 @@ public final class Serializers {
         @Override
         public final <T> T deserialize(InputStream input, TypeToken<T> type) throws IOException {
             try {
-                T value = mapper.readValue(input, mapper.constructType(type.getType()));
+                T value = readValue(input, mapper.constructType(type.getType()));
                 Preconditions.checkNotNull(value, "cannot deserialize a JSON null value");
                 return value;
             } catch (MismatchedInputException e) {
@@ -64,11 +78,35 @@ public final class Serializers {
                         "Failed to deserialize response stream", e, SafeArg.of("type", type.getType()));
             }
         }
+
+        <T> T readValue(InputStream input, JavaType type) throws IOException {
+            return mapper.readValue(input, type);
+        }
+
+        @Override
+        public final void warmUp(TypeToken<?> type) {
+            JavaType javaType = mapper.constructType(type.getType());
+            // Readers and writers eagerly fetch root (de)serializers, populating caches shared with the mapper.
+            mapper.writerFor(javaType);
+            mapper.readerFor(javaType);
+        }
     }
 
     /** Returns a serializer for the Conjure JSON wire format. */
     public static Serializer json() {
-        return new AbstractJacksonSerializer(configure(ObjectMappers.newServerObjectMapper())) {
+        return json(ObjectMappers.newServerObjectMapper());
+    }
+
+    /**
+     * Returns a serializer for the Conjure JSON wire format which registers additional Jackson modules, for example
+     * {@link StringInterningModule}.
+     */
+    public static Serializer json(Module... modules) {
+        return json(ObjectMappers.newServerObjectMapper().registerModules(modules));
+    }
+
+    private static Serializer json(ObjectMapper mapper) {
+        return new AbstractJacksonSerializer(configure(mapper)) {
 
             private static final String CONTENT_TYPE = "application/json";
 
@@ -79,7 +117,7 @@ public final class Serializers {
 
             @Override
             public boolean supportsContentType(String contentType) {
-                // TODO(ckozak): support wildcards? See javax.ws.rs.core.MediaType.isCompatible
+                // Wildcard media ranges are resolved by ConjureSerializerRegistry content negotiation
                 return contentType != null
                         // Use startsWith to avoid failures due to charset
                         && contentType.startsWith(CONTENT_TYPE);
@@ -110,11 +148,148 @@ public final class Serializers {
         };
     }
 
+    /**
+     * Returns a serializer for the <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> binary
+     * JSON format. Back-references to previously written property names and short string values are enabled, which
+     * substantially reduces the size of payloads containing many objects of the same type.
+     */
+    public static Serializer smile() {
+        SmileFactory factory = new SmileFactory()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        ObjectMapper mapper = ObjectMappers.withDefaultModules(new ObjectMapper(factory))
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return new AbstractJacksonSerializer(configure(mapper)) {
+
+            private static final String CONTENT_TYPE = "application/x-jackson-smile";
+
+            @Override
+            public String getContentType() {
+                return CONTENT_TYPE;
+            }
+
+            @Override
+            public boolean supportsContentType(String contentType) {
+                return contentType != null && contentType.startsWith(CONTENT_TYPE);
+            }
+
+            @Override
+            public void serialize(Object value, OutputStream output) throws IOException {
+                super.serialize(value, new ShieldingOutputStream(output));
+            }
+        };
+    }
+
+    /**
+     * Returns a serializer for newline-delimited JSON, flushing the response after every
+     * {@link #DEFAULT_NDJSON_FLUSH_BATCH_SIZE} records.
+     *
+     * @see #ndjson(int)
+     */
+    public static Serializer ndjson() {
+        return ndjson(DEFAULT_NDJSON_FLUSH_BATCH_SIZE);
+    }
+
+    /**
+     * Returns a serializer for newline-delimited JSON (<a href="http://ndjson.org">NDJSON</a>). {@link Iterable},
+     * {@link Iterator} and {@link Stream} values are written as one JSON record per line and the underlying stream is
+     * flushed every {@code flushBatchSize} records, allowing clients to process results as they arrive. Any other value
+     * is written as a single record. Collection typed request bodies are read one record per line.
+     */
+    public static Serializer ndjson(int flushBatchSize) {
+        Preconditions.checkArgument(flushBatchSize > 0, "flushBatchSize must be positive",
+                SafeArg.of("flushBatchSize", flushBatchSize));
+        return new NdjsonSerializer(configure(ObjectMappers.newServerObjectMapper()), flushBatchSize);
+    }
+
+    private static final class NdjsonSerializer extends AbstractJacksonSerializer {
+
+        private static final String CONTENT_TYPE = "application/x-ndjson";
+
+        private final int flushBatchSize;
+
+        NdjsonSerializer(ObjectMapper mapper, int flushBatchSize) {
+            super(mapper);
+            this.flushBatchSize = flushBatchSize;
+        }
+
+        @Override
+        public String getContentType() {
+            return CONTENT_TYPE;
+        }
+
+        @Override
+        public boolean supportsContentType(String contentType) {
+            return contentType != null && contentType.startsWith(CONTENT_TYPE);
+        }
+
+        @Override
+        public void serialize(Object value, OutputStream output) throws IOException {
+            Preconditions.checkNotNull(value, "cannot serialize null value");
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+                // Records are terminated by newlines rather than separated by the default single space.
+                generator.setRootValueSeparator(null);
+                if (value instanceof Stream) {
+                    try (Stream<?> stream = (Stream<?>) value) {
+                        writeRecords(stream.iterator(), generator, output);
+                    }
+                } else if (value instanceof Iterable) {
+                    writeRecords(((Iterable<?>) value).iterator(), generator, output);
+                } else if (value instanceof Iterator) {
+                    writeRecords((Iterator<?>) value, generator, output);
+                } else {
+                    writeRecord(value, generator);
+                }
+            }
+        }
+
+        private void writeRecords(Iterator<?> records, JsonGenerator generator, OutputStream output)
+                throws IOException {
+            int count = 0;
+            while (records.hasNext()) {
+                writeRecord(records.next(), generator);
+                if (++count % flushBatchSize == 0) {
+                    // The mapper does not pass flushes through to the stream, the batch boundary must be explicit.
+                    generator.flush();
+                    output.flush();
+                }
+            }
+        }
+
+        private void writeRecord(Object record, JsonGenerator generator) throws IOException {
+            mapper.writeValue(generator, record);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        <T> T readValue(InputStream input, JavaType type) throws IOException {
+            Class<?> rawClass = type.getRawClass();
+            boolean isList = rawClass.isAssignableFrom(ImmutableList.class);
+            boolean isSet = !isList && Set.class.equals(rawClass);
+            if (!type.isCollectionLikeType() || !(isList || isSet)) {
+                return super.readValue(input, type);
+            }
+            ImmutableList.Builder<Object> records = ImmutableList.builder();
+            try (MappingIterator<Object> iterator = mapper.readerFor(type.getContentType()).readValues(input)) {
+                while (iterator.hasNextValue()) {
+                    records.add(Preconditions.checkNotNull(
+                            iterator.nextValue(), "cannot deserialize a JSON null record"));
+                }
+            }
+            Collection<Object> result = isList ? records.build() : ImmutableSet.copyOf(records.build());
+            @SuppressWarnings("unchecked")
+            T value = (T) result;
+            return value;
+        }
+    }
+
     private static ObjectMapper configure(ObjectMapper mapper) {
         // See documentation on Serializer#serialize: Implementations must not close the stream.
         return mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
                 // Avoid flushing, allowing us to set content-length if the length is below the buffer size.
-                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                // Read and write datetime values in canonical form without DateTimeFormatter.
+                .registerModule(new DateTimeModule());
     }
 
     /**
@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Jackson module which deduplicates the values of configured string fields on deserialization. Each configured field
+ * has its own bounded pool which evicts the least recently used values once full, values longer than
+ * {@value #MAX_INTERNED_LENGTH} characters are never pooled. This is intended for fields with many repeated short
+ * values such as tenant identifiers and statuses, where deserialized objects are retained in memory.
+ *
+ * <pre>{@code
+ * Serializers.json(StringInterningModule.builder()
+ *         .intern(Resource.class, "tenantId", 10_000)
+ *         .build());
+ * }</pre>
+ *
+ * Fields are identified by the type declaring them and their JSON property name. Conjure objects are deserialized
+ * using their builders, fields are matched for either the object or its builder.
+ */
+public final class StringInterningModule extends SimpleModule {
+
+    static final int MAX_INTERNED_LENGTH = 256;
+
+    private final Map<Class<?>, Map<String, Integer>> fields;
+
+    private StringInterningModule(Map<Class<?>, Map<String, Integer>> fields) {
+        super(StringInterningModule.class.getCanonicalName());
+        this.fields = fields;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addBeanDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public BeanDeserializerBuilder updateBuilder(
+                    DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+                Class<?> beanClass = beanDesc.getBeanClass();
+                Map<String, Integer> properties = fields.get(beanClass);
+                if (properties == null && beanClass.getEnclosingClass() != null) {
+                    properties = fields.get(beanClass.getEnclosingClass());
+                }
+                if (properties != null) {
+                    properties.forEach((name, maxSize) -> {
+                        SettableBeanProperty property = builder.findProperty(PropertyName.construct(name));
+                        if (property != null && property.getType().hasRawClass(String.class)) {
+                            builder.addOrReplaceProperty(
+                                    property.withValueDeserializer(new InterningStringDeserializer(maxSize)), true);
+                        }
+                    });
+                }
+                return builder;
+            }
+        });
+    }
+
+    public static final class Builder {
+
+        private final Map<Class<?>, Map<String, Integer>> fields = new HashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Deduplicates values of the string property {@code name} of {@code type}, retaining the {@code maxSize} most
+         * recently used distinct values.
+         */
+        public Builder intern(Class<?> type, String name, int maxSize) {
+            Preconditions.checkNotNull(type, "type is required");
+            Preconditions.checkNotNull(name, "name is required");
+            Preconditions.checkArgument(maxSize > 0, "maxSize must be positive", SafeArg.of("maxSize", maxSize));
+            fields.computeIfAbsent(type, key -> new HashMap<>()).put(name, maxSize);
+            return this;
+        }
+
+        public StringInterningModule build() {
+            ImmutableMap.Builder<Class<?>, Map<String, Integer>> result = ImmutableMap.builder();
+            fields.forEach((type, properties) -> result.put(type, ImmutableMap.copyOf(properties)));
+            return new StringInterningModule(result.build());
+        }
+    }
+
+    private static final class InterningStringDeserializer extends StdScalarDeserializer<String> {
+
+        private final transient Cache<String, String> pool;
+
+        InterningStringDeserializer(int maxSize) {
+            super(String.class);
+            this.pool = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        }
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            String value = StringDeserializer.instance.deserialize(parser, context);
+            if (value == null || value.length() > MAX_INTERNED_LENGTH) {
+                return value;
+            }
+            String interned = pool.asMap().putIfAbsent(value, value);
+            return interned == null ? value : interned;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.lib;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.reflect.TypeToken;
+import com.palantir.conjure.java.undertow.demo.MyService;
+import com.palantir.conjure.java.undertow.demo.MyServiceImpl;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Test;
+
+public final class ServiceContextTest {
+
+    private final SerializerRegistry serializerRegistry = mock(SerializerRegistry.class);
+
+    @Test
+    public void warmUp_resolvesServiceTypes() {
+        MyService service = new MyServiceImpl();
+        ServiceContext context = ServiceContext.builder()
+                .serializerRegistry(serializerRegistry)
+                .warmUp(true)
+                .build();
+        assertThat(context.serviceInstrumenter().instrument(service, MyService.class)).isSameAs(service);
+        verify(serializerRegistry).warmUp(TypeToken.of(OffsetDateTime.class));
+        verify(serializerRegistry).warmUp(new TypeToken<Map<OffsetDateTime, Boolean>>() {});
+        verify(serializerRegistry).warmUp(new TypeToken<List<OffsetDateTime>>() {});
+        verify(serializerRegistry).warmUp(new TypeToken<Optional<String>>() {});
+        verify(serializerRegistry, never()).warmUp(TypeToken.of(int.class));
+    }
+
+    @Test
+    public void warmUp_disabledByDefault() {
+        ServiceContext context = ServiceContext.builder()
+                .serializerRegistry(serializerRegistry)
+                .build();
+        context.serviceInstrumenter().instrument(new MyServiceImpl(), MyService.class);
+        verify(serializerRegistry, never()).warmUp(any());
+    }
+}
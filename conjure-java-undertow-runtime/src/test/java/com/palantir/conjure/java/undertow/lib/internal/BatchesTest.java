@@ -0,0 +1,136 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.undertow.lib.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.QosException;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public final class BatchesTest {
+
+    @Test
+    public void testResultsInCallOrder() {
+        List<Callable<?>> calls = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int value = i;
+            calls.add(() -> value);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<BatchResult> results = Batches.execute(calls, executor);
+            assertThat(results).hasSize(100);
+            for (int i = 0; i < 100; i++) {
+                assertThat(results.get(i).value()).isEqualTo(i);
+                assertThat(results.get(i).error()).isNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMapsFailures() {
+        List<BatchResult> results = Batches.execute(ImmutableList.<Callable<?>>of(
+                () -> {
+                    throw new ServiceException(ErrorType.PERMISSION_DENIED);
+                },
+                () -> {
+                    throw new IllegalArgumentException();
+                },
+                () -> {
+                    throw new IllegalStateException();
+                },
+                () -> null),
+                MoreExecutors.directExecutor());
+
+        assertThat(results.get(0).error().errorCode()).isEqualTo(ErrorType.PERMISSION_DENIED.code().name());
+        assertThat(results.get(1).error().errorCode()).isEqualTo(ErrorType.INVALID_ARGUMENT.code().name());
+        assertThat(results.get(2).error().errorCode()).isEqualTo(ErrorType.INTERNAL.code().name());
+        assertThat(results.get(3).error()).isNull();
+        assertThat(results.get(3).value()).isNull();
+        assertThat(results).extracting(BatchResult::status).containsExactly(403, 400, 500, null);
+    }
+
+    @Test
+    public void testMapsRemoteExceptionsToInternalErrors() {
+        SerializableError remoteError = SerializableError.forException(
+                new ServiceException(ErrorType.PERMISSION_DENIED));
+        List<BatchResult> results = Batches.execute(ImmutableList.<Callable<?>>of(
+                () -> {
+                    throw new RemoteException(remoteError, 403);
+                }),
+                MoreExecutors.directExecutor());
+
+        SerializableError error = results.get(0).error();
+        assertThat(error.errorCode()).isEqualTo(ErrorType.INTERNAL.code().name());
+        assertThat(error.errorName()).isEqualTo(ErrorType.INTERNAL.name());
+        assertThat(error.errorInstanceId()).isEqualTo(remoteError.errorInstanceId());
+        assertThat(results.get(0).status()).isEqualTo(500);
+    }
+
+    @Test
+    public void testQosExceptionsFailTheBatch() {
+        AtomicInteger invocations = new AtomicInteger();
+        assertThatThrownBy(() -> Batches.execute(ImmutableList.<Callable<?>>of(
+                () -> invocations.incrementAndGet(),
+                () -> {
+                    invocations.incrementAndGet();
+                    throw QosException.throttle();
+                },
+                () -> invocations.incrementAndGet()),
+                MoreExecutors.directExecutor()))
+                .isInstanceOf(QosException.Throttle.class);
+        assertThat(invocations).hasValue(2);
+    }
+
+    @Test
+    public void testRunsOnRequestingThreadWhenExecutorRejects() {
+        List<BatchResult> results = Batches.execute(
+                ImmutableList.<Callable<?>>of(() -> Thread.currentThread(), () -> Thread.currentThread()),
+                command -> {
+                    throw new RejectedExecutionException();
+                });
+
+        assertThat(results).extracting(BatchResult::value).containsOnly(Thread.currentThread());
+    }
+
+    @Test
+    public void testRejectsLargeBatches() {
+        List<Callable<?>> calls = new ArrayList<>();
+        for (int i = 0; i <= Batches.MAX_CALLS; i++) {
+            calls.add(() -> null);
+        }
+        assertThatThrownBy(() -> Batches.execute(calls, MoreExecutors.directExecutor()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
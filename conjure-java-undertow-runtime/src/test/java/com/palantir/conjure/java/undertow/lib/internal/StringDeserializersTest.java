@@ -27,6 +27,8 @@ import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.ri.ResourceIdentifier;
 import com.palantir.tokens.auth.BearerToken;
 import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
@@ -83,6 +85,25 @@ public final class StringDeserializersTest {
                 UUID.fromString("90a8481a-2ef5-4c64-83fc-04a9b369e2b8"));
     }
 
+    @Test
+    public void testDeserializePrimitiveCollections() {
+        Deque<String> values = new ArrayDeque<>(ImmutableList.of("3", "1", "3"));
+        assertThat(StringDeserializers.deserializeIntegerList(values)).containsExactly(3, 1, 3);
+        assertThat(StringDeserializers.deserializeDoubleList(values)).containsExactly(3.0, 1.0, 3.0);
+        assertThat(StringDeserializers.deserializeSafeLongList(values))
+                .containsExactly(SafeLong.of(3), SafeLong.of(1), SafeLong.of(3));
+        assertThat(StringDeserializers.deserializeSafeLongSet(values)).containsExactly(SafeLong.of(3), SafeLong.of(1));
+        assertThat(StringDeserializers.deserializeIntegerList(values::iterator)).containsExactly(3, 1, 3);
+    }
+
+    @Test
+    public void testDeserializeSafeLongCollectionsRejectsUnsafeValues() {
+        assertThatLoggableExceptionThrownBy(() ->
+                StringDeserializers.deserializeSafeLongSet(ImmutableList.of("1", "9007199254740992")))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasLogMessage("failed to deserialize safelong");
+    }
+
     @Test
     public void testBearerTokensNotIncludedInThrowable() {
         assertThatLoggableExceptionThrownBy(() ->
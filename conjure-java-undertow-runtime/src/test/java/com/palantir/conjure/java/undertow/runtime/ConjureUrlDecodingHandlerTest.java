@@ -0,0 +1,96 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class ConjureUrlDecodingHandlerTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+
+    private final AtomicReference<Map<String, List<String>>> queryParameters = new AtomicReference<>();
+    private Undertow server;
+
+    @Before
+    public void before() {
+        ConjureHandler handler = new ConjureHandler();
+        handler.add(Endpoint.get("/test"), exchange -> {
+            Map<String, List<String>> parameters = new TreeMap<>();
+            for (Map.Entry<String, Deque<String>> entry : exchange.getQueryParameters().entrySet()) {
+                parameters.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+            queryParameters.set(parameters);
+        });
+        server = Undertow.builder()
+                .addHttpListener(12346, "localhost")
+                .setServerOption(UndertowOptions.DECODE_URL, false)
+                .setHandler(handler)
+                .build();
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.stop();
+    }
+
+    @Test
+    public void decodesQueryValuesInOrder() throws IOException {
+        execute("?ids=a%20b&ids=c+d&ids=e&other=%2F");
+        assertThat(queryParameters.get())
+                .containsOnlyKeys("ids", "other")
+                .containsEntry("ids", ImmutableList.of("a b", "c d", "e"))
+                .containsEntry("other", ImmutableList.of("/"));
+    }
+
+    @Test
+    public void decodesQueryKeys() throws IOException {
+        execute("?first%20name=a&last+name=b&id=c");
+        assertThat(queryParameters.get())
+                .containsOnlyKeys("first name", "last name", "id")
+                .containsEntry("first name", ImmutableList.of("a"))
+                .containsEntry("last name", ImmutableList.of("b"));
+    }
+
+    private static void execute(String query) throws IOException {
+        Request request = new Request.Builder()
+                .get()
+                .url("http://localhost:12346/test" + query)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.palantir.conjure.java.undertow.lib.Attachments;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import io.undertow.Undertow;
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class DispatchingHandlerTest {
+
+    private static final OkHttpClient client = new OkHttpClient.Builder().build();
+
+    private final DispatchExecutor executor = DispatchExecutor.create("test-service", 1, 1);
+    private Undertow server;
+
+    @Before
+    public void before() {
+        ConjureHandler handler = ConjureHandler.builder()
+                .serviceExecutor("TestService", executor)
+                .endpointExecutor("TestService", "rejected", command -> {
+                    throw new RejectedExecutionException();
+                })
+                .build();
+        handler.add(Endpoint.get("/dispatched", "TestService", "dispatched"),
+                exchange -> exchange.getResponseSender().send(Thread.currentThread().getName()));
+        handler.add(Endpoint.get("/attached", "TestService", "attached"),
+                exchange -> exchange.getResponseSender().send(
+                        String.valueOf(exchange.getAttachment(Attachments.DISPATCH_EXECUTOR) == executor)));
+        handler.add(Endpoint.get("/rejected", "TestService", "rejected"),
+                exchange -> exchange.getResponseSender().send("unreachable"));
+        server = Undertow.builder()
+                .addHttpListener(12345, "localhost")
+                .setHandler(handler)
+                .build();
+        server.start();
+    }
+
+    @After
+    public void after() {
+        server.stop();
+        executor.close();
+    }
+
+    @Test
+    public void dispatchesToServiceExecutor() throws IOException {
+        try (Response response = execute("/dispatched")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).startsWith("test-service-");
+        }
+        assertThat(executor.executedCount()).isEqualTo(1);
+        assertThat(executor.rejectedCount()).isZero();
+        assertThat(executor.queueDepth()).isZero();
+        assertThat(executor.totalQueueWait(TimeUnit.NANOSECONDS)).isNotNegative();
+    }
+
+    @Test
+    public void attachesServiceExecutor() throws IOException {
+        try (Response response = execute("/attached")) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.body().string()).isEqualTo("true");
+        }
+    }
+
+    @Test
+    public void rejectedRequestsAreUnavailable() throws IOException {
+        try (Response response = execute("/rejected")) {
+            assertThat(response.code()).isEqualTo(503);
+        }
+    }
+
+    private static Response execute(String path) throws IOException {
+        Request request = new Request.Builder()
+                .get()
+                .url("http://localhost:12345" + path)
+                .build();
+        return client.newCall(request).execute();
+    }
+}
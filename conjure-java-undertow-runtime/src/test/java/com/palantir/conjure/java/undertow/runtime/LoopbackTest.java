@@ -0,0 +1,183 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.ByteStreams;
+import com.palantir.conjure.java.undertow.lib.Endpoint;
+import io.undertow.server.handlers.BlockingHandler;
+import io.undertow.util.Headers;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class LoopbackTest {
+
+    private final CompletableFuture<Throwable> slowFailure = new CompletableFuture<>();
+
+    private Loopback loopback;
+    private OkHttpClient client;
+
+    @Before
+    public void before() {
+        ConjureHandler handler = new ConjureHandler()
+                .add(Endpoint.get("/ping"), exchange -> {
+                    exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, "text/plain");
+                    exchange.getResponseSender().send("pong " + exchange.getQueryParameters().get("name").peek());
+                })
+                .add(Endpoint.post("/echo"), new BlockingHandler(exchange -> {
+                    exchange.setStatusCode(201);
+                    exchange.getResponseHeaders().put(
+                            Headers.CONTENT_TYPE, exchange.getRequestHeaders().getFirst(Headers.CONTENT_TYPE));
+                    exchange.getOutputStream().write(ByteStreams.toByteArray(exchange.getInputStream()));
+                }))
+                .add(Endpoint.get("/slow"), new BlockingHandler(exchange -> {
+                    // Responds only once the exchange has been ended by the caller giving up on the request
+                    CountDownLatch ended = new CountDownLatch(1);
+                    exchange.addExchangeCompleteListener((completed, nextListener) -> {
+                        ended.countDown();
+                        nextListener.proceed();
+                    });
+                    ended.await(10, TimeUnit.SECONDS);
+                    try {
+                        exchange.getOutputStream().write("slow".getBytes(StandardCharsets.UTF_8));
+                        slowFailure.complete(null);
+                    } catch (IOException e) {
+                        slowFailure.complete(e);
+                    }
+                }));
+        loopback = Loopback.of(handler);
+        client = new OkHttpClient.Builder()
+                .addInterceptor(new LoopbackInterceptor(loopback))
+                .build();
+    }
+
+    @After
+    public void after() {
+        loopback.close();
+    }
+
+    @Test
+    public void testGet() throws IOException {
+        try (Response response = client.newCall(new Request.Builder()
+                .url("http://loopback/ping?name=loopback")
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(200);
+            assertThat(response.header("Content-Type")).isEqualTo("text/plain");
+            assertThat(response.body().string()).isEqualTo("pong loopback");
+        }
+    }
+
+    @Test
+    public void testPostEchoesBody() throws IOException {
+        try (Response response = client.newCall(new Request.Builder()
+                .url("http://loopback/echo")
+                .post(RequestBody.create(MediaType.parse("application/json"), "{\"value\":1}"))
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(201);
+            assertThat(response.body().contentType()).isEqualTo(MediaType.parse("application/json"));
+            assertThat(response.body().string()).isEqualTo("{\"value\":1}");
+        }
+    }
+
+    @Test
+    public void testUnknownEndpoint() throws IOException {
+        try (Response response = client.newCall(new Request.Builder()
+                .url("http://loopback/unknown")
+                .build()).execute()) {
+            assertThat(response.code()).isEqualTo(404);
+        }
+    }
+
+    @Test
+    public void testExecute() throws IOException {
+        Loopback.Result result = loopback.execute(
+                "POST",
+                "/echo",
+                Collections.singletonMap("Content-Type", Collections.singletonList("text/plain")),
+                "body".getBytes(StandardCharsets.UTF_8));
+        assertThat(result.status()).isEqualTo(201);
+        assertThat(new String(result.body(), StandardCharsets.UTF_8)).isEqualTo("body");
+    }
+
+    @Test
+    public void testExecuteTimesOut() throws Exception {
+        assertThatThrownBy(() -> loopback.execute(
+                "GET", "/slow", Collections.emptyMap(), new byte[0], Duration.ofMillis(100)))
+                .isInstanceOf(SocketTimeoutException.class);
+        // The exchange of the timed out request has ended, so the handler can no longer write a response
+        assertThat(slowFailure.get(10, TimeUnit.SECONDS)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testExecuteInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> loopback.execute("GET", "/slow", Collections.emptyMap(), new byte[0]))
+                    .isExactlyInstanceOf(InterruptedIOException.class);
+        } finally {
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+
+    @Test
+    public void testReadTimeout() {
+        OkHttpClient timeoutClient = client.newBuilder()
+                .readTimeout(100, TimeUnit.MILLISECONDS)
+                .build();
+        assertThatThrownBy(() -> timeoutClient.newCall(new Request.Builder()
+                .url("http://loopback/slow")
+                .build()).execute())
+                .isInstanceOf(SocketTimeoutException.class);
+    }
+
+    @Test
+    public void testCancel() {
+        Call call = client.newCall(new Request.Builder()
+                .url("http://loopback/slow")
+                .build());
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(call::cancel, 100, TimeUnit.MILLISECONDS);
+            assertThatThrownBy(call::execute)
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Canceled");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
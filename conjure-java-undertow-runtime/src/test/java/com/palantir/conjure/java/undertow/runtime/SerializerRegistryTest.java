@@ -19,6 +19,8 @@ package com.palantir.conjure.java.undertow.runtime;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.TypeToken;
 import com.palantir.conjure.java.undertow.HttpServerExchanges;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
@@ -96,6 +98,124 @@ public class SerializerRegistryTest {
         assertThat(serializer).isSameAs(json);
     }
 
+    @Test
+    public void testResponseContentTypeQualityValues() {
+        Serializer json = new StubSerializer("application/json");
+        Serializer cbor = new StubSerializer("application/cbor");
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().put(Headers.ACCEPT, "application/json;q=0.5, application/cbor");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(json, cbor);
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(cbor);
+    }
+
+    @Test
+    public void testResponseContentTypeZeroQualityIsNotAcceptable() {
+        Serializer json = new StubSerializer("application/json");
+        Serializer cbor = new StubSerializer("application/cbor");
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().put(Headers.ACCEPT, "application/cbor;q=0, text/plain, */*;q=0.1");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(json, cbor);
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(json);
+    }
+
+    @Test
+    public void testResponseContentTypeWildcards() {
+        Serializer plain = new StubSerializer("text/plain");
+        Serializer json = new StubSerializer("application/json");
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().put(Headers.ACCEPT, "application/*");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(plain, json);
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(json);
+
+        HttpServerExchange wildcardExchange = HttpServerExchanges.createStub();
+        wildcardExchange.getRequestHeaders().put(Headers.ACCEPT, "*/*");
+        assertThat(serializers.getResponseSerializer(wildcardExchange)).isSameAs(plain);
+    }
+
+    @Test
+    public void testResponseContentTypeWildcardsSkipRejectedTypes() {
+        Serializer json = new StubSerializer("application/json");
+        Serializer cbor = new StubSerializer("application/cbor");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(json, cbor);
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().put(Headers.ACCEPT, "application/json;q=0, */*");
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(cbor);
+
+        HttpServerExchange subtypeExchange = HttpServerExchanges.createStub();
+        subtypeExchange.getRequestHeaders().put(Headers.ACCEPT, "application/*, application/json;q=0");
+        assertThat(serializers.getResponseSerializer(subtypeExchange)).isSameAs(cbor);
+    }
+
+    @Test
+    public void testResponseContentTypeMultipleHeaderValues() {
+        Serializer json = new StubSerializer("application/json");
+        Serializer cbor = new StubSerializer("application/cbor");
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().add(Headers.ACCEPT, "application/json;q=0.9");
+        exchange.getRequestHeaders().add(Headers.ACCEPT, "application/cbor");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(json, cbor);
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(cbor);
+    }
+
+    @Test
+    public void testNegotiationIsMemoizedUpToBound() {
+        Serializer json = new StubSerializer("application/json");
+        Serializer plain = new StubSerializer("text/plain");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(json, plain);
+
+        int values = ConjureSerializerRegistry.MAX_CACHED_HEADER_VALUES * 4;
+        for (int i = 0; i < values; i++) {
+            HttpServerExchange exchange = HttpServerExchanges.createStub();
+            exchange.getRequestHeaders().put(Headers.ACCEPT, "application/unknown-" + i + ", text/plain");
+            assertThat(serializers.getResponseSerializer(exchange)).isSameAs(plain);
+        }
+        // Least recently used values are evicted so that recent values continue to be memoized
+        assertThat(serializers.responseSerializerCache.size())
+                .isLessThanOrEqualTo(ConjureSerializerRegistry.MAX_CACHED_HEADER_VALUES);
+        assertThat(serializers.responseSerializerCache.asMap())
+                .containsEntry("application/unknown-" + (values - 1) + ", text/plain", plain)
+                .doesNotContainKey("application/unknown-0, text/plain");
+
+        // Cached results are returned without negotiating again
+        serializers.responseSerializerCache.put("text/plain", json);
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().put(Headers.ACCEPT, "text/plain");
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(json);
+    }
+
+    @Test
+    public void testLongHeaderValuesAreNotMemoized() {
+        Serializer json = new StubSerializer("application/json");
+        Serializer plain = new StubSerializer("text/plain");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(json, plain);
+
+        String parameter = Strings.repeat("a", ConjureSerializerRegistry.MAX_CACHED_HEADER_LENGTH);
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().put(Headers.ACCEPT, "text/plain;p=" + parameter);
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(plain);
+        assertThat(serializers.responseSerializerCache.size()).isZero();
+    }
+
+    @Test
+    public void testMultipleAcceptHeadersAreMemoizedByValues() {
+        Serializer json = new StubSerializer("application/json");
+        Serializer cbor = new StubSerializer("application/cbor");
+        ConjureSerializerRegistry serializers = new ConjureSerializerRegistry(json, cbor);
+
+        HttpServerExchange exchange = HttpServerExchanges.createStub();
+        exchange.getRequestHeaders().add(Headers.ACCEPT, "application/json;q=0.9");
+        exchange.getRequestHeaders().add(Headers.ACCEPT, "application/cbor");
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(cbor);
+        assertThat(serializers.responseSerializerCache.asMap())
+                .containsOnlyKeys(ImmutableList.of("application/json;q=0.9", "application/cbor"));
+        assertThat(serializers.getResponseSerializer(exchange)).isSameAs(cbor);
+    }
+
     public static final class StubSerializer implements Serializer {
 
         private final String contentType;
@@ -20,22 +20,32 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.reflect.TypeToken;
 import com.palantir.logsafe.exceptions.SafeNullPointerException;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 import org.junit.Test;
 
 public final class SerializersTest {
 
     private final Serializer json = Serializers.json();
+    private final Serializer ndjson = Serializers.ndjson();
 
     // TODO(rfink): Wire tests for JSON serializer
 
@@ -68,6 +78,137 @@ public final class SerializersTest {
         verify(outputStream, never()).close();
     }
 
+    @Test
+    public void ndjson_serialize_writesOneRecordPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ndjson.serialize(ImmutableList.of("a", "b", "c"), output);
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("\"a\"\n\"b\"\n\"c\"\n");
+    }
+
+    @Test
+    public void ndjson_serialize_consumesStreams() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ndjson.serialize(Stream.of(1, 2), output);
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("1\n2\n");
+    }
+
+    @Test
+    public void ndjson_serialize_flushesAtBatchBoundaries() throws IOException {
+        OutputStream outputStream = mock(OutputStream.class);
+        Serializers.ndjson(2).serialize(ImmutableList.of(1, 2, 3, 4, 5), outputStream);
+        verify(outputStream, times(2)).flush();
+        verify(outputStream, never()).close();
+    }
+
+    @Test
+    public void ndjson_deserialize_readsRecords() throws IOException {
+        assertThat(ndjson.deserialize(asStream("\"a\"\n\"b\"\n\"a\"\n"), new TypeToken<List<String>>() {}))
+                .containsExactly("a", "b", "a");
+        assertThat(ndjson.deserialize(asStream("\"a\"\n\"b\"\n\"a\"\n"), new TypeToken<Set<String>>() {}))
+                .containsExactly("a", "b");
+        assertThat(ndjson.deserialize(asStream(""), new TypeToken<List<String>>() {})).isEmpty();
+        assertThat(ndjson.deserialize(asStream("\"a\"\n"), new TypeToken<String>() {})).isEqualTo("a");
+    }
+
+    @Test
+    public void ndjson_deserialize_rejectsNullRecords() {
+        assertThatThrownBy(() -> ndjson.deserialize(asStream("\"a\"\nnull\n"), new TypeToken<List<String>>() {}))
+                .isInstanceOf(SafeNullPointerException.class);
+    }
+
+    @Test
+    public void smile_roundTrips() throws IOException {
+        Serializer smile = Serializers.smile();
+        List<Map<String, String>> value = records(3);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        smile.serialize(value, output);
+        assertThat(smile.deserialize(
+                new ByteArrayInputStream(output.toByteArray()), new TypeToken<List<Map<String, String>>>() {}))
+                .isEqualTo(value);
+    }
+
+    @Test
+    public void smile_sharesRepeatedNamesAndValues() throws IOException {
+        List<Map<String, String>> value = records(100);
+        int jsonSize = serializedSize(json, value);
+        int cborSize = serializedSize(Serializers.cbor(), value);
+        int smileSize = serializedSize(Serializers.smile(), value);
+        assertThat(smileSize).isLessThan(cborSize).isLessThan(jsonSize / 2);
+    }
+
+    @Test
+    public void json_dateTime_roundTripsCanonicalAndFallbackValues() throws IOException {
+        List<String> values = ImmutableList.of(
+                "2017-01-02T03:04:05Z", "2017-01-02T03:04:05.123+01:30", "2017-01-02T03:04:05+01:30:20");
+        List<OffsetDateTime> dateTimes = json.deserialize(
+                asStream("[\"2017-01-02T03:04:05z\", \"2017-01-02T03:04:05.12300+01:30\", "
+                        + "\"2017-01-02T03:04:05+01:30:20\"]"),
+                new TypeToken<List<OffsetDateTime>>() {});
+        assertThat(dateTimes).containsExactly(
+                OffsetDateTime.parse(values.get(0)),
+                OffsetDateTime.parse(values.get(1)),
+                OffsetDateTime.parse(values.get(2)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        json.serialize(dateTimes, output);
+        assertThat(output.toString("UTF-8"))
+                .isEqualTo("[\"" + String.join("\",\"", values) + "\"]");
+    }
+
+    @Test
+    public void json_dateTime_rejectsInvalidDates() {
+        assertThatThrownBy(() -> json.deserialize(
+                asStream("\"2017-02-30T03:04:05Z\""), new TypeToken<OffsetDateTime>() {}))
+                .isInstanceOf(FrameworkException.class);
+    }
+
+    @Test
+    public void json_dateTime_usesTheJsonFormatOfProperties() throws IOException {
+        FormattedDateTimes value = new FormattedDateTimes();
+        value.pattern = OffsetDateTime.parse("2017-01-02T03:04:05Z");
+        value.number = OffsetDateTime.parse("2017-01-02T03:04:05Z");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        json.serialize(value, output);
+        assertThat(output.toString("UTF-8"))
+                .startsWith("{\"pattern\":\"02.01.2017 03:04Z\",\"number\":1483326245");
+
+        assertThatThrownBy(() -> json.deserialize(
+                asStream("{\"pattern\":\"2017-01-02T03:04:05Z\"}"), new TypeToken<FormattedDateTimes>() {}))
+                .isInstanceOf(FrameworkException.class);
+    }
+
+    @Test
+    public void warmUp_acceptsGenericTypes() throws IOException {
+        json.warmUp(new TypeToken<Map<String, List<OffsetDateTime>>>() {});
+        assertThat(json.deserialize(asStream("{\"a\":[]}"), new TypeToken<Map<String, List<OffsetDateTime>>>() {}))
+                .containsOnlyKeys("a");
+    }
+
+    public static final class FormattedDateTimes {
+        @JsonFormat(pattern = "dd.MM.yyyy HH:mmXXX")
+        public OffsetDateTime pattern;
+
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        public OffsetDateTime number;
+    }
+
+    private static List<Map<String, String>> records(int count) {
+        ImmutableList.Builder<Map<String, String>> records = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            records.add(ImmutableMap.of(
+                    "datasetRid", "ri.foundry.main.dataset." + (i % 5),
+                    "status", i % 2 == 0 ? "SUCCEEDED" : "FAILED",
+                    "fileSystemId", "hdfs"));
+        }
+        return records.build();
+    }
+
+    private static int serializedSize(Serializer serializer, Object value) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        serializer.serialize(value, output);
+        return output.size();
+    }
+
     private static InputStream asStream(String data) {
         return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
     }
@@ -0,0 +1,100 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.base.Strings;
+import com.google.common.reflect.TypeToken;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public final class StringInterningModuleTest {
+
+    private final Serializer json = Serializers.json(StringInterningModule.builder()
+            .intern(Resource.class, "tenantId", 1)
+            .build());
+
+    @Test
+    public void testConfiguredFieldsAreDeduplicated() throws IOException {
+        Resource first = deserialize("{\"tenantId\":\"tenant\",\"name\":\"resource\"}");
+        Resource second = deserialize("{\"tenantId\":\"tenant\",\"name\":\"resource\"}");
+        assertThat(second.tenantId).isEqualTo("tenant").isSameAs(first.tenantId);
+        assertThat(second.name).isEqualTo("resource").isNotSameAs(first.name);
+    }
+
+    @Test
+    public void testPoolEvictsLeastRecentlyUsed() throws IOException {
+        Resource evicted = deserialize("{\"tenantId\":\"tenant\",\"name\":\"resource\"}");
+        Resource first = deserialize("{\"tenantId\":\"other\",\"name\":\"resource\"}");
+        Resource second = deserialize("{\"tenantId\":\"other\",\"name\":\"resource\"}");
+        assertThat(second.tenantId).isEqualTo("other").isSameAs(first.tenantId);
+        assertThat(deserialize("{\"tenantId\":\"tenant\",\"name\":\"resource\"}").tenantId)
+                .isEqualTo("tenant")
+                .isNotSameAs(evicted.tenantId);
+    }
+
+    @Test
+    public void testLongValuesAreNotDeduplicated() throws IOException {
+        String tenantId = Strings.repeat("t", StringInterningModule.MAX_INTERNED_LENGTH + 1);
+        Resource first = deserialize("{\"tenantId\":\"" + tenantId + "\"}");
+        Resource second = deserialize("{\"tenantId\":\"" + tenantId + "\"}");
+        assertThat(second.tenantId).isEqualTo(tenantId).isNotSameAs(first.tenantId);
+    }
+
+    private Resource deserialize(String value) throws IOException {
+        return json.deserialize(
+                new ByteArrayInputStream(value.getBytes(StandardCharsets.UTF_8)), TypeToken.of(Resource.class));
+    }
+
+    /** Mirrors the builder based deserialization of generated conjure objects. */
+    @JsonDeserialize(builder = Resource.Builder.class)
+    static final class Resource {
+        private final String tenantId;
+        private final String name;
+
+        private Resource(String tenantId, String name) {
+            this.tenantId = tenantId;
+            this.name = name;
+        }
+
+        static final class Builder {
+            private String tenantId;
+            private String name;
+
+            @JsonSetter("tenantId")
+            Builder tenantId(String value) {
+                this.tenantId = value;
+                return this;
+            }
+
+            @JsonSetter("name")
+            Builder name(String value) {
+                this.name = value;
+                return this;
+            }
+
+            Resource build() {
+                return new Resource(tenantId, name);
+            }
+        }
+    }
+}
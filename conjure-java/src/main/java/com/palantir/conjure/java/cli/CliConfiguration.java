@@ -100,5 +100,53 @@ public abstract class CliConfiguration {
         Builder useInsensitiveEnums(boolean flag) {
             return flag ? addFeatureFlags(FeatureFlags.CaseInsensitiveEnums) : this;
         }
+
+        Builder useCompactCollections(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.UseCompactCollections) : this;
+        }
+
+        Builder generateWithMethods(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.GenerateWithMethods) : this;
+        }
+
+        Builder usePrimitiveSafeLongs(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.UsePrimitiveSafeLongs) : this;
+        }
+
+        Builder retrofitDirectClients(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.RetrofitDirectClients) : this;
+        }
+
+        Builder retrofitCoalescedGets(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.RetrofitCoalescedGets) : this;
+        }
+
+        Builder retrofitHedgedGets(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.RetrofitHedgedGets) : this;
+        }
+
+        Builder retrofitCachedGets(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.RetrofitCachedGets) : this;
+        }
+
+        Builder undertowBatchEndpoints(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.UndertowBatchEndpoints) : this;
+        }
+
+        Builder jerseyAsyncEndpoints(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.JerseyAsyncEndpoints) : this;
+        }
+
+        Builder jerseyMessageBodyProviders(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.JerseyMessageBodyProviders) : this;
+        }
+
+        Builder retrofitCborNegotiation(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.RetrofitCborNegotiation) : this;
+        }
+
+        Builder retrofitBatchedCalls(boolean flag) {
+            return flag ? addFeatureFlags(FeatureFlags.RetrofitBatchedCalls) : this;
+        }
     }
 }
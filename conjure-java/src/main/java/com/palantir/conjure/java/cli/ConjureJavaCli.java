@@ -125,6 +125,78 @@ public final class ConjureJavaCli implements Runnable {
                         + "allowed by the conjure specification, however may be enabled for backwards compatibility.")
         private boolean useInsensitiveEnums;
 
+        @CommandLine.Option(names = "--useCompactCollections",
+                defaultValue = "false",
+                description = "Generate objects using compact immutable collections which are shared rather "
+                        + "than copied by builders")
+        private boolean useCompactCollections;
+
+        @CommandLine.Option(names = "--generateWithMethods",
+                defaultValue = "false",
+                description = "Generate withX methods on objects which return a copy with a single field "
+                        + "replaced")
+        private boolean generateWithMethods;
+
+        @CommandLine.Option(names = "--usePrimitiveSafeLongs",
+                defaultValue = "false",
+                description = "Generate objects storing safelong fields as primitive longs and lists of "
+                        + "safelongs as long arrays")
+        private boolean usePrimitiveSafeLongs;
+
+        @CommandLine.Option(names = "--retrofitDirectClients",
+                defaultValue = "false",
+                description = "Generate retrofit client implementations which build OkHttp requests directly "
+                        + "instead of using proxies")
+        private boolean retrofitDirectClients;
+
+        @CommandLine.Option(names = "--retrofitCoalescedGets",
+                defaultValue = "false",
+                description = "Generate retrofit client implementations which can share in-flight calls between "
+                        + "identical GET requests")
+        private boolean retrofitCoalescedGets;
+
+        @CommandLine.Option(names = "--retrofitHedgedGets",
+                defaultValue = "false",
+                description = "Generate retrofit client implementations which can hedge slow GET requests with "
+                        + "a second call")
+        private boolean retrofitHedgedGets;
+
+        @CommandLine.Option(names = "--retrofitCachedGets",
+                defaultValue = "false",
+                description = "Generate retrofit client implementations which can cache decoded GET responses "
+                        + "and revalidate them by ETag")
+        private boolean retrofitCachedGets;
+
+        @CommandLine.Option(names = "--undertowBatchEndpoints",
+                defaultValue = "false",
+                description = "Generate a batch endpoint per Undertow service which executes multiple calls in "
+                        + "a single request")
+        private boolean undertowBatchEndpoints;
+
+        @CommandLine.Option(names = "--jerseyAsyncEndpoints",
+                defaultValue = "false",
+                description = "Generate a jersey resource interface per service whose endpoints complete "
+                        + "asynchronously by resuming a suspended AsyncResponse")
+        private boolean jerseyAsyncEndpoints;
+
+        @CommandLine.Option(names = "--jerseyMessageBodyProviders",
+                defaultValue = "false",
+                description = "Generate a JAX-RS provider per jersey service which reads and writes its bodies "
+                        + "with pre-bound Jackson readers and writers")
+        private boolean jerseyMessageBodyProviders;
+
+        @CommandLine.Option(names = "--retrofitCborNegotiation",
+                defaultValue = "false",
+                description = "Generate retrofit client implementations which can negotiate CBOR bodies with "
+                        + "JSON as the fallback")
+        private boolean retrofitCborNegotiation;
+
+        @CommandLine.Option(names = "--retrofitBatchedCalls",
+                defaultValue = "false",
+                description = "Generate retrofit client implementations which can send calls made within a time "
+                        + "window in a single batch request")
+        private boolean retrofitBatchedCalls;
+
         @CommandLine.Unmatched
         private List<String> unmatchedOptions;
 
@@ -176,6 +248,18 @@ public final class ConjureJavaCli implements Runnable {
                     .undertowServicePrefix(undertowServicePrefix)
                     .useImmutableBytes(useImmutableBytes)
                     .useInsensitiveEnums(useInsensitiveEnums)
+                    .useCompactCollections(useCompactCollections)
+                    .generateWithMethods(generateWithMethods)
+                    .usePrimitiveSafeLongs(usePrimitiveSafeLongs)
+                    .retrofitDirectClients(retrofitDirectClients)
+                    .retrofitCoalescedGets(retrofitCoalescedGets)
+                    .retrofitHedgedGets(retrofitHedgedGets)
+                    .retrofitCachedGets(retrofitCachedGets)
+                    .undertowBatchEndpoints(undertowBatchEndpoints)
+                    .jerseyAsyncEndpoints(jerseyAsyncEndpoints)
+                    .jerseyMessageBodyProviders(jerseyMessageBodyProviders)
+                    .retrofitCborNegotiation(retrofitCborNegotiation)
+                    .retrofitBatchedCalls(retrofitBatchedCalls)
                     .build();
         }
 
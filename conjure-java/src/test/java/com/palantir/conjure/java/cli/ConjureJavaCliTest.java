@@ -73,7 +73,19 @@ public final class ConjureJavaCliTest {
                 "--jerseyBinaryAsResponse",
                 "--requireNotNullAuthAndBodyParams",
                 "--useImmutableBytes",
-                "--useInsensitiveEnums"
+                "--useInsensitiveEnums",
+                "--useCompactCollections",
+                "--generateWithMethods",
+                "--usePrimitiveSafeLongs",
+                "--retrofitDirectClients",
+                "--retrofitCoalescedGets",
+                "--retrofitHedgedGets",
+                "--retrofitCachedGets",
+                "--undertowBatchEndpoints",
+                "--jerseyAsyncEndpoints",
+                "--jerseyMessageBodyProviders",
+                "--retrofitCborNegotiation",
+                "--retrofitBatchedCalls"
         };
         CliConfiguration expectedConfiguration = CliConfiguration.builder()
                 .input(targetFile)
@@ -84,7 +96,19 @@ public final class ConjureJavaCliTest {
                         FeatureFlags.JerseyBinaryAsResponse,
                         FeatureFlags.RequireNotNullAuthAndBodyParams,
                         FeatureFlags.UseImmutableBytes,
-                        FeatureFlags.CaseInsensitiveEnums))
+                        FeatureFlags.CaseInsensitiveEnums,
+                        FeatureFlags.UseCompactCollections,
+                        FeatureFlags.GenerateWithMethods,
+                        FeatureFlags.UsePrimitiveSafeLongs,
+                        FeatureFlags.RetrofitDirectClients,
+                        FeatureFlags.RetrofitCoalescedGets,
+                        FeatureFlags.RetrofitHedgedGets,
+                        FeatureFlags.RetrofitCachedGets,
+                        FeatureFlags.UndertowBatchEndpoints,
+                        FeatureFlags.JerseyAsyncEndpoints,
+                        FeatureFlags.JerseyMessageBodyProviders,
+                        FeatureFlags.RetrofitCborNegotiation,
+                        FeatureFlags.RetrofitBatchedCalls))
                 .build();
         ConjureJavaCli.GenerateCommand cmd = new CommandLine(new ConjureJavaCli()).parse(args).get(1).getCommand();
         assertThat(cmd.getConfiguration()).isEqualTo(expectedConfiguration);
@@ -27,56 +27,213 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
-/** An immutable {@code byte[]} wrapper. */
+/**
+ * An immutable {@code byte[]} wrapper.
+ *
+ * <p>Instances are backed by a region of a heap array, by a read-only {@link ByteBuffer} which may be direct, or by a
+ * sequence of such segments produced by {@link #concat}. Factories named {@code from} copy their input, while
+ * {@code takeOwnership} factories wrap it without copying and rely on the caller to no longer modify it.
+ */
 @JsonSerialize(using = Bytes.Serializer.class)
 @JsonDeserialize(using = Bytes.Deserializer.class)
 public final class Bytes {
+    private static final Bytes EMPTY = new Bytes(new byte[0]);
+
+    /** Heap segment, null if this is a buffer segment or a concatenation. */
     private final byte[] safe;
+    private final int offset;
+    private final int length;
+    /** Read-only buffer segment with position zero, null if this is a heap segment or a concatenation. */
+    private final ByteBuffer buffer;
+    /** Heap and buffer segments of a concatenation, null otherwise. */
+    private final Bytes[] segments;
 
     /** Constructs a new {@link Bytes} assuming the provided array is not held by any other class. */
     private Bytes(byte[] array) {
-        safe = array;
+        this(array, 0, array.length);
+    }
+
+    private Bytes(byte[] array, int offset, int length) {
+        this.safe = array;
+        this.offset = offset;
+        this.length = length;
+        this.buffer = null;
+        this.segments = null;
+    }
+
+    private Bytes(ByteBuffer buffer) {
+        this.safe = null;
+        this.offset = 0;
+        this.length = buffer.remaining();
+        this.buffer = buffer;
+        this.segments = null;
     }
 
-    /** Returns a new read-only {@link ByteBuffer} backed by this byte array. */
+    private Bytes(Bytes[] segments, int length) {
+        this.safe = null;
+        this.offset = 0;
+        this.length = length;
+        this.buffer = null;
+        this.segments = segments;
+    }
+
+    /**
+     * Returns a new read-only {@link ByteBuffer} containing this object's content. Heap and direct segments are
+     * shared, concatenations are copied into a new array.
+     */
     public ByteBuffer asReadOnlyByteBuffer() {
-        return ByteBuffer.wrap(safe).asReadOnlyBuffer();
+        if (safe != null) {
+            return ByteBuffer.wrap(safe, offset, length).slice().asReadOnlyBuffer();
+        } else if (buffer != null) {
+            return buffer.duplicate();
+        }
+        return ByteBuffer.wrap(asNewByteArray()).asReadOnlyBuffer();
     }
 
     /** Returns a new byte array containing the same content as this object's underlying {@code byte[]}. */
     public byte[] asNewByteArray() {
-        byte[] unsafe = new byte[safe.length];
-        System.arraycopy(safe, 0, unsafe, 0, safe.length);
+        byte[] unsafe = new byte[length];
+        copyTo(unsafe, 0, length);
         return unsafe;
     }
 
     /** Copies this byte array into the provided byte array beginning at offset and up to the provided length. */
-    public void copyTo(byte[] destination, int offset, int length) {
-        System.arraycopy(safe, 0, destination, offset, length);
+    public void copyTo(byte[] destination, int destinationOffset, int copyLength) {
+        if (destinationOffset < 0 || copyLength < 0 || copyLength > length
+                || destinationOffset > destination.length - copyLength) {
+            throw new ArrayIndexOutOfBoundsException("Invalid range for copy");
+        }
+        if (safe != null) {
+            System.arraycopy(safe, offset, destination, destinationOffset, copyLength);
+        } else if (buffer != null) {
+            buffer.duplicate().get(destination, destinationOffset, copyLength);
+        } else {
+            int remaining = copyLength;
+            int position = destinationOffset;
+            for (Bytes segment : segments) {
+                if (remaining == 0) {
+                    break;
+                }
+                int segmentLength = Math.min(remaining, segment.length);
+                segment.copyTo(destination, position, segmentLength);
+                position += segmentLength;
+                remaining -= segmentLength;
+            }
+        }
     }
 
     /** Returns a new {@link InputStream} that reads this byte array. */
     public InputStream getInputStream() {
-        return new ByteArrayInputStream(safe);
+        if (safe != null) {
+            return new ByteArrayInputStream(safe, offset, length);
+        } else if (buffer != null) {
+            return new ByteBufferInputStream(buffer.duplicate());
+        }
+        List<InputStream> streams = new ArrayList<>(segments.length);
+        for (Bytes segment : segments) {
+            streams.add(segment.getInputStream());
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    /** Writes the content of this object to the provided channel without copying it to an intermediate array. */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        if (segments != null) {
+            for (Bytes segment : segments) {
+                segment.writeTo(channel);
+            }
+            return;
+        }
+        ByteBuffer source = asReadOnlyByteBuffer();
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    /**
+     * Returns a view of the given region of this object without copying. Like {@link #copyTo}, invalid regions result
+     * in an {@link ArrayIndexOutOfBoundsException}.
+     */
+    public Bytes slice(int sliceOffset, int sliceLength) {
+        if (sliceOffset < 0 || sliceLength < 0 || sliceOffset > length - sliceLength) {
+            throw new ArrayIndexOutOfBoundsException("Invalid range for slice");
+        }
+        if (sliceOffset == 0 && sliceLength == length) {
+            return this;
+        } else if (sliceLength == 0) {
+            return EMPTY;
+        } else if (safe != null) {
+            return new Bytes(safe, offset + sliceOffset, sliceLength);
+        } else if (buffer != null) {
+            ByteBuffer region = buffer.duplicate();
+            region.position(sliceOffset);
+            region.limit(sliceOffset + sliceLength);
+            return new Bytes(region.slice());
+        }
+        List<Bytes> parts = new ArrayList<>();
+        int position = 0;
+        for (Bytes segment : segments) {
+            int start = Math.max(sliceOffset - position, 0);
+            int end = Math.min(sliceOffset + sliceLength - position, segment.length);
+            if (start < end) {
+                parts.add(segment.slice(start, end - start));
+            }
+            position += segment.length;
+        }
+        return concat(parts);
     }
 
     /** Returns the size of this byte array. */
     public int size() {
-        return safe.length;
+        return length;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(safe);
+        // Consistent with Arrays.hashCode of the content
+        int result = 1;
+        if (safe != null) {
+            for (int i = offset; i < offset + length; i++) {
+                result = 31 * result + safe[i];
+            }
+        } else if (buffer != null) {
+            for (int i = 0; i < length; i++) {
+                result = 31 * result + buffer.get(i);
+            }
+        } else {
+            ByteBuffer content = asReadOnlyByteBuffer();
+            for (int i = 0; i < length; i++) {
+                result = 31 * result + content.get(i);
+            }
+        }
+        return result;
     }
 
     @Override
     public boolean equals(Object obj) {
-        return this == obj
-                || (obj instanceof Bytes && Arrays.equals(safe, ((Bytes) obj).safe));
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Bytes)) {
+            return false;
+        }
+        Bytes other = (Bytes) obj;
+        if (length != other.length) {
+            return false;
+        }
+        if (safe != null && other.safe != null && offset == 0 && other.offset == 0
+                && safe.length == length && other.safe.length == length) {
+            return Arrays.equals(safe, other.safe);
+        }
+        return asReadOnlyByteBuffer().equals(other.asReadOnlyByteBuffer());
     }
 
     @Override
@@ -84,7 +241,7 @@ public final class Bytes {
         return new StringBuilder("Bytes")
                 .append('{')
                 .append("size: ")
-                .append(safe.length)
+                .append(length)
                 .append('}')
                 .toString();
     }
@@ -113,10 +270,109 @@ public final class Bytes {
         return new Bytes(safe);
     }
 
+    /**
+     * Constructs a new {@link Bytes} backed by the provided array without copying. Ownership of the array is
+     * transferred, the caller must not modify it afterwards.
+     */
+    public static Bytes takeOwnership(byte[] array) {
+        return new Bytes(array);
+    }
+
+    /**
+     * Constructs a new {@link Bytes} backed by a region of the provided array without copying. Ownership of the region
+     * is transferred, the caller must not modify it afterwards.
+     */
+    public static Bytes takeOwnership(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new ArrayIndexOutOfBoundsException("Invalid range");
+        }
+        return new Bytes(array, offset, length);
+    }
+
+    /**
+     * Constructs a new {@link Bytes} backed by the remaining content of the provided buffer, which may be direct,
+     * without copying. Ownership of the content is transferred, the caller must not modify it afterwards. The
+     * position of the provided buffer is not changed.
+     */
+    public static Bytes takeOwnership(ByteBuffer buffer) {
+        return new Bytes(buffer.slice().asReadOnlyBuffer());
+    }
+
+    /** Returns the concatenation of the provided values, which are referenced rather than copied. */
+    public static Bytes concat(Bytes... values) {
+        return concat(Arrays.asList(values));
+    }
+
+    /** Returns the concatenation of the provided values, which are referenced rather than copied. */
+    public static Bytes concat(Iterable<Bytes> values) {
+        List<Bytes> segments = new ArrayList<>();
+        long length = 0;
+        for (Bytes value : values) {
+            if (value.segments != null) {
+                Collections.addAll(segments, value.segments);
+            } else if (value.length > 0) {
+                segments.add(value);
+            }
+            length += value.length;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Concatenation exceeds the maximum size of Bytes");
+        }
+        if (segments.isEmpty()) {
+            return EMPTY;
+        } else if (segments.size() == 1) {
+            return segments.get(0);
+        }
+        return new Bytes(segments.toArray(new Bytes[0]), (int) length);
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destination, int destinationOffset, int readLength) {
+            if (readLength == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(readLength, buffer.remaining());
+            buffer.get(destination, destinationOffset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
     static final class Serializer extends JsonSerializer<Bytes> {
         @Override
         public void serialize(Bytes value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-            gen.writeBinary(value.safe);
+            if (value.safe != null) {
+                gen.writeBinary(value.safe, value.offset, value.length);
+            } else {
+                // Base64 encode directly from the underlying segments rather than copying to an array
+                gen.writeBinary(value.getInputStream(), value.length);
+            }
         }
     }
 
@@ -0,0 +1,181 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.lib;
+
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory cache of decoded responses keyed by request, used by generated clients to revalidate GET requests with
+ * {@code If-None-Match} and reuse the previously decoded value when the server responds with {@code 304 Not Modified}.
+ *
+ * <p>Entries are weighed by the size of their encoded body. Once the total weight exceeds the configured maximum, the
+ * least recently used entries are evicted until the cache is filled to at most 90% of its maximum weight, so that
+ * evictions happen in batches rather than on every store. Lookups do not take a lock, only storing values does. Cached
+ * values are shared between callers and must be immutable, which holds for all generated Conjure types.
+ */
+public final class ResponseCache {
+    private static final Comparator<Entry> LEAST_RECENTLY_USED = Comparator.comparingLong(entry -> entry.evictionOrder);
+
+    private final long maxWeight;
+    private final long evictedWeight;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Orders accesses for eviction, an increment is far cheaper than the lock an access ordered map would need.
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder notModifiedCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    private ResponseCache(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.evictedWeight = maxWeight - maxWeight / 10;
+    }
+
+    /** Creates a cache which holds entries with a total encoded size of at most {@code maxWeight} bytes. */
+    public static ResponseCache create(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new SafeIllegalArgumentException("Maximum weight must be positive",
+                    SafeArg.of("maxWeight", maxWeight));
+        }
+        return new ResponseCache(maxWeight);
+    }
+
+    /**
+     * Returns the entry stored for the given request key, or null if there is none. Clients look up entries once per
+     * request they send, so that calls which share another call's request are not counted as hits or misses.
+     */
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            missCount.increment();
+        } else {
+            entry.lastAccess = clock.incrementAndGet();
+            hitCount.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the decoded value of a response with the given entity tag, replacing any previous entry for the key.
+     * Values heavier than the maximum weight of the cache are not stored.
+     */
+    public synchronized void put(String key, String etag, Object value, long valueWeight) {
+        Entry previous = valueWeight > maxWeight
+                ? entries.remove(key)
+                : entries.put(key, new Entry(key, etag, value, valueWeight, clock.incrementAndGet()));
+        long total = weight.addAndGet((valueWeight > maxWeight ? 0 : valueWeight)
+                - (previous == null ? 0 : previous.weight));
+        if (total > maxWeight) {
+            evict(total);
+        }
+    }
+
+    private void evict(long total) {
+        List<Entry> candidates = new ArrayList<>(entries.values());
+        // Concurrent lookups keep updating the access time, so sort by a snapshot of it.
+        candidates.forEach(entry -> entry.evictionOrder = entry.lastAccess);
+        candidates.sort(LEAST_RECENTLY_USED);
+        long remaining = total;
+        for (Entry candidate : candidates) {
+            if (remaining <= evictedWeight) {
+                break;
+            }
+            if (entries.remove(candidate.key, candidate)) {
+                remaining = weight.addAndGet(-candidate.weight);
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /** Records that a cached value was reused because the server responded with {@code 304 Not Modified}. */
+    public void recordNotModified() {
+        notModifiedCount.increment();
+    }
+
+    /** Returns the number of lookups which found an entry to revalidate. */
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    /** Returns the number of lookups which found no entry. */
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    /** Returns the number of responses served from the cache without decoding a body. */
+    public long notModifiedCount() {
+        return notModifiedCount.sum();
+    }
+
+    /** Returns the number of entries evicted to stay within the maximum weight. */
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /** Returns the number of entries currently cached. */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Returns the total weight of the entries currently cached. */
+    public long weight() {
+        return weight.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{size=" + size() + ", weight=" + weight() + ", maxWeight=" + maxWeight
+                + ", hitCount=" + hitCount() + ", missCount=" + missCount() + ", notModifiedCount="
+                + notModifiedCount() + ", evictionCount=" + evictionCount() + '}';
+    }
+
+    /** A decoded response value and the entity tag it was served with. */
+    public static final class Entry {
+        private final String key;
+        private final String etag;
+        private final Object value;
+        private final long weight;
+        private volatile long lastAccess;
+        private long evictionOrder;
+
+        private Entry(String key, String etag, Object value, long weight, long lastAccess) {
+            this.key = key;
+            this.etag = Objects.requireNonNull(etag, "etag");
+            this.value = Objects.requireNonNull(value, "value");
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        public Object value() {
+            return value;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.palantir.conjure.java.lib;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import com.palantir.conjure.java.lib.internal.SafeLongs;
 import org.immutables.value.Value;
 
 /**
@@ -27,8 +28,9 @@ import org.immutables.value.Value;
 @Value.Immutable
 public abstract class SafeLong {
 
-    private static final long MIN_SAFE_VALUE = -(1L << 53) + 1;
-    private static final long MAX_SAFE_VALUE = (1L << 53) - 1;
+    /** Values in the range [{@value #CACHE_LOW}, {@value #CACHE_HIGH}] are cached by {@link #of}. */
+    static final int CACHE_LOW = -128;
+    static final int CACHE_HIGH = 1024;
 
     @JsonValue
     @Value.Parameter
@@ -36,11 +38,7 @@ public abstract class SafeLong {
 
     @Value.Check
     protected final void check() {
-        if (!(MIN_SAFE_VALUE <= longValue() && longValue() <= MAX_SAFE_VALUE)) {
-            throw new IllegalArgumentException(String.format(
-                    "number must be safely representable in javascript i.e. lie between %s and %s",
-                    MIN_SAFE_VALUE, MAX_SAFE_VALUE));
-        }
+        SafeLongs.checkSafe(longValue());
     }
 
     public static SafeLong valueOf(String value) {
@@ -49,6 +47,9 @@ public abstract class SafeLong {
 
     @JsonCreator
     public static SafeLong of(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return Cache.VALUES[(int) value - CACHE_LOW];
+        }
         return ImmutableSafeLong.of(value);
     }
 
@@ -57,4 +58,17 @@ public abstract class SafeLong {
         return Long.toString(longValue());
     }
 
+    /** Holder deferring allocation of the cache until {@link ImmutableSafeLong} has been initialized. */
+    private static final class Cache {
+        private static final SafeLong[] VALUES = new SafeLong[CACHE_HIGH - CACHE_LOW + 1];
+
+        static {
+            for (int i = 0; i < VALUES.length; i++) {
+                VALUES[i] = ImmutableSafeLong.of(CACHE_LOW + i);
+            }
+        }
+
+        private Cache() {}
+    }
+
 }
@@ -0,0 +1,163 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Binary request body which is streamed from its source while the request is written, rather than buffered in memory.
+ * Bodies of known length are sent with a {@code Content-Length}, other bodies use chunked transfer encoding. Generated
+ * direct clients accept it for any binary body argument and add the {@code Content-Encoding} header of
+ * {@link #gzip() compressed} bodies.
+ *
+ * <p>Bodies streamed from an {@link InputStream} can only be written once and fail with an {@link IOException} if
+ * written again. Clients sending them must not resend requests, so
+ * {@code OkHttpClient.Builder#retryOnConnectionFailure} must be disabled and {@code 307} and {@code 308} redirects
+ * must not be followed.
+ *
+ * <p>Requires OkHttp on the classpath, which is not a dependency of this library.
+ */
+public final class StreamingBody extends RequestBody {
+    private static final MediaType OCTET_STREAM = MediaType.parse("application/octet-stream");
+
+    private final Content source;
+
+    private final long contentLength;
+
+    private final boolean gzip;
+
+    private final LongConsumer progress;
+
+    private StreamingBody(Content source, long contentLength, boolean gzip, LongConsumer progress) {
+        this.source = source;
+        this.contentLength = contentLength;
+        this.gzip = gzip;
+        this.progress = progress;
+    }
+
+    /**
+     * Streams the given input of unknown length, which is closed once written. The body can only be written once, so
+     * requests sending it must not be retried.
+     */
+    public static StreamingBody of(InputStream input) {
+        return of(input, -1);
+    }
+
+    /**
+     * Streams the given input of known length, which is closed once written. The body can only be written once, so
+     * requests sending it must not be retried.
+     */
+    public static StreamingBody of(InputStream input, long contentLength) {
+        AtomicBoolean written = new AtomicBoolean();
+        return new StreamingBody(sink -> {
+            if (written.getAndSet(true)) {
+                throw new IOException("Input stream body can only be written once");
+            }
+            try (Source in = Okio.source(input)) {
+                sink.writeAll(in);
+            }
+        }, contentLength, false, null);
+    }
+
+    /** Streams the content of the given file, which is opened each time the body is written. */
+    public static StreamingBody of(Path path) throws IOException {
+        return new StreamingBody(sink -> {
+            try (Source in = Okio.source(path)) {
+                sink.writeAll(in);
+            }
+        }, Files.size(path), false, null);
+    }
+
+    /**
+     * Streams the remaining content of the given buffer without copying it up front, the buffer must not be modified
+     * until the request completes.
+     */
+    public static StreamingBody of(ByteBuffer buffer) {
+        ByteBuffer view = buffer.duplicate();
+        return new StreamingBody(sink -> sink.write(view.duplicate()), view.remaining(), false, null);
+    }
+
+    /** Streams the given bytes without copying them into a single array. */
+    public static StreamingBody of(Bytes bytes) {
+        return new StreamingBody(sink -> bytes.writeTo(sink), bytes.size(), false, null);
+    }
+
+    /**
+     * Returns a copy of this body which is gzip compressed with a {@code Content-Encoding} header, and always uses
+     * chunked transfer encoding.
+     */
+    public StreamingBody gzip() {
+        return new StreamingBody(source, contentLength, true, progress);
+    }
+
+    /** Returns a copy of this body which reports the total number of uncompressed bytes written so far. */
+    public StreamingBody onProgress(LongConsumer bytesWritten) {
+        return new StreamingBody(source, contentLength, gzip, bytesWritten);
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return OCTET_STREAM;
+    }
+
+    @Override
+    public long contentLength() {
+        return gzip ? -1 : contentLength;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        BufferedSink compressed = gzip ? Okio.buffer(new GzipSink(sink)) : sink;
+        BufferedSink target = progress == null ? compressed : Okio.buffer(new ForwardingSink(compressed) {
+            private long read;
+
+            @Override
+            public void write(Buffer buffer, long byteCount) throws IOException {
+                super.write(buffer, byteCount);
+                read += byteCount;
+                progress.accept(read);
+            }
+        });
+        source.writeTo(target);
+        target.emit();
+        if (gzip) {
+            compressed.close();
+        }
+    }
+
+    private interface Content {
+        void writeTo(BufferedSink sink) throws IOException;
+    }
+}
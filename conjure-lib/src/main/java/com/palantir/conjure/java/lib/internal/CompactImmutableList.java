@@ -0,0 +1,61 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable {@link java.util.List} backed directly by an exact-size array, without the indirection of an unmodifiable
+ * wrapper around a growable list.
+ */
+final class CompactImmutableList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final CompactImmutableList<Object> EMPTY = new CompactImmutableList<>(new Object[0]);
+
+    private final Object[] elements;
+
+    private CompactImmutableList(Object[] elements) {
+        this.elements = elements;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> CompactImmutableList<T> copyOf(Collection<? extends T> values) {
+        if (values.isEmpty()) {
+            return (CompactImmutableList<T>) EMPTY;
+        }
+        // Collection.toArray returns an exact-size array which is not referenced by the source collection
+        return new CompactImmutableList<>(values.toArray());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+}
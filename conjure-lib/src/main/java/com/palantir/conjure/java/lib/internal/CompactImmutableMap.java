@@ -0,0 +1,153 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable insertion-ordered {@link Map} storing keys and values directly in a single flat array. Small maps are
+ * searched linearly, larger maps use an open-addressing index in place of per-entry hash table nodes. Entry objects
+ * are only allocated when iterating over {@link #entrySet()}.
+ */
+final class CompactImmutableMap<K, V> extends AbstractMap<K, V> {
+
+    private static final CompactImmutableMap<Object, Object> EMPTY = new CompactImmutableMap<>(new Object[0]);
+
+    /** Alternating keys and values. */
+    private final Object[] entries;
+    private final int[] table;
+    private Set<Entry<K, V>> entrySet;
+
+    private CompactImmutableMap(Object[] entries) {
+        this.entries = entries;
+        int size = entries.length / 2;
+        if (size > OpenAddressing.MAX_LINEAR_SEARCH_SIZE) {
+            table = OpenAddressing.newTable(size);
+            for (int i = 0; i < size; i++) {
+                OpenAddressing.insert(table, Objects.hashCode(entries[2 * i]), i);
+            }
+        } else {
+            table = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> CompactImmutableMap<K, V> copyOf(Map<? extends K, ? extends V> values) {
+        if (values.isEmpty()) {
+            return (CompactImmutableMap<K, V>) EMPTY;
+        }
+        Object[] entries = new Object[values.size() * 2];
+        int index = 0;
+        for (Entry<? extends K, ? extends V> entry : values.entrySet()) {
+            entries[index++] = entry.getKey();
+            entries[index++] = entry.getValue();
+        }
+        return new CompactImmutableMap<>(entries);
+    }
+
+    private int indexOf(Object key) {
+        if (table == null) {
+            for (int i = 0; i < entries.length; i += 2) {
+                if (Objects.equals(entries[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int slot = OpenAddressing.firstSlot(table, Objects.hashCode(key));
+                table[slot] != 0;
+                slot = OpenAddressing.nextSlot(table, slot)) {
+            int index = 2 * (table[slot] - 1);
+            if (Objects.equals(entries[index], key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) entries[index + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return entries.length / 2;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = new EntrySet();
+            entrySet = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < entries.length; i += 2) {
+            result += Objects.hashCode(entries[i]) ^ Objects.hashCode(entries[i + 1]);
+        }
+        return result;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Iterator<Entry<K, V>>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < entries.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Entry<K, V> next() {
+                    if (index >= entries.length) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<K, V> entry = new SimpleImmutableEntry<>((K) entries[index], (V) entries[index + 1]);
+                    index += 2;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entries.length / 2;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable insertion-ordered {@link Set} backed by an exact-size array of elements. Small sets are searched linearly,
+ * larger sets use an open-addressing index into the element array in place of per-entry hash table nodes.
+ */
+final class CompactImmutableSet<T> extends AbstractSet<T> {
+
+    private static final CompactImmutableSet<Object> EMPTY = new CompactImmutableSet<>(new Object[0]);
+
+    private final Object[] elements;
+    /** Open-addressing table of {@code index + 1} into {@link #elements}, zero denotes an empty slot. */
+    private final int[] table;
+    private int hashCode;
+
+    private CompactImmutableSet(Object[] elements) {
+        this.elements = elements;
+        this.table = elements.length > OpenAddressing.MAX_LINEAR_SEARCH_SIZE ? buildTable(elements) : null;
+    }
+
+    /** Copies the distinct elements of the provided collection, retaining the first occurrence of duplicates. */
+    @SuppressWarnings("unchecked")
+    static <T> CompactImmutableSet<T> copyOf(Collection<? extends T> values) {
+        if (values.isEmpty()) {
+            return (CompactImmutableSet<T>) EMPTY;
+        }
+        Object[] elements = values.toArray();
+        if (!(values instanceof Set)) {
+            int size = removeDuplicates(elements);
+            if (size < elements.length) {
+                elements = Arrays.copyOf(elements, size);
+            }
+        }
+        return new CompactImmutableSet<>(elements);
+    }
+
+    /** Moves the first occurrence of each distinct element to the front of the array, returning their number. */
+    private static int removeDuplicates(Object[] elements) {
+        int[] table = OpenAddressing.newTable(elements.length);
+        int size = 0;
+        for (int i = 0; i < elements.length; i++) {
+            Object element = elements[i];
+            int hashCode = Objects.hashCode(element);
+            if (indexOf(elements, table, hashCode, element) < 0) {
+                // size <= i, elements which have not been visited yet are never overwritten
+                elements[size] = element;
+                OpenAddressing.insert(table, hashCode, size);
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private static int indexOf(Object[] elements, int[] table, int hashCode, Object value) {
+        for (int slot = OpenAddressing.firstSlot(table, hashCode);
+                table[slot] != 0;
+                slot = OpenAddressing.nextSlot(table, slot)) {
+            if (Objects.equals(elements[table[slot] - 1], value)) {
+                return table[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] buildTable(Object[] elements) {
+        int[] table = OpenAddressing.newTable(elements.length);
+        for (int i = 0; i < elements.length; i++) {
+            OpenAddressing.insert(table, Objects.hashCode(elements[i]), i);
+        }
+        return table;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        if (table == null) {
+            for (Object element : elements) {
+                if (Objects.equals(element, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return indexOf(elements, table, Objects.hashCode(value), value) >= 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+                return (T) elements[index++];
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        // Racy single-check idiom, the computed value is always identical.
+        int result = hashCode;
+        if (result == 0 && elements.length != 0) {
+            for (Object element : elements) {
+                result += Objects.hashCode(element);
+            }
+            hashCode = result;
+        }
+        return result;
+    }
+}
@@ -16,7 +16,15 @@
 
 package com.palantir.conjure.java.lib.internal;
 
+import com.palantir.conjure.java.lib.SafeLong;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Utility functions for conjure. Consumers should prefer to use something like
@@ -40,4 +48,150 @@ public final class ConjureCollections {
             }
         }
     }
+
+    /** Returns the provided list if it may be modified, otherwise a modifiable copy. */
+    public static <T> List<T> mutableList(List<T> list) {
+        return list instanceof ArrayList ? list : new ArrayList<>(list);
+    }
+
+    /**
+     * Returns an immutable list backed by an exact-size array which is copied directly from the provided elements,
+     * the provided list is returned if already compact, including primitive-backed lists which are never re-boxed.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> immutableList(Iterable<? extends T> elements) {
+        if (elements instanceof CompactImmutableList
+                || elements instanceof IntegerList
+                || elements instanceof DoubleList
+                || elements instanceof SafeLongList) {
+            return (List<T>) elements;
+        }
+        return CompactImmutableList.copyOf(asCollection(elements));
+    }
+
+    /**
+     * Returns an immutable list of safelong values stored as primitive longs, the provided list is returned if already
+     * compact.
+     */
+    public static List<SafeLong> immutableSafeLongList(Iterable<? extends SafeLong> elements) {
+        if (elements instanceof SafeLongList) {
+            return (SafeLongList) elements;
+        }
+        return SafeLongList.copyOf(asCollection(elements));
+    }
+
+    /**
+     * Returns an immutable list of the first {@code size} safelong values of the provided array, which must be within
+     * safelong bounds. The list takes ownership of the array, which must not be modified afterwards.
+     */
+    public static List<SafeLong> immutableSafeLongList(long[] values, int size) {
+        return SafeLongList.of(values, size);
+    }
+
+    /**
+     * Returns an immutable list of the first {@code size} values of the provided array. The list takes ownership of
+     * the array, which must not be modified afterwards.
+     */
+    public static List<Integer> immutableIntegerList(int[] values, int size) {
+        return IntegerList.of(values, size);
+    }
+
+    /**
+     * Returns an immutable list of the first {@code size} values of the provided array. The list takes ownership of
+     * the array, which must not be modified afterwards.
+     */
+    public static List<Double> immutableDoubleList(double[] values, int size) {
+        return DoubleList.of(values, size);
+    }
+
+    /** Returns the provided set if it may be modified, otherwise a modifiable copy retaining iteration order. */
+    public static <T> Set<T> mutableSet(Set<T> set) {
+        return set instanceof LinkedHashSet ? set : new LinkedHashSet<>(set);
+    }
+
+    /**
+     * Returns an immutable insertion-ordered set of the distinct provided elements, the provided set is returned if
+     * already compact.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> immutableSet(Iterable<? extends T> elements) {
+        if (elements instanceof CompactImmutableSet || elements instanceof SafeLongSet) {
+            return (Set<T>) elements;
+        }
+        return CompactImmutableSet.copyOf(asCollection(elements));
+    }
+
+    /**
+     * Returns an immutable insertion-ordered set of the distinct safelong values among the first {@code size} values
+     * of the provided array, which must be within safelong bounds. The set takes ownership of the array, which must
+     * not be modified afterwards.
+     */
+    public static Set<SafeLong> immutableSafeLongSet(long[] values, int size) {
+        return SafeLongSet.of(values, size);
+    }
+
+    /**
+     * Returns an immutable insertion-ordered set of the distinct generated enum instances which tracks known values in
+     * a bitset, the provided set is returned if already compact.
+     *
+     * @param unknown the {@code Value.UNKNOWN} constant of the enum
+     * @param valueFunction returns the {@code Value} of an enum instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, V extends Enum<V>> Set<T> immutableEnumSet(
+            Iterable<? extends T> elements, V unknown, Function<? super T, V> valueFunction) {
+        if (elements instanceof ConjureEnumSet) {
+            return (Set<T>) elements;
+        }
+        return ConjureEnumSet.copyOf(asCollection(elements), unknown, valueFunction);
+    }
+
+    /** Returns the provided map if it may be modified, otherwise a modifiable copy retaining iteration order. */
+    public static <K, V> Map<K, V> mutableMap(Map<K, V> map) {
+        return map instanceof LinkedHashMap ? map : new LinkedHashMap<>(map);
+    }
+
+    /**
+     * Returns an immutable insertion-ordered map whose entries are copied directly from the provided map into a flat
+     * array, the provided map is returned if already compact.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> Map<K, V> immutableMap(Map<? extends K, ? extends V> map) {
+        return map instanceof CompactImmutableMap ? (Map<K, V>) map : CompactImmutableMap.copyOf(map);
+    }
+
+    /**
+     * Returns an immutable insertion-ordered map storing keys as primitive integers, the provided map is returned if
+     * already compact.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> Map<Integer, V> immutableIntKeyMap(Map<Integer, ? extends V> map) {
+        return map instanceof IntKeyImmutableMap ? (Map<Integer, V>) map : IntKeyImmutableMap.copyOf(map);
+    }
+
+    /**
+     * Returns an immutable insertion-ordered map keyed by generated enum instances which looks up known keys by
+     * ordinal, the provided map is returned if already compact.
+     *
+     * @param unknown the {@code Value.UNKNOWN} constant of the key enum
+     * @param valueFunction returns the {@code Value} of a key
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V, E extends Enum<E>> Map<K, V> immutableEnumMap(
+            Map<? extends K, ? extends V> map, E unknown, Function<? super K, E> valueFunction) {
+        return map instanceof ConjureEnumMap
+                ? (Map<K, V>) map
+                : ConjureEnumMap.copyOf(map, unknown, valueFunction);
+    }
+
+    /** Collections are copied directly, other iterables are first collected. */
+    @SuppressWarnings("unchecked")
+    private static <T> Collection<? extends T> asCollection(Iterable<? extends T> elements) {
+        if (elements instanceof Collection) {
+            return (Collection<? extends T>) elements;
+        }
+        List<T> result = new ArrayList<>();
+        addAll(result, elements);
+        return result;
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parsing and formatting of conjure {@code datetime} values. The canonical RFC 3339 form
+ * {@code yyyy-MM-ddTHH:mm:ss[.fraction](Z|+HH:MM)} is handled without {@link DateTimeFormatter}, other values fall
+ * back to {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}, so the accepted input and produced output are unchanged.
+ */
+public final class ConjureDateTimes {
+
+    /** Length of the longest value produced by {@link #formatRfc3339}. */
+    public static final int MAX_RFC3339_LENGTH = "9999-12-31T23:59:59.999999999+18:00".length();
+
+    private static final int MIN_RFC3339_LENGTH = "9999-12-31T23:59:59Z".length();
+    private static final int[] POWERS_OF_TEN = {
+        1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000
+    };
+
+    private ConjureDateTimes() {
+        // cannot instantiate
+    }
+
+    /** Parses the given ISO-8601 value, equivalent to {@link OffsetDateTime#parse(CharSequence)}. */
+    public static OffsetDateTime parse(String value) {
+        OffsetDateTime result = parseRfc3339(value);
+        return result != null ? result : OffsetDateTime.parse(value);
+    }
+
+    /** Formats the given value, equivalent to {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}. */
+    public static String format(OffsetDateTime value) {
+        char[] buffer = new char[MAX_RFC3339_LENGTH];
+        int length = formatRfc3339(value, buffer);
+        return length >= 0 ? new String(buffer, 0, length) : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+    }
+
+    /**
+     * Parses a value in canonical RFC 3339 form, returning null if the value is not in this form or is invalid. Callers
+     * should fall back to {@link OffsetDateTime#parse(CharSequence)} which produces descriptive errors.
+     */
+    public static OffsetDateTime parseRfc3339(CharSequence text) {
+        int length = text.length();
+        if (length < MIN_RFC3339_LENGTH
+                || text.charAt(4) != '-'
+                || text.charAt(7) != '-'
+                || (text.charAt(10) != 'T' && text.charAt(10) != 't')
+                || text.charAt(13) != ':'
+                || text.charAt(16) != ':') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+
+        int position = 19;
+        int nano = 0;
+        if (text.charAt(position) == '.') {
+            int start = ++position;
+            while (position < length && isDigit(text.charAt(position))) {
+                if (position - start == 9) {
+                    return null;
+                }
+                nano = nano * 10 + (text.charAt(position) - '0');
+                position++;
+            }
+            int count = position - start;
+            if (count == 0) {
+                return null;
+            }
+            nano *= POWERS_OF_TEN[9 - count];
+        }
+
+        ZoneOffset offset = parseOffset(text, position);
+        if (offset == null) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.of(year, month, day, hour, minute, second, nano, offset);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Formats the given value in canonical RFC 3339 form into the provided buffer of at least
+     * {@link #MAX_RFC3339_LENGTH} characters, returning the number of characters written. Returns -1 without writing if
+     * the value cannot be represented in this form, in which case callers should fall back to
+     * {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME}.
+     */
+    public static int formatRfc3339(OffsetDateTime value, char[] buffer) {
+        int year = value.getYear();
+        int offsetSeconds = value.getOffset().getTotalSeconds();
+        if (year < 0 || year > 9999 || offsetSeconds % 60 != 0) {
+            return -1;
+        }
+        int position = 0;
+        position = writeDigits(buffer, position, year, 4);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getMonthValue(), 2);
+        buffer[position++] = '-';
+        position = writeDigits(buffer, position, value.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        position = writeDigits(buffer, position, value.getHour(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getMinute(), 2);
+        buffer[position++] = ':';
+        position = writeDigits(buffer, position, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            // Trailing zeros are omitted, consistent with ISO_OFFSET_DATE_TIME
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[position++] = '.';
+            position = writeDigits(buffer, position, nano, digits);
+        }
+
+        if (offsetSeconds == 0) {
+            buffer[position++] = 'Z';
+        } else {
+            int absoluteMinutes = Math.abs(offsetSeconds) / 60;
+            buffer[position++] = offsetSeconds < 0 ? '-' : '+';
+            position = writeDigits(buffer, position, absoluteMinutes / 60, 2);
+            buffer[position++] = ':';
+            position = writeDigits(buffer, position, absoluteMinutes % 60, 2);
+        }
+        return position;
+    }
+
+    private static ZoneOffset parseOffset(CharSequence text, int position) {
+        int length = text.length();
+        if (position >= length) {
+            return null;
+        }
+        char sign = text.charAt(position);
+        if (sign == 'Z' || sign == 'z') {
+            return position + 1 == length ? ZoneOffset.UTC : null;
+        }
+        if ((sign != '+' && sign != '-') || position + 6 != length || text.charAt(position + 3) != ':') {
+            return null;
+        }
+        int hours = digits(text, position + 1, 2);
+        int minutes = digits(text, position + 4, 2);
+        if (hours < 0 || minutes < 0 || hours > 18 || minutes > 59) {
+            return null;
+        }
+        int totalSeconds = hours * 3600 + minutes * 60;
+        try {
+            // Offsets in multiples of 15 minutes are cached by ZoneOffset
+            return ZoneOffset.ofTotalSeconds(sign == '-' ? -totalSeconds : totalSeconds);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /** Returns the value of the given number of decimal digits, or -1 if any character is not a digit. */
+    private static int digits(CharSequence text, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char character = text.charAt(i);
+            if (!isDigit(character)) {
+                return -1;
+            }
+            result = result * 10 + (character - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static int writeDigits(char[] buffer, int position, int value, int count) {
+        int remaining = value;
+        for (int i = position + count - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return position + count;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable {@link Map} keyed by generated conjure enum instances which retains insertion order. Entries are stored in
+ * insertion-ordered arrays, known keys are looked up by an index array addressed by the ordinal of the enum
+ * {@code Value} and unknown keys by a compact map.
+ */
+final class ConjureEnumMap<K, V> extends AbstractMap<K, V> {
+
+    private final Function<? super K, ? extends Enum<?>> valueFunction;
+    private final int unknownOrdinal;
+    private final Class<?> keyClass;
+    /** Keys and values in insertion order. */
+    private final Object[] keys;
+    private final Object[] values;
+    /** Index into {@link #values} of the entry for each known ordinal, or -1 if absent. */
+    private final int[] indices;
+    private final Map<K, V> unknown;
+    private Set<Entry<K, V>> entrySet;
+
+    private ConjureEnumMap(
+            Function<? super K, ? extends Enum<?>> valueFunction,
+            int unknownOrdinal,
+            Class<?> keyClass,
+            Object[] keys,
+            Object[] values,
+            int[] indices,
+            Map<K, V> unknown) {
+        this.valueFunction = valueFunction;
+        this.unknownOrdinal = unknownOrdinal;
+        this.keyClass = keyClass;
+        this.keys = keys;
+        this.values = values;
+        this.indices = indices;
+        this.unknown = unknown;
+    }
+
+    /**
+     * Copies the provided map, where {@code unknown} is the {@code Value.UNKNOWN} constant of the key enum and
+     * {@code valueFunction} returns the {@code Value} of a key.
+     */
+    static <K, V, E extends Enum<E>> Map<K, V> copyOf(
+            Map<? extends K, ? extends V> map, E unknown, Function<? super K, E> valueFunction) {
+        if (map.isEmpty()) {
+            return CompactImmutableMap.copyOf(map);
+        }
+        int unknownOrdinal = unknown.ordinal();
+        int size = map.size();
+        Object[] keys = new Object[size];
+        Object[] values = new Object[size];
+        int[] indices = new int[unknownOrdinal];
+        Arrays.fill(indices, -1);
+        Map<K, V> unknownEntries = new LinkedHashMap<>();
+        Class<?> keyClass = null;
+        int index = 0;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            K key = entry.getKey();
+            keyClass = key.getClass();
+            int ordinal = valueFunction.apply(key).ordinal();
+            if (ordinal == unknownOrdinal) {
+                unknownEntries.put(key, entry.getValue());
+            } else {
+                indices[ordinal] = index;
+            }
+            keys[index] = key;
+            values[index] = entry.getValue();
+            index++;
+        }
+        return new ConjureEnumMap<>(valueFunction, unknownOrdinal, keyClass, keys, values, indices,
+                CompactImmutableMap.copyOf(unknownEntries));
+    }
+
+    /** Returns the ordinal of the given key, or -1 if it cannot be present in this map. */
+    @SuppressWarnings("unchecked")
+    private int ordinal(Object key) {
+        // generated enum classes are final, instances of other classes cannot be present
+        if (key == null || key.getClass() != keyClass) {
+            return -1;
+        }
+        return valueFunction.apply((K) key).ordinal();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int ordinal = ordinal(key);
+        if (ordinal == unknownOrdinal) {
+            return unknown.get(key);
+        }
+        return ordinal >= 0 && indices[ordinal] >= 0 ? (V) values[indices[ordinal]] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        int ordinal = ordinal(key);
+        if (ordinal == unknownOrdinal) {
+            return unknown.containsKey(key);
+        }
+        return ordinal >= 0 && indices[ordinal] >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = new EntrySet();
+            entrySet = result;
+        }
+        return result;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Iterator<Entry<K, V>>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < keys.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Entry<K, V> next() {
+                    if (index >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<K, V> entry = new SimpleImmutableEntry<>((K) keys[index], (V) values[index]);
+                    index++;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable {@link Set} of generated conjure enum instances which retains insertion order. Membership of known values
+ * is tracked in a bitset indexed by the ordinal of the enum {@code Value}, unknown values are rare and searched
+ * linearly.
+ */
+final class ConjureEnumSet<E> extends AbstractSet<E> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Function<? super E, ? extends Enum<?>> valueFunction;
+    private final int unknownOrdinal;
+    private final long[] bits;
+    /** Distinct values in insertion order. */
+    private final Object[] elements;
+    private final Object[] unknownValues;
+
+    private ConjureEnumSet(
+            Function<? super E, ? extends Enum<?>> valueFunction,
+            int unknownOrdinal,
+            long[] bits,
+            Object[] elements,
+            Object[] unknownValues) {
+        this.valueFunction = valueFunction;
+        this.unknownOrdinal = unknownOrdinal;
+        this.bits = bits;
+        this.elements = elements;
+        this.unknownValues = unknownValues;
+    }
+
+    /**
+     * Copies the distinct provided enum instances, where {@code unknown} is the {@code Value.UNKNOWN} constant of the
+     * enum and {@code valueFunction} returns the {@code Value} of an instance.
+     */
+    static <E, V extends Enum<V>> Set<E> copyOf(
+            Collection<? extends E> values, V unknown, Function<? super E, V> valueFunction) {
+        if (values.isEmpty()) {
+            return CompactImmutableSet.copyOf(values);
+        }
+        int unknownOrdinal = unknown.ordinal();
+        long[] bits = new long[(unknownOrdinal + 63) >>> 6];
+        Object[] elements = new Object[values.size()];
+        int size = 0;
+        Object[] unknownValues = null;
+        int unknownSize = 0;
+        for (E value : values) {
+            int ordinal = valueFunction.apply(value).ordinal();
+            if (ordinal != unknownOrdinal) {
+                if ((bits[ordinal >>> 6] & (1L << ordinal)) == 0) {
+                    bits[ordinal >>> 6] |= 1L << ordinal;
+                    elements[size++] = value;
+                }
+            } else {
+                if (unknownValues == null) {
+                    unknownValues = new Object[values.size()];
+                }
+                if (!contains(unknownValues, unknownSize, value)) {
+                    unknownValues[unknownSize++] = value;
+                    elements[size++] = value;
+                }
+            }
+        }
+        return new ConjureEnumSet<>(
+                valueFunction,
+                unknownOrdinal,
+                bits,
+                size == elements.length ? elements : Arrays.copyOf(elements, size),
+                unknownSize == 0 ? EMPTY : Arrays.copyOf(unknownValues, unknownSize));
+    }
+
+    /** Unknown values are rare, a linear search avoids allocating a hash table. */
+    private static boolean contains(Object[] values, int size, Object value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i].equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object value) {
+        // generated enum classes are final, instances of other classes cannot be present
+        if (value == null || value.getClass() != elements[0].getClass()) {
+            return false;
+        }
+        int ordinal = valueFunction.apply((E) value).ordinal();
+        if (ordinal != unknownOrdinal) {
+            return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+        }
+        return contains(unknownValues, unknownValues.length, value);
+    }
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < elements.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elements[index++];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, elements.length);
+    }
+}
@@ -18,12 +18,33 @@ package com.palantir.conjure.java.lib.internal;
 
 import com.palantir.logsafe.UnsafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Internal utility functions for conjure enum types.
  */
 public final class ConjureEnums {
 
+    /** Maximum number of unknown instances retained for each enum type. */
+    static final int MAX_CACHED_UNKNOWN_VALUES = 1000;
+
+    /** Unknown values longer than this are never retained. */
+    static final int MAX_CACHED_UNKNOWN_VALUE_LENGTH = 64;
+
+    private static final ClassValue<Map<String, Object>> UNKNOWN_VALUES = new ClassValue<Map<String, Object>>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+            return new LinkedHashMap<String, Object>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    return size() > MAX_CACHED_UNKNOWN_VALUES;
+                }
+            };
+        }
+    };
+
     private ConjureEnums() {
         // cannot instantiate
     }
@@ -42,6 +63,33 @@ public final class ConjureEnums {
         }
     }
 
+    /**
+     * Returns the instance of an enum type representing the given unknown value. Values are validated the first time
+     * they are encountered, and the {@link #MAX_CACHED_UNKNOWN_VALUES} most recently used instances per type are
+     * retained and shared by subsequent calls. Values longer than {@link #MAX_CACHED_UNKNOWN_VALUE_LENGTH} are
+     * validated and created on every call.
+     */
+    public static <T> T unknown(Class<T> type, String value, Function<String, T> factory) {
+        if (value.length() > MAX_CACHED_UNKNOWN_VALUE_LENGTH) {
+            validate(value);
+            return factory.apply(value);
+        }
+        // Unknown values are rare, so a lock per enum type is preferred over a concurrent cache which evicts.
+        Map<String, Object> cache = UNKNOWN_VALUES.get(type);
+        synchronized (cache) {
+            Object cached = cache.get(value);
+            if (cached != null) {
+                return type.cast(cached);
+            }
+        }
+        validate(value);
+        T result = factory.apply(value);
+        synchronized (cache) {
+            Object existing = cache.putIfAbsent(value, result);
+            return existing == null ? result : type.cast(existing);
+        }
+    }
+
     private static boolean isAllowedCharacter(char character) {
         return (character >= 'A' && character <= 'Z') || (character >= '0' && character <= '9') || character == '_';
     }
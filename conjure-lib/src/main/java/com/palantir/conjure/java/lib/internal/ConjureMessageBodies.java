@@ -0,0 +1,165 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+/**
+ * JAX-RS provider reading and writing a fixed set of conjure body types as JSON or CBOR. Readers and writers are bound
+ * once per type on construction, rather than resolved from the reflective type of each request, and are looked up by
+ * the declared generic type of the resource method. Types which are not known to the provider are left to other
+ * providers.
+ */
+@Consumes({MediaType.APPLICATION_JSON, ConjureMessageBodies.APPLICATION_CBOR})
+@Produces({MediaType.APPLICATION_JSON, ConjureMessageBodies.APPLICATION_CBOR})
+public final class ConjureMessageBodies implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    private static final MediaType APPLICATION_CBOR_TYPE = MediaType.valueOf(APPLICATION_CBOR);
+    private static final Set<Class<?>> OPTIONAL_TYPES = new HashSet<>(Arrays.asList(
+            Optional.class, OptionalInt.class, OptionalLong.class, OptionalDouble.class));
+
+    private final Map<Type, Bound> json;
+    private final Map<Type, Bound> cbor;
+
+    private ConjureMessageBodies(Map<Type, Bound> json, Map<Type, Bound> cbor) {
+        this.json = json;
+        this.cbor = cbor;
+    }
+
+    /**
+     * Creates a provider for the given types. The CBOR mapper may be null, in which case only JSON bodies are handled
+     * by this provider. Optional types are rejected, since empty optionals must be written as 204 responses rather
+     * than as JSON {@code null} bodies.
+     */
+    public static ConjureMessageBodies create(
+            Collection<Type> types, ObjectMapper jsonMapper, ObjectMapper cborMapper) {
+        Objects.requireNonNull(jsonMapper, "jsonMapper");
+        return new ConjureMessageBodies(
+                bind(types, jsonMapper), cborMapper == null ? new HashMap<>() : bind(types, cborMapper));
+    }
+
+    private static Map<Type, Bound> bind(Collection<Type> types, ObjectMapper mapper) {
+        Map<Type, Bound> bound = new HashMap<>();
+        for (Type type : types) {
+            JavaType javaType = mapper.constructType(type);
+            Preconditions.checkArgument(!OPTIONAL_TYPES.contains(javaType.getRawClass()),
+                    "Optional types cannot be bound", SafeArg.of("type", type.getTypeName()));
+            bound.put(type, new Bound(
+                    mapper.readerFor(javaType),
+                    mapper.writerFor(javaType).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)));
+        }
+        return bound;
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return lookup(genericType, mediaType) != null;
+    }
+
+    @Override
+    public Object readFrom(
+            Class<Object> type,
+            Type genericType,
+            Annotation[] annotations,
+            MediaType mediaType,
+            MultivaluedMap<String, String> httpHeaders,
+            InputStream entityStream) throws IOException {
+        ObjectReader reader = lookup(genericType, mediaType).reader;
+        try (JsonParser parser = reader.getFactory().createParser(entityStream)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            // Empty bodies are read as null like the Jackson provider does, leaving them to validation
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return reader.readValue(parser);
+        }
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return lookup(genericType, mediaType) != null;
+    }
+
+    @Override
+    public long getSize(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(
+            Object value,
+            Class<?> type,
+            Type genericType,
+            Annotation[] annotations,
+            MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders,
+            OutputStream entityStream) throws IOException {
+        lookup(genericType, mediaType).writer.writeValue(entityStream, value);
+    }
+
+    private Bound lookup(Type genericType, MediaType mediaType) {
+        if (mediaType == null || mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+            return json.get(genericType);
+        }
+        if (mediaType.isCompatible(APPLICATION_CBOR_TYPE)) {
+            return cbor.get(genericType);
+        }
+        return null;
+    }
+
+    private static final class Bound {
+        private final ObjectReader reader;
+        private final ObjectWriter writer;
+
+        Bound(ObjectReader reader, ObjectWriter writer) {
+            this.reader = reader;
+            this.writer = writer;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Collects the calls of a direct client which are made within a time window into a single request to the batch
+ * endpoint of the service, and completes each call with its result in the batch response. Calls are batched per
+ * authorization, since the batch request carries the credentials of all of its calls, and a batch is sent as soon as
+ * it holds {@link #MAX_BATCH_SIZE} calls or the window of its first call has elapsed. A batch is sent immediately if
+ * the scheduler rejects its flush.
+ *
+ * <p>Each call completes with its value, with a {@link RemoteException} if the call failed, or with the failure of
+ * the batch request. Cancelling a call does not cancel the batch it belongs to.
+ */
+final class DirectClientBatches {
+    /** Maximum number of calls sent in a single batch request, well below the limit of the batch endpoint. */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private static final String BATCH_ENDPOINT = "batch";
+    private static final String NO_AUTHORIZATION = "";
+
+    private final DirectClientCalls calls;
+    private final ObjectMapper mapper;
+    private final ScheduledExecutorService scheduler;
+    private final Duration window;
+    private final HttpUrl url;
+    private final DirectClientCalls.Writer<List<Map<String, Object>>> writer;
+    private final DirectClientCalls.Reader<List<JsonNode>> reader;
+    // Guarded by this, batches which have not been sent keyed by their authorization.
+    private final Map<String, List<PendingCall<?>>> pending = new HashMap<>();
+
+    DirectClientBatches(
+            DirectClientCalls calls,
+            ObjectMapper mapper,
+            ScheduledExecutorService scheduler,
+            Duration window,
+            HttpUrl url) {
+        this.calls = calls;
+        this.mapper = mapper;
+        this.scheduler = scheduler;
+        this.window = window;
+        this.url = url;
+        this.writer = calls.writer(new TypeReference<List<Map<String, Object>>>() {});
+        this.reader = calls.reader(new TypeReference<List<JsonNode>>() {});
+    }
+
+    /** Adds the call to the pending batch of the given authorization, or null for calls without credentials. */
+    <T> CompletableFuture<T> add(
+            String authorization, Map<String, Object> call, DirectClientCalls.Reader<T> callReader) {
+        String key = authorization == null ? NO_AUTHORIZATION : authorization;
+        PendingCall<T> pendingCall = new PendingCall<>(call, callReader);
+        List<PendingCall<?>> batch;
+        boolean first;
+        boolean full;
+        synchronized (this) {
+            batch = pending.computeIfAbsent(key, unused -> new ArrayList<>());
+            first = batch.isEmpty();
+            batch.add(pendingCall);
+            full = batch.size() >= MAX_BATCH_SIZE;
+            if (full) {
+                pending.remove(key);
+            }
+        }
+        if (full) {
+            send(authorization, batch);
+        } else if (first) {
+            try {
+                scheduler.schedule(() -> flush(key, authorization, batch), window.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                flush(key, authorization, batch);
+            }
+        }
+        return pendingCall.future;
+    }
+
+    /** Sends the batch unless it has already been sent because it was full. */
+    private void flush(String key, String authorization, List<PendingCall<?>> batch) {
+        synchronized (this) {
+            if (!pending.remove(key, batch)) {
+                return;
+            }
+        }
+        send(authorization, batch);
+    }
+
+    private void send(String authorization, List<PendingCall<?>> batch) {
+        List<Map<String, Object>> body = new ArrayList<>(batch.size());
+        for (PendingCall<?> call : batch) {
+            body.add(call.call);
+        }
+        CompletableFuture<List<JsonNode>> results;
+        try {
+            Request.Builder request = new Request.Builder().url(url).method("POST", writer.body(body));
+            if (authorization != null) {
+                request.header("Authorization", authorization);
+            }
+            results = calls.execute(BATCH_ENDPOINT, request, reader);
+        } catch (RuntimeException e) {
+            batch.forEach(call -> call.future.completeExceptionally(e));
+            return;
+        }
+        results.whenComplete((values, throwable) -> {
+            Throwable failure = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+            if (failure == null && (values == null || values.size() != batch.size())) {
+                failure = new IOException("Unexpected number of batch results, expected " + batch.size());
+            }
+            if (failure != null) {
+                for (PendingCall<?> call : batch) {
+                    call.future.completeExceptionally(failure);
+                }
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), values.get(i));
+            }
+        });
+    }
+
+    /** Completes the call with the value or error of its result, see the batch endpoint's {@code BatchResult}. */
+    private <T> void complete(PendingCall<T> call, JsonNode result) {
+        try {
+            JsonNode error = result.get("error");
+            if (error != null && !error.isNull()) {
+                call.future.completeExceptionally(new RemoteException(
+                        mapper.treeToValue(error, SerializableError.class), result.path("status").asInt(500)));
+            } else {
+                call.future.complete(call.reader.read(result.get("value")));
+            }
+        } catch (IOException | RuntimeException e) {
+            call.future.completeExceptionally(e);
+        }
+    }
+
+    private static final class PendingCall<T> {
+        private final Map<String, Object> call;
+        private final DirectClientCalls.Reader<T> reader;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private PendingCall(Map<String, Object> call, DirectClientCalls.Reader<T> reader) {
+            this.call = call;
+            this.reader = reader;
+        }
+    }
+}
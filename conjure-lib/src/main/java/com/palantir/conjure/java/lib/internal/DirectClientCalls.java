@@ -0,0 +1,704 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.lib.ResponseCache;
+import com.palantir.conjure.java.lib.StreamingBody;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import com.palantir.tokens.auth.AuthHeader;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+
+/**
+ * Sends the requests built by generated direct clients and decodes their responses. Generated clients encode urls,
+ * headers and bodies of each endpoint and delegate everything else to an instance of this class, including the optional
+ * call behaviours they are configured with: sharing identical in-flight GET requests, hedging slow GET requests,
+ * revalidating cached GET responses, negotiating CBOR bodies and batching calls.
+ *
+ * <p>Failed calls complete with a {@link RemoteException} carrying the {@link SerializableError} of the response, as
+ * with conjure retrofit clients, or with an {@link IOException} if the response does not carry an error.
+ *
+ * <p>Requires OkHttp on the classpath, which is not a dependency of this library.
+ */
+public final class DirectClientCalls {
+    private static final String APPLICATION_JSON = "application/json";
+    private static final String APPLICATION_CBOR = "application/cbor";
+    private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+    private static final String CBOR_ACCEPT = APPLICATION_CBOR + ", " + APPLICATION_JSON + ";q=0.9";
+    private static final MediaType JSON = MediaType.parse(APPLICATION_JSON);
+    private static final MediaType CBOR = MediaType.parse(APPLICATION_CBOR);
+    private static final RequestBody EMPTY_BODY = RequestBody.create(null, new byte[0]);
+    private static final int MAX_IN_FLIGHT_REQUESTS = 1024;
+    private static final int MAX_HEDGED_PERCENT = 10;
+    private static final int MAX_HEDGE_BURST = 10;
+    private static final Reader<ResponseBody> BINARY = new BinaryReader();
+    private static final Reader<Void> DISCARD = new DiscardReader();
+
+    private final OkHttpClient client;
+    private final ObjectMapper mapper;
+    private final Set<String> coalescedEndpoints;
+    private final ConcurrentMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService hedgeScheduler;
+    private final Duration hedgeDelay;
+    private final AtomicInteger hedgeBudget = new AtomicInteger();
+    private final ResponseCache responseCache;
+    private final ObjectMapper cborMapper;
+    private final DirectClientBatches batches;
+    // Whether the service has responded with CBOR more recently than with JSON.
+    private volatile boolean cborResponses;
+    // Whether the service has rejected a CBOR request body.
+    private volatile boolean cborBodiesRejected;
+
+    private DirectClientCalls(Builder builder) {
+        this.client = builder.client;
+        this.mapper = builder.mapper;
+        this.coalescedEndpoints = builder.coalescedEndpoints;
+        this.hedgeScheduler = builder.hedgeScheduler;
+        this.hedgeDelay = builder.hedgeDelay;
+        this.responseCache = builder.responseCache;
+        this.cborMapper = builder.cborMapper;
+        this.batches = builder.batchScheduler == null
+                ? null
+                : new DirectClientBatches(this, mapper, builder.batchScheduler, builder.batchWindow, builder.batchUrl);
+    }
+
+    /**
+     * Creates a builder of calls sent with the given client. The mapper should be configured with the conjure client
+     * modules, for example using {@code ObjectMappers.newClientObjectMapper()}. Each generated client builds its own
+     * calls, so the body format negotiated with CBOR is scoped to that client and its base url.
+     */
+    public static Builder builder(OkHttpClient client, ObjectMapper mapper) {
+        return new Builder(client, mapper);
+    }
+
+    /** Returns a reader decoding response bodies of the given type. */
+    public <T> Reader<T> reader(TypeReference<T> type) {
+        return reader(type, null);
+    }
+
+    /** Returns a reader decoding response bodies of the given type, and {@code 204} responses as the empty value. */
+    public <T> Reader<T> reader(TypeReference<T> type, T emptyValue) {
+        return new JsonReader<>(
+                mapper.readerFor(type), cborMapper == null ? null : cborMapper.readerFor(type), emptyValue);
+    }
+
+    /** Returns a writer encoding request bodies of the given type. */
+    public <T> Writer<T> writer(TypeReference<T> type) {
+        return new Writer<>(mapper.writerFor(type), cborMapper == null ? null : cborMapper.writerFor(type));
+    }
+
+    /** Returns a reader which passes binary response bodies to the caller, which must close them. */
+    public static Reader<ResponseBody> binary() {
+        return BINARY;
+    }
+
+    /** Returns a reader which discards response bodies. */
+    public static Reader<Void> discard() {
+        return DISCARD;
+    }
+
+    /** Returns the body of requests without an argument in their body. */
+    public static RequestBody emptyBody() {
+        return EMPTY_BODY;
+    }
+
+    /**
+     * Rejects path parameters which OkHttp would resolve as dot segments, since they would otherwise address a
+     * different resource than the endpoint.
+     */
+    public static String pathSegment(String segment) {
+        if (segment.equals(".") || segment.equals("..")) {
+            throw new SafeIllegalArgumentException("Path parameters must not be '.' or '..'");
+        }
+        return segment;
+    }
+
+    /** Rejects encoded path parameters containing a segment which resolves as a dot segment. */
+    public static String encodedPathSegments(String segments) {
+        for (String segment : segments.split("[/\\\\]", -1)) {
+            pathSegment(segment.replace("%2e", ".").replace("%2E", "."));
+        }
+        return segments;
+    }
+
+    /**
+     * Sends the request of the given endpoint and decodes its response with the reader. GET requests whose responses
+     * may be shared are coalesced, hedged and revalidated as configured.
+     */
+    public <T> CompletableFuture<T> execute(String endpoint, Request.Builder requestBuilder, Reader<T> reader) {
+        requestBuilder.header("Accept", reader.accept(this));
+        Request request = withContentEncoding(requestBuilder.build());
+        if (!reader.repeatable() || !request.method().equals("GET")) {
+            return send(request, reader::read);
+        }
+        if (responseCache == null || !(reader instanceof JsonReader)) {
+            return coalesce(endpoint, request, () -> hedge(request, reader::read));
+        }
+        JsonReader<T> jsonReader = (JsonReader<T>) reader;
+        String cacheKey = request.url() + "\n" + request.headers();
+        // Only the caller which sends the request looks up the cache, calls sharing its request are neither hits nor
+        // misses.
+        return coalesce(endpoint, request, () -> {
+            ResponseCache.Entry cached = responseCache.get(cacheKey);
+            Request revalidated = cached == null
+                    ? request
+                    : request.newBuilder().header("If-None-Match", cached.etag()).build();
+            return hedge(revalidated, response -> readCached(response, cacheKey, cached, jsonReader));
+        });
+    }
+
+    /** Returns whether calls of batchable endpoints should be sent using {@link #batch}. */
+    public boolean batching() {
+        return batches != null;
+    }
+
+    /**
+     * Adds a call of the given endpoint to the pending batch of its credentials, see the batch endpoint generated for
+     * undertow services. Arguments are encoded as the properties of the call, and must not be null.
+     */
+    public <T> CompletableFuture<T> batch(
+            String endpoint, AuthHeader authHeader, Map<String, Object> arguments, Reader<T> reader) {
+        Preconditions.checkState(batches != null, "Batching is not enabled", SafeArg.of("endpoint", endpoint));
+        if (reader instanceof BinaryReader) {
+            throw new SafeIllegalArgumentException("Binary responses cannot be batched",
+                    SafeArg.of("endpoint", endpoint));
+        }
+        Map<String, Object> call = new LinkedHashMap<>();
+        call.put("endpoint", endpoint);
+        arguments.forEach((argument, value) -> {
+            if (value == null) {
+                throw new SafeIllegalArgumentException("Batched call arguments cannot be null",
+                        SafeArg.of("endpoint", endpoint), SafeArg.of("argument", argument));
+            }
+            call.put(argument, value);
+        });
+        return batches.add(authHeader == null ? null : authHeader.toString(), call, reader);
+    }
+
+    private static Request withContentEncoding(Request request) {
+        RequestBody body = request.body();
+        if (body instanceof StreamingBody && ((StreamingBody) body).isGzip()) {
+            return request.newBuilder().header("Content-Encoding", "gzip").build();
+        }
+        return request;
+    }
+
+    private <T> CompletableFuture<T> send(Request request, ResponseHandler<T> handler) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Call call = client.newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call failedCall, IOException exception) {
+                future.completeExceptionally(exception);
+            }
+
+            @Override
+            public void onResponse(Call completedCall, Response response) {
+                Request fallback = jsonFallback(request, response);
+                if (fallback != null) {
+                    response.close();
+                    resend(fallback, handler, future);
+                    return;
+                }
+                try {
+                    checkSuccessful(request, response);
+                    future.complete(handler.handle(response));
+                } catch (IOException | RuntimeException e) {
+                    response.close();
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        // Cancelling the returned future cancels the underlying call.
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns the request to send again with JSON if the service rejected the CBOR body or the CBOR accept header of
+     * the given request, or null otherwise. Services rejecting CBOR bodies are not sent CBOR bodies again.
+     */
+    private Request jsonFallback(Request request, Response response) {
+        if (response.code() == 415 && request.body() instanceof CborBody) {
+            cborBodiesRejected = true;
+            return request.newBuilder().method(request.method(), ((CborBody) request.body()).json()).build();
+        }
+        if (response.code() == 406 && CBOR_ACCEPT.equals(request.header("Accept"))) {
+            return request.newBuilder().header("Accept", APPLICATION_JSON).build();
+        }
+        return null;
+    }
+
+    private <T> void resend(Request request, ResponseHandler<T> handler, CompletableFuture<T> future) {
+        CompletableFuture<T> resent = send(request, handler);
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                resent.cancel(false);
+            }
+        });
+        resent.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                future.complete(result);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        });
+    }
+
+    /**
+     * Throws the error of unsuccessful responses, other than {@code 304 Not Modified} responses to revalidated
+     * requests. Errors are decoded from JSON bodies as with conjure retrofit clients.
+     */
+    private void checkSuccessful(Request request, Response response) throws IOException {
+        if (response.isSuccessful() || (response.code() == 304 && request.header("If-None-Match") != null)) {
+            return;
+        }
+        SerializableError error = null;
+        try (ResponseBody body = response.body()) {
+            MediaType contentType = body.contentType();
+            if (contentType != null && "json".equals(contentType.subtype())) {
+                try {
+                    error = mapper.readValue(body.bytes(), SerializableError.class);
+                } catch (IOException e) {
+                    // Not a conjure error, reported by status code below
+                }
+            }
+        }
+        if (error != null) {
+            throw new RemoteException(error, response.code());
+        }
+        throw new IOException("Unexpected response code: " + response.code());
+    }
+
+    /**
+     * Dispatches GET requests of the configured endpoints at most once at a time per request. Callers receive views of
+     * the shared future so that cancelling one caller does not cancel the request for others, and no more than a fixed
+     * number of requests are tracked at once.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> coalesce(
+            String endpoint, Request request, Supplier<CompletableFuture<T>> dispatch) {
+        if (!coalescedEndpoints.contains(endpoint)) {
+            return dispatch.get();
+        }
+        String key = endpoint + ' ' + request.url() + '\n' + request.headers();
+        CompletableFuture<T> shared = (CompletableFuture<T>) inFlight.get(key);
+        if (shared == null) {
+            if (inFlight.size() >= MAX_IN_FLIGHT_REQUESTS) {
+                return dispatch.get();
+            }
+            CompletableFuture<T> created = new CompletableFuture<>();
+            shared = (CompletableFuture<T>) inFlight.putIfAbsent(key, created);
+            if (shared == null) {
+                shared = created;
+                CompletableFuture<T> dispatched;
+                try {
+                    dispatched = dispatch.get();
+                } catch (RuntimeException | Error e) {
+                    // Callers which joined the entry in the meantime must not wait on a request which was never sent.
+                    inFlight.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                dispatched.whenComplete((result, throwable) -> {
+                    inFlight.remove(key, created);
+                    if (throwable == null) {
+                        created.complete(result);
+                    } else {
+                        created.completeExceptionally(throwable);
+                    }
+                });
+            }
+        }
+        return shared.thenApply(result -> result);
+    }
+
+    /**
+     * Sends a second copy of a request once it has been outstanding for the configured delay, completing with the first
+     * successful response and cancelling the other call. Hedged requests draw from a token bucket which each hedgeable
+     * request refills by a fixed percentage of a hedge, so that only that percentage of recent requests is hedged and
+     * no more than a fixed burst of hedges is sent after a quiet period. Requests are sent without hedging if the
+     * scheduler rejects the hedge.
+     */
+    private <T> CompletableFuture<T> hedge(Request request, ResponseHandler<T> handler) {
+        if (hedgeScheduler == null) {
+            return send(request, handler);
+        }
+        hedgeBudget.updateAndGet(budget -> Math.min(budget + MAX_HEDGED_PERCENT, MAX_HEDGE_BURST * 100));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        race(result, send(request, handler), pending);
+        ScheduledFuture<?> timer;
+        try {
+            timer = hedgeScheduler.schedule(() -> {
+                if (!result.isDone() && acquireHedge()) {
+                    pending.incrementAndGet();
+                    race(result, send(request, handler), pending);
+                }
+            }, hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return result;
+        }
+        result.whenComplete((value, throwable) -> timer.cancel(false));
+        return result;
+    }
+
+    /** Takes a whole hedge from the budget if one is available. */
+    private boolean acquireHedge() {
+        return hedgeBudget.getAndUpdate(budget -> budget >= 100 ? budget - 100 : budget) >= 100;
+    }
+
+    /**
+     * Completes the result with the attempt's value if it succeeds, or with its failure if no other attempt is
+     * pending, and cancels the attempt once the result is complete.
+     */
+    private static <T> void race(CompletableFuture<T> result, CompletableFuture<T> attempt, AtomicInteger pending) {
+        attempt.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(throwable);
+            }
+        });
+        result.whenComplete((value, throwable) -> attempt.cancel(false));
+    }
+
+    /**
+     * Reuses the cached value on {@code 304 Not Modified}, or decodes the response and caches it if it has an
+     * {@code ETag}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T readCached(Response response, String cacheKey, ResponseCache.Entry cached, JsonReader<T> reader)
+            throws IOException {
+        if (response.code() == 304) {
+            response.close();
+            if (cached == null) {
+                throw new IOException("Unexpected response code: 304");
+            }
+            responseCache.recordNotModified();
+            return (T) cached.value();
+        }
+        String etag = response.header("ETag");
+        if (etag == null || response.code() == 204) {
+            return reader.read(response);
+        }
+        byte[] bytes;
+        try (ResponseBody body = response.body()) {
+            bytes = body.bytes();
+        }
+        T value = reader.objectReader(response).readValue(bytes);
+        if (value != null) {
+            responseCache.put(cacheKey, etag, value, bytes.length);
+        }
+        return value;
+    }
+
+    private static RequestBody body(MediaType contentType, ObjectWriter writer, Object value) {
+        try {
+            return RequestBody.create(contentType, writer.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new SafeIllegalArgumentException("Unable to serialize request body", e);
+        }
+    }
+
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    /** Decodes the responses of an endpoint, obtained from {@link DirectClientCalls}. */
+    public abstract static class Reader<T> {
+        private Reader() {}
+
+        abstract String accept(DirectClientCalls calls);
+
+        abstract T read(Response response) throws IOException;
+
+        /** Decodes the value of a batched call, which is null or missing if the call returned no value. */
+        abstract T read(JsonNode value) throws IOException;
+
+        /** Returns false for responses which can only be consumed once, and hence neither be shared nor hedged. */
+        abstract boolean repeatable();
+    }
+
+    /**
+     * Reads JSON bodies, or CBOR bodies if the client has a CBOR mapper. Responses are always accepted as CBOR with
+     * JSON as the fallback, and the format of the latest response determines whether request bodies are encoded as
+     * CBOR.
+     */
+    private final class JsonReader<T> extends Reader<T> {
+        private final ObjectReader json;
+        private final ObjectReader cbor;
+        private final T emptyValue;
+
+        private JsonReader(ObjectReader json, ObjectReader cbor, T emptyValue) {
+            this.json = json;
+            this.cbor = cbor;
+            this.emptyValue = emptyValue;
+        }
+
+        @Override
+        String accept(DirectClientCalls calls) {
+            return cbor != null ? CBOR_ACCEPT : APPLICATION_JSON;
+        }
+
+        @Override
+        T read(Response response) throws IOException {
+            if (emptyValue != null && response.code() == 204) {
+                response.close();
+                return emptyValue;
+            }
+            try (ResponseBody body = response.body()) {
+                return objectReader(response).readValue(body.byteStream());
+            }
+        }
+
+        @Override
+        T read(JsonNode value) throws IOException {
+            if (value == null || value.isNull()) {
+                return emptyValue != null ? emptyValue : json.readValue(NullNode.getInstance());
+            }
+            return json.readValue(value);
+        }
+
+        @Override
+        boolean repeatable() {
+            return true;
+        }
+
+        ObjectReader objectReader(Response response) {
+            String contentType = response.header("Content-Type");
+            if (cbor == null || contentType == null) {
+                return json;
+            }
+            boolean cborResponse = contentType.startsWith(APPLICATION_CBOR);
+            if (cborResponse || contentType.startsWith(APPLICATION_JSON)) {
+                cborResponses = cborResponse;
+            }
+            return cborResponse ? cbor : json;
+        }
+    }
+
+    private static final class BinaryReader extends Reader<ResponseBody> {
+        @Override
+        String accept(DirectClientCalls calls) {
+            return APPLICATION_OCTET_STREAM;
+        }
+
+        @Override
+        ResponseBody read(Response response) {
+            return response.body();
+        }
+
+        @Override
+        ResponseBody read(JsonNode value) throws IOException {
+            throw new IOException("Binary responses cannot be batched");
+        }
+
+        @Override
+        boolean repeatable() {
+            return false;
+        }
+    }
+
+    private static final class DiscardReader extends Reader<Void> {
+        @Override
+        String accept(DirectClientCalls calls) {
+            return APPLICATION_JSON;
+        }
+
+        @Override
+        Void read(Response response) {
+            response.close();
+            return null;
+        }
+
+        @Override
+        Void read(JsonNode value) {
+            return null;
+        }
+
+        @Override
+        boolean repeatable() {
+            return true;
+        }
+    }
+
+    /** Encodes the request bodies of an endpoint, obtained from {@link DirectClientCalls#writer}. */
+    public final class Writer<T> {
+        private final ObjectWriter json;
+        private final ObjectWriter cbor;
+
+        private Writer(ObjectWriter json, ObjectWriter cbor) {
+            this.json = json;
+            this.cbor = cbor;
+        }
+
+        /**
+         * Encodes the value as CBOR if the service last responded with CBOR and has not rejected CBOR bodies, and as
+         * JSON otherwise.
+         */
+        public RequestBody body(T value) {
+            if (cbor == null || !cborResponses || cborBodiesRejected) {
+                return DirectClientCalls.body(JSON, json, value);
+            }
+            return new CborBody(
+                    DirectClientCalls.body(CBOR, cbor, value), () -> DirectClientCalls.body(JSON, json, value));
+        }
+    }
+
+    /** A CBOR request body which is sent again as JSON if the service does not support CBOR bodies. */
+    private static final class CborBody extends RequestBody {
+        private final RequestBody cbor;
+        private final Supplier<RequestBody> json;
+
+        private CborBody(RequestBody cbor, Supplier<RequestBody> json) {
+            this.cbor = cbor;
+            this.json = json;
+        }
+
+        RequestBody json() {
+            return json.get();
+        }
+
+        @Override
+        public MediaType contentType() {
+            return cbor.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return cbor.contentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            cbor.writeTo(sink);
+        }
+    }
+
+    public static final class Builder {
+        private final OkHttpClient client;
+        private final ObjectMapper mapper;
+        private Set<String> coalescedEndpoints = Collections.emptySet();
+        private ScheduledExecutorService hedgeScheduler;
+        private Duration hedgeDelay;
+        private ResponseCache responseCache;
+        private ObjectMapper cborMapper;
+        private ScheduledExecutorService batchScheduler;
+        private Duration batchWindow;
+        private HttpUrl batchUrl;
+
+        private Builder(OkHttpClient client, ObjectMapper mapper) {
+            this.client = Preconditions.checkNotNull(client, "client is required");
+            this.mapper = Preconditions.checkNotNull(mapper, "mapper is required");
+        }
+
+        /** GET endpoints whose concurrent identical calls share a single in-flight request. */
+        public Builder coalescedEndpoints(Set<String> endpoints) {
+            this.coalescedEndpoints = new HashSet<>(endpoints);
+            return this;
+        }
+
+        /**
+         * Sends GET requests again once they have been outstanding for the given delay, scheduling hedges on the given
+         * scheduler. Hedging is disabled if the scheduler is null, otherwise the delay must be positive.
+         */
+        public Builder hedging(ScheduledExecutorService scheduler, Duration delay) {
+            if (scheduler != null) {
+                Preconditions.checkNotNull(delay, "hedgeDelay is required when hedging");
+                Preconditions.checkArgument(!delay.isNegative() && !delay.isZero(), "hedgeDelay must be positive",
+                        SafeArg.of("hedgeDelay", delay));
+            }
+            this.hedgeScheduler = scheduler;
+            this.hedgeDelay = delay;
+            return this;
+        }
+
+        /** Revalidates GET responses cached in the given cache, or disables caching if null. */
+        public Builder responseCache(ResponseCache cache) {
+            this.responseCache = cache;
+            return this;
+        }
+
+        /** Negotiates CBOR bodies encoded with the given mapper, or only uses JSON if null. */
+        public Builder cborMapper(ObjectMapper cbor) {
+            this.cborMapper = cbor;
+            return this;
+        }
+
+        /**
+         * Collects calls made within the given window into batches sent to the batch endpoint at the given url,
+         * scheduling the sending of batches on the given scheduler. Batching is disabled if the scheduler is null,
+         * otherwise the window must be positive.
+         */
+        public Builder batching(ScheduledExecutorService scheduler, Duration window, HttpUrl url) {
+            if (scheduler != null) {
+                Preconditions.checkNotNull(window, "batchWindow is required when batching");
+                Preconditions.checkArgument(!window.isNegative() && !window.isZero(), "batchWindow must be positive",
+                        SafeArg.of("batchWindow", window));
+                Preconditions.checkNotNull(url, "batch url is required when batching");
+            }
+            this.batchScheduler = scheduler;
+            this.batchWindow = window;
+            this.batchUrl = url;
+            return this;
+        }
+
+        public DirectClientCalls build() {
+            return new DirectClientCalls(this);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Adapts the futures of {@link DirectClientCalls} for generated clients returning Guava futures. Kept apart from
+ * {@link DirectClientCalls} so that clients returning {@link CompletableFuture} do not require Guava.
+ */
+public final class DirectClientFutures {
+    private DirectClientFutures() {}
+
+    /** Returns a future completed with the given future, which is cancelled if the returned future is cancelled. */
+    public static <T> ListenableFuture<T> listenable(CompletableFuture<T> future) {
+        SettableFuture<T> listenable = SettableFuture.create();
+        future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                listenable.set(result);
+            } else if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                listenable.setException(throwable.getCause());
+            } else {
+                listenable.setException(throwable);
+            }
+        });
+        listenable.addListener(() -> {
+            if (listenable.isCancelled()) {
+                future.cancel(false);
+            }
+        }, MoreExecutors.directExecutor());
+        return listenable;
+    }
+}
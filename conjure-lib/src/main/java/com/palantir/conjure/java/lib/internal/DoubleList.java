@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of {@link Double} values stored in a primitive {@code double[]}, elements are boxed on access.
+ * Values are compared by {@link Double#equals}, consistent with lists of boxed values.
+ */
+final class DoubleList extends AbstractList<Double> implements RandomAccess {
+
+    private static final DoubleList EMPTY = new DoubleList(new double[0]);
+
+    private final double[] values;
+
+    private DoubleList(double[] values) {
+        this.values = values;
+    }
+
+    /** Takes ownership of the first {@code size} values of the provided array. */
+    static DoubleList of(double[] values, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        return new DoubleList(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+
+    @Override
+    public Double get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value instanceof Double) {
+            long bits = Double.doubleToLongBits((Double) value);
+            for (int i = 0; i < values.length; i++) {
+                if (Double.doubleToLongBits(values[i]) == bits) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable insertion-ordered {@link Map} with {@link Integer} keys, stored as a primitive {@code int[]} alongside an
+ * array of values. Lookups do not box keys once the {@link Integer} argument has been provided, and keys are only
+ * boxed when iterating.
+ */
+final class IntKeyImmutableMap<V> extends AbstractMap<Integer, V> {
+
+    private final int[] keys;
+    private final Object[] values;
+    private final int[] table;
+    private Set<Entry<Integer, V>> entrySet;
+
+    private IntKeyImmutableMap(int[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+        if (keys.length > OpenAddressing.MAX_LINEAR_SEARCH_SIZE) {
+            table = OpenAddressing.newTable(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                OpenAddressing.insert(table, Integer.hashCode(keys[i]), i);
+            }
+        } else {
+            table = null;
+        }
+    }
+
+    /** Copies the provided map, which must not contain a null key. */
+    static <V> IntKeyImmutableMap<V> copyOf(Map<Integer, ? extends V> map) {
+        int[] keys = new int[map.size()];
+        Object[] values = new Object[map.size()];
+        int index = 0;
+        for (Entry<Integer, ? extends V> entry : map.entrySet()) {
+            keys[index] = Objects.requireNonNull(entry.getKey(), "Integer map keys must not be null");
+            values[index] = entry.getValue();
+            index++;
+        }
+        return new IntKeyImmutableMap<>(keys, values);
+    }
+
+    private int indexOf(int key) {
+        if (table == null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int slot = OpenAddressing.firstSlot(table, Integer.hashCode(key));
+                table[slot] != 0;
+                slot = OpenAddressing.nextSlot(table, slot)) {
+            int index = table[slot] - 1;
+            if (keys[index] == key) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        int index = indexOf((Integer) key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && indexOf((Integer) key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        Set<Entry<Integer, V>> result = entrySet;
+        if (result == null) {
+            result = new EntrySet();
+            entrySet = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < keys.length; i++) {
+            result += Integer.hashCode(keys[i]) ^ Objects.hashCode(values[i]);
+        }
+        return result;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Integer, V>> {
+        @Override
+        public Iterator<Entry<Integer, V>> iterator() {
+            return new Iterator<Entry<Integer, V>>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < keys.length;
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public Entry<Integer, V> next() {
+                    if (index >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<Integer, V> entry = new SimpleImmutableEntry<>(keys[index], (V) values[index]);
+                    index++;
+                    return entry;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+/**
+ * Helpers for the open-addressing index tables used by compact immutable collections. Tables contain
+ * {@code index + 1} of an element in the backing array, zero denotes an empty slot, and collisions are resolved by
+ * linear probing.
+ */
+final class OpenAddressing {
+
+    /** Collections up to this size do not allocate an index, linear search is cheaper than hashing. */
+    static final int MAX_LINEAR_SEARCH_SIZE = 8;
+
+    private OpenAddressing() {}
+
+    /**
+     * Allocates an empty table with a load factor of at most one half for the given number of elements, a single
+     * element still requires a free slot to terminate probing.
+     */
+    static int[] newTable(int size) {
+        return new int[Integer.highestOneBit(Math.max(size - 1, 1)) << 2];
+    }
+
+    /** Inserts the element at the given index into the table. */
+    static void insert(int[] table, int hashCode, int index) {
+        int mask = table.length - 1;
+        int slot = smear(hashCode) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    /** Returns the first slot to probe for the given hash code. */
+    static int firstSlot(int[] table, int hashCode) {
+        return smear(hashCode) & (table.length - 1);
+    }
+
+    /** Returns the slot to probe after the given slot. */
+    static int nextSlot(int[] table, int slot) {
+        return (slot + 1) & (table.length - 1);
+    }
+
+    /** Spreads higher bits of the hash code into the lower bits used to select a slot. */
+    private static int smear(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.palantir.conjure.java.lib.SafeLong;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of {@link SafeLong} values stored in a primitive {@code long[]}. Elements are materialized on
+ * access, small values are shared by the {@link SafeLong#of} cache.
+ */
+final class SafeLongList extends AbstractList<SafeLong> implements RandomAccess {
+
+    private static final SafeLongList EMPTY = new SafeLongList(new long[0]);
+
+    private final long[] values;
+
+    private SafeLongList(long[] values) {
+        this.values = values;
+    }
+
+    static SafeLongList copyOf(Collection<? extends SafeLong> elements) {
+        if (elements.isEmpty()) {
+            return EMPTY;
+        }
+        long[] values = new long[elements.size()];
+        int index = 0;
+        for (SafeLong element : elements) {
+            values[index++] = element.longValue();
+        }
+        return new SafeLongList(values);
+    }
+
+    /** Takes ownership of the first {@code size} values of the provided array, which must be within safelong bounds. */
+    static SafeLongList of(long[] values, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        return new SafeLongList(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+
+    @Override
+    public SafeLong get(int index) {
+        return SafeLong.of(values[index]);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return indexOf(value) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        if (value instanceof SafeLong) {
+            long longValue = ((SafeLong) value).longValue();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == longValue) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
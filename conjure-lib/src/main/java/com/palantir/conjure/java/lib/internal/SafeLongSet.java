@@ -0,0 +1,115 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import com.palantir.conjure.java.lib.SafeLong;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable insertion-ordered set of {@link SafeLong} values stored in a primitive {@code long[]}. Elements are
+ * materialized on iteration, small values are shared by the {@link SafeLong#of} cache.
+ */
+final class SafeLongSet extends AbstractSet<SafeLong> {
+
+    private static final SafeLongSet EMPTY = new SafeLongSet(new long[0], null);
+
+    private final long[] values;
+    /** Open-addressing table of {@code index + 1} into {@link #values}, null for small sets. */
+    private final int[] table;
+
+    private SafeLongSet(long[] values, int[] table) {
+        this.values = values;
+        this.table = table;
+    }
+
+    /**
+     * Takes ownership of the first {@code size} values of the provided array, which must be within safelong bounds.
+     * Duplicate values are removed in place retaining the first occurrence.
+     */
+    static SafeLongSet of(long[] values, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        int[] table = size > OpenAddressing.MAX_LINEAR_SEARCH_SIZE ? OpenAddressing.newTable(size) : null;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long value = values[i];
+            if (indexOf(values, count, table, value) < 0) {
+                values[count] = value;
+                if (table != null) {
+                    OpenAddressing.insert(table, Long.hashCode(value), count);
+                }
+                count++;
+            }
+        }
+        return new SafeLongSet(count == values.length ? values : Arrays.copyOf(values, count), table);
+    }
+
+    private static int indexOf(long[] values, int size, int[] table, long value) {
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int slot = OpenAddressing.firstSlot(table, Long.hashCode(value));
+                table[slot] != 0;
+                slot = OpenAddressing.nextSlot(table, slot)) {
+            int index = table[slot] - 1;
+            if (values[index] == value) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return value instanceof SafeLong
+                && indexOf(values, values.length, table, ((SafeLong) value).longValue()) >= 0;
+    }
+
+    @Override
+    public Iterator<SafeLong> iterator() {
+        return new Iterator<SafeLong>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < values.length;
+            }
+
+            @Override
+            public SafeLong next() {
+                if (index >= values.length) {
+                    throw new NoSuchElementException();
+                }
+                return SafeLong.of(values[index++]);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+/**
+ * Internal utility functions for conjure safelong values, used by generated objects which store safelong fields as
+ * primitive {@code long} values.
+ */
+public final class SafeLongs {
+
+    private static final long MIN_SAFE_VALUE = -(1L << 53) + 1;
+    private static final long MAX_SAFE_VALUE = (1L << 53) - 1;
+
+    private SafeLongs() {
+        // cannot instantiate
+    }
+
+    /** Returns the provided value if it is safely representable in javascript, otherwise throws. */
+    public static long checkSafe(long value) {
+        if (!(MIN_SAFE_VALUE <= value && value <= MAX_SAFE_VALUE)) {
+            throw new IllegalArgumentException(String.format(
+                    "number must be safely representable in javascript i.e. lie between %s and %s",
+                    MIN_SAFE_VALUE, MAX_SAFE_VALUE));
+        }
+        return value;
+    }
+}
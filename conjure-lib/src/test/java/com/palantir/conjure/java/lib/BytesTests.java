@@ -21,9 +21,13 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import org.junit.Test;
 
 public final class BytesTests {
@@ -158,6 +162,63 @@ public final class BytesTests {
                 .isInstanceOf(ArrayIndexOutOfBoundsException.class);
     }
 
+    @Test
+    public void testTakeOwnershipDoesNotCopy() {
+        byte[] input = new byte[]{0, 1, 2, 3};
+        Bytes view = Bytes.takeOwnership(input, 1, 2);
+        assertThat(view.asNewByteArray()).isEqualTo(new byte[]{1, 2});
+        assertThat(view).isEqualTo(Bytes.from(new byte[]{1, 2}));
+        assertThat(view.hashCode()).isEqualTo(Arrays.hashCode(new byte[]{1, 2}));
+    }
+
+    @Test
+    public void testTakeOwnershipOfDirectBuffer() {
+        ByteBuffer direct = ByteBuffer.allocateDirect(3);
+        direct.put(new byte[]{0, 1, 2});
+        direct.flip();
+        Bytes view = Bytes.takeOwnership(direct);
+
+        assertThat(direct.remaining()).isEqualTo(3);
+        assertThat(view).isEqualTo(Bytes.from(new byte[]{0, 1, 2}));
+        assertThat(view.asReadOnlyByteBuffer().isDirect()).isTrue();
+        assertThat(view.asReadOnlyByteBuffer().isReadOnly()).isTrue();
+        assertThat(view.slice(1, 2).asNewByteArray()).isEqualTo(new byte[]{1, 2});
+    }
+
+    @Test
+    public void testSlice() {
+        Bytes bytes = Bytes.from(new byte[]{0, 1, 2, 3});
+        assertThat(bytes.slice(1, 2).asNewByteArray()).isEqualTo(new byte[]{1, 2});
+        assertThat(bytes.slice(1, 2).slice(1, 1).asNewByteArray()).isEqualTo(new byte[]{2});
+        assertThat(bytes.slice(0, 4)).isSameAs(bytes);
+        assertThatThrownBy(() -> bytes.slice(3, 2)).isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void testConcat() throws IOException {
+        Bytes concatenated = Bytes.concat(
+                Bytes.from("te".getBytes(StandardCharsets.UTF_8)),
+                Bytes.takeOwnership(ByteBuffer.wrap("s".getBytes(StandardCharsets.UTF_8))),
+                Bytes.from("t".getBytes(StandardCharsets.UTF_8)));
+        Bytes expected = Bytes.from("test".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(concatenated.size()).isEqualTo(4);
+        assertThat(concatenated).isEqualTo(expected);
+        assertThat(concatenated.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(concatenated.slice(1, 2).asNewByteArray()).isEqualTo("es".getBytes(StandardCharsets.UTF_8));
+        assertThat(readFully(concatenated.getInputStream()))
+                .isEqualTo("test".getBytes(StandardCharsets.UTF_8));
+        assertThat(new ObjectMapper().writeValueAsString(concatenated)).isEqualTo("\"dGVzdA==\"");
+    }
+
+    @Test
+    public void testWriteToChannel() throws IOException {
+        Bytes bytes = Bytes.concat(Bytes.from(new byte[]{0, 1}), Bytes.from(new byte[]{2}));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bytes.writeTo(Channels.newChannel(output));
+        assertThat(output.toByteArray()).isEqualTo(new byte[]{0, 1, 2});
+    }
+
     @Test
     public void testSerializedForm() throws IOException {
         ObjectMapper mapper = new ObjectMapper();
@@ -184,4 +245,14 @@ public final class BytesTests {
         assertThatThrownBy(() -> mapper.readValue("[]", Bytes.class))
                 .isInstanceOf(JsonParseException.class);
     }
+
+    private static byte[] readFully(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[2];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
 }
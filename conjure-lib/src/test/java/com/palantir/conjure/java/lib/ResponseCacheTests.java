@@ -0,0 +1,97 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.lib;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import org.junit.Test;
+
+public final class ResponseCacheTests {
+    @Test
+    public void testGetReturnsStoredEntry() {
+        ResponseCache cache = ResponseCache.create(100);
+        assertThat(cache.get("a")).isNull();
+
+        cache.put("a", "\"1\"", "value", 10);
+        ResponseCache.Entry entry = cache.get("a");
+        assertThat(entry.etag()).isEqualTo("\"1\"");
+        assertThat(entry.value()).isEqualTo("value");
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPutReplacesEntry() {
+        ResponseCache cache = ResponseCache.create(100);
+        cache.put("a", "\"1\"", "first", 10);
+        cache.put("a", "\"2\"", "second", 20);
+
+        assertThat(cache.get("a").value()).isEqualTo("second");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.weight()).isEqualTo(20);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ResponseCache cache = ResponseCache.create(100);
+        cache.put("a", "\"1\"", "a", 40);
+        cache.put("b", "\"1\"", "b", 40);
+        cache.get("a");
+        cache.put("c", "\"1\"", "c", 40);
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.weight()).isEqualTo(80);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEvictsInBatches() {
+        ResponseCache cache = ResponseCache.create(100);
+        for (int i = 0; i < 10; i++) {
+            cache.put(Integer.toString(i), "\"1\"", i, 10);
+        }
+        assertThat(cache.evictionCount()).isZero();
+
+        cache.put("10", "\"1\"", 10, 10);
+        assertThat(cache.get("0")).isNull();
+        assertThat(cache.get("1")).isNull();
+        assertThat(cache.get("2")).isNotNull();
+        assertThat(cache.weight()).isEqualTo(90);
+        assertThat(cache.evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testDoesNotStoreValuesHeavierThanCache() {
+        ResponseCache cache = ResponseCache.create(100);
+        cache.put("a", "\"1\"", "a", 40);
+        cache.put("a", "\"2\"", "a", 101);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.weight()).isZero();
+    }
+
+    @Test
+    public void testRejectsNonPositiveWeight() {
+        assertThatThrownBy(() -> ResponseCache.create(0))
+                .isInstanceOf(SafeIllegalArgumentException.class);
+    }
+}
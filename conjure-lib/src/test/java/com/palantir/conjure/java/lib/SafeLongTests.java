@@ -59,6 +59,14 @@ public final class SafeLongTests {
         SafeLong.of(minValue);
     }
 
+    @Test
+    public void testSmallValuesAreCached() {
+        assertThat(SafeLong.of(SafeLong.CACHE_LOW)).isSameAs(SafeLong.of(SafeLong.CACHE_LOW));
+        assertThat(SafeLong.of(SafeLong.CACHE_HIGH)).isSameAs(SafeLong.of(SafeLong.CACHE_HIGH));
+        assertThat(SafeLong.of(0).longValue()).isZero();
+        assertThat(SafeLong.of(SafeLong.CACHE_HIGH + 1)).isEqualTo(SafeLong.of(SafeLong.CACHE_HIGH + 1));
+    }
+
     @Test
     public void testSerde() throws IOException {
         ObjectMapper mapper = new ObjectMapper();
@@ -0,0 +1,325 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.palantir.conjure.java.lib.SafeLong;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public final class ConjureCollectionsTests {
+
+    @Test
+    public void testImmutableList() {
+        List<String> mutable = new ArrayList<>(Arrays.asList("a", "b", "c"));
+        List<String> immutable = ConjureCollections.immutableList(mutable);
+        mutable.add("d");
+        assertThat(immutable).containsExactly("a", "b", "c").isEqualTo(Arrays.asList("a", "b", "c"));
+        assertThat(immutable.hashCode()).isEqualTo(Arrays.asList("a", "b", "c").hashCode());
+        assertThat(immutable.toString()).isEqualTo("[a, b, c]");
+        assertThat(ConjureCollections.immutableList(immutable)).isSameAs(immutable);
+        assertThatThrownBy(() -> immutable.add("e")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testListCopyOnWrite() {
+        List<String> immutable = ConjureCollections.immutableList(Arrays.asList("a", "b"));
+        List<String> mutable = ConjureCollections.mutableList(immutable);
+        mutable.add("c");
+        assertThat(mutable).containsExactly("a", "b", "c");
+        assertThat(immutable).containsExactly("a", "b");
+        assertThat(ConjureCollections.mutableList(mutable)).isSameAs(mutable);
+    }
+
+    @Test
+    public void testImmutableListFromIterable() {
+        Iterable<String> input = Arrays.asList("a", "b")::iterator;
+        assertThat(ConjureCollections.immutableList(input))
+                .isInstanceOf(CompactImmutableList.class)
+                .containsExactly("a", "b");
+    }
+
+    @Test
+    public void testImmutableSafeLongList() {
+        List<SafeLong> values = Arrays.asList(SafeLong.of(1), SafeLong.of(9007199254740991L), SafeLong.of(1));
+        List<SafeLong> immutable = ConjureCollections.immutableSafeLongList(new ArrayList<>(values));
+        assertThat(immutable).isEqualTo(values);
+        assertThat(immutable.hashCode()).isEqualTo(values.hashCode());
+        assertThat(immutable.indexOf(SafeLong.of(9007199254740991L))).isEqualTo(1);
+        assertThat(immutable.contains(SafeLong.of(2))).isFalse();
+        assertThat(ConjureCollections.immutableSafeLongList(immutable)).isSameAs(immutable);
+        assertThatThrownBy(() -> immutable.add(SafeLong.of(3))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testImmutablePrimitiveLists() {
+        List<Integer> integers = ConjureCollections.immutableIntegerList(new int[] {3, 1, 3, 0}, 3);
+        assertThat(integers).containsExactly(3, 1, 3);
+        assertThat(integers.hashCode()).isEqualTo(Arrays.asList(3, 1, 3).hashCode());
+        assertThat(integers.indexOf(1)).isEqualTo(1);
+        assertThat(ConjureCollections.immutableList(integers)).isSameAs(integers);
+
+        List<Double> doubles = ConjureCollections.immutableDoubleList(new double[] {1.5, Double.NaN, -0.0}, 3);
+        assertThat(doubles).isEqualTo(Arrays.asList(1.5, Double.NaN, -0.0));
+        assertThat(doubles.contains(Double.NaN)).isTrue();
+        assertThat(doubles.contains(0.0)).isFalse();
+        assertThatThrownBy(() -> doubles.add(2.0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(ConjureCollections.immutableList(doubles)).isSameAs(doubles);
+
+        List<SafeLong> safeLongs = ConjureCollections.immutableSafeLongList(new long[] {1, 2}, 2);
+        assertThat(safeLongs).containsExactly(SafeLong.of(1), SafeLong.of(2));
+        assertThat(ConjureCollections.immutableList(safeLongs)).isSameAs(safeLongs);
+        assertThat(ConjureCollections.immutableSafeLongList(safeLongs)).isSameAs(safeLongs);
+    }
+
+    @Test
+    public void testImmutableSafeLongSet() {
+        long[] values = IntStream.range(0, 40).mapToLong(i -> (i * 7) % 20).toArray();
+        Set<SafeLong> immutable = ConjureCollections.immutableSafeLongSet(values, values.length);
+        Set<SafeLong> expected = Arrays.stream(values)
+                .mapToObj(SafeLong::of)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        assertThat(immutable).containsExactlyElementsOf(expected);
+        assertThat(immutable).isEqualTo(expected);
+        assertThat(immutable.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(immutable.contains(SafeLong.of(21))).isFalse();
+        assertThat(ConjureCollections.immutableSet(immutable)).isSameAs(immutable);
+        assertThat(ConjureCollections.immutableSafeLongSet(new long[] {5, 5, 5}, 3)).containsExactly(SafeLong.of(5));
+    }
+
+    @Test
+    public void testImmutableSet() {
+        Set<String> immutable = ConjureCollections.immutableSet(new LinkedHashSet<>(Arrays.asList("c", "a", "b")));
+        assertThat(immutable).containsExactly("c", "a", "b");
+        assertThat(immutable).isEqualTo(new HashSet<>(Arrays.asList("a", "b", "c")));
+        assertThat(immutable.hashCode()).isEqualTo(new HashSet<>(Arrays.asList("a", "b", "c")).hashCode());
+        assertThat(immutable.contains("a")).isTrue();
+        assertThat(immutable.contains("d")).isFalse();
+        assertThat(immutable.contains(null)).isFalse();
+        assertThat(ConjureCollections.immutableSet(immutable)).isSameAs(immutable);
+        assertThatThrownBy(() -> immutable.add("e")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testImmutableSetFromListRemovesDuplicates() {
+        assertThat(ConjureCollections.immutableSet(Arrays.asList("c", "a", "c", null, "b", "a", null)))
+                .containsExactly("c", "a", null, "b");
+        assertThat(ConjureCollections.immutableSet(Collections.singletonList("a"))).containsExactly("a");
+        List<Integer> values = IntStream.range(0, 100).map(i -> i % 30).boxed().collect(Collectors.toList());
+        Set<Integer> immutable = ConjureCollections.immutableSet(values);
+        assertThat(immutable).containsExactlyElementsOf(new LinkedHashSet<>(values));
+        for (int i = -10; i < 40; i++) {
+            assertThat(immutable.contains(i)).isEqualTo(i >= 0 && i < 30);
+        }
+    }
+
+    @Test
+    public void testLargeImmutableSet() {
+        Set<Integer> values = IntStream.range(0, 100).boxed().collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Integer> immutable = ConjureCollections.immutableSet(values);
+        assertThat(immutable).containsExactlyElementsOf(values);
+        for (int i = -10; i < 110; i++) {
+            assertThat(immutable.contains(i)).isEqualTo(i >= 0 && i < 100);
+        }
+        Set<Integer> mutable = ConjureCollections.mutableSet(immutable);
+        mutable.add(100);
+        assertThat(mutable).hasSize(101);
+        assertThat(immutable).hasSize(100);
+    }
+
+    @Test
+    public void testImmutableMap() {
+        Map<String, Integer> mutable = new LinkedHashMap<>();
+        mutable.put("c", 3);
+        mutable.put("a", 1);
+        mutable.put("b", 2);
+        Map<String, Integer> immutable = ConjureCollections.immutableMap(mutable);
+        mutable.put("d", 4);
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", 2);
+        expected.put("c", 3);
+        assertThat(immutable.keySet()).containsExactly("c", "a", "b");
+        assertThat(immutable).isEqualTo(expected);
+        assertThat(immutable.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(immutable.get("a")).isEqualTo(1);
+        assertThat(immutable.get("d")).isNull();
+        assertThat(ConjureCollections.immutableMap(immutable)).isSameAs(immutable);
+        assertThatThrownBy(() -> immutable.put("e", 5)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testLargeImmutableMap() {
+        Map<String, Integer> values = IntStream.range(0, 100)
+                .boxed()
+                .collect(Collectors.toMap(Object::toString, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+        Map<String, Integer> immutable = ConjureCollections.immutableMap(values);
+        assertThat(immutable).isEqualTo(values);
+        assertThat(immutable.keySet()).containsExactlyElementsOf(values.keySet());
+        for (int i = -10; i < 110; i++) {
+            assertThat(immutable.get(Integer.toString(i))).isEqualTo(i >= 0 && i < 100 ? i : null);
+        }
+        Map<String, Integer> mutable = ConjureCollections.mutableMap(immutable);
+        mutable.put("100", 100);
+        assertThat(mutable).hasSize(101);
+        assertThat(immutable).hasSize(100);
+    }
+
+    @Test
+    public void testImmutableIntKeyMap() {
+        Map<Integer, String> values = IntStream.range(0, 20)
+                .boxed()
+                .collect(Collectors.toMap(Function.identity(), Object::toString, (a, b) -> a, LinkedHashMap::new));
+        Map<Integer, String> immutable = ConjureCollections.immutableIntKeyMap(values);
+        assertThat(immutable).isEqualTo(values);
+        assertThat(immutable.hashCode()).isEqualTo(values.hashCode());
+        assertThat(immutable.keySet()).containsExactlyElementsOf(values.keySet());
+        assertThat(immutable.get(5)).isEqualTo("5");
+        assertThat(immutable.get(20)).isNull();
+        assertThat(immutable.containsKey("5")).isFalse();
+        assertThat(ConjureCollections.immutableIntKeyMap(immutable)).isSameAs(immutable);
+        assertThat(ConjureCollections.mutableMap(immutable)).isEqualTo(values).isNotSameAs(immutable);
+    }
+
+    @Test
+    public void testImmutableEnumSet() {
+        Set<TestEnum> values = new LinkedHashSet<>(Arrays.asList(
+                TestEnum.valueOf("b"), TestEnum.TWO, TestEnum.valueOf("a"), TestEnum.ONE));
+        Set<TestEnum> immutable = ConjureCollections.immutableEnumSet(values, TestEnum.Value.UNKNOWN, TestEnum::get);
+        assertThat(immutable).containsExactly(
+                TestEnum.valueOf("b"), TestEnum.TWO, TestEnum.valueOf("a"), TestEnum.ONE);
+        assertThat(immutable).isEqualTo(values);
+        assertThat(immutable.hashCode()).isEqualTo(values.hashCode());
+        assertThat(immutable.contains(TestEnum.ONE)).isTrue();
+        assertThat(immutable.contains(TestEnum.THREE)).isFalse();
+        assertThat(immutable.contains(TestEnum.valueOf("a"))).isTrue();
+        assertThat(immutable.contains(TestEnum.valueOf("c"))).isFalse();
+        assertThat(immutable.contains("ONE")).isFalse();
+        assertThat(ConjureCollections.immutableEnumSet(immutable, TestEnum.Value.UNKNOWN, TestEnum::get))
+                .isSameAs(immutable);
+        assertThat(ConjureCollections.mutableSet(immutable)).isEqualTo(values).isNotSameAs(immutable);
+    }
+
+    @Test
+    public void testImmutableEnumSetFromListRemovesDuplicates() {
+        List<TestEnum> values = Arrays.asList(TestEnum.valueOf("b"), TestEnum.TWO, TestEnum.valueOf("b"),
+                TestEnum.ONE, TestEnum.TWO, TestEnum.valueOf("a"));
+        Set<TestEnum> immutable = ConjureCollections.immutableEnumSet(values, TestEnum.Value.UNKNOWN, TestEnum::get);
+        assertThat(immutable).containsExactly(
+                TestEnum.valueOf("b"), TestEnum.TWO, TestEnum.ONE, TestEnum.valueOf("a"));
+        assertThat(immutable).hasSize(4).isEqualTo(new LinkedHashSet<>(values));
+    }
+
+    @Test
+    public void testImmutableEnumMap() {
+        Map<TestEnum, String> values = new LinkedHashMap<>();
+        values.put(TestEnum.valueOf("a"), "a");
+        values.put(TestEnum.TWO, "two");
+        values.put(TestEnum.ONE, "one");
+        Map<TestEnum, String> immutable =
+                ConjureCollections.immutableEnumMap(values, TestEnum.Value.UNKNOWN, TestEnum::get);
+        assertThat(immutable.keySet()).containsExactly(TestEnum.valueOf("a"), TestEnum.TWO, TestEnum.ONE);
+        assertThat(immutable).isEqualTo(values);
+        assertThat(immutable.hashCode()).isEqualTo(values.hashCode());
+        assertThat(immutable.get(TestEnum.ONE)).isEqualTo("one");
+        assertThat(immutable.get(TestEnum.valueOf("a"))).isEqualTo("a");
+        assertThat(immutable.get(TestEnum.THREE)).isNull();
+        assertThat(immutable.containsKey(TestEnum.THREE)).isFalse();
+        assertThat(immutable.containsKey("ONE")).isFalse();
+        assertThat(ConjureCollections.immutableEnumMap(immutable, TestEnum.Value.UNKNOWN, TestEnum::get))
+                .isSameAs(immutable);
+        assertThat(ConjureCollections.mutableMap(immutable)).isEqualTo(values).isNotSameAs(immutable);
+    }
+
+    @Test
+    public void testEmptyCollectionsAreShared() {
+        assertThat(ConjureCollections.immutableList(new ArrayList<>()))
+                .isSameAs(ConjureCollections.immutableList(new ArrayList<>()));
+        assertThat(ConjureCollections.immutableSet(new LinkedHashSet<>()))
+                .isSameAs(ConjureCollections.immutableSet(new LinkedHashSet<>()));
+        assertThat(ConjureCollections.immutableMap(new LinkedHashMap<>()))
+                .isSameAs(ConjureCollections.immutableMap(new LinkedHashMap<>()));
+    }
+
+    /** Mirrors the structure of generated conjure enums. */
+    private static final class TestEnum {
+        static final TestEnum ONE = new TestEnum(Value.ONE, "ONE");
+        static final TestEnum TWO = new TestEnum(Value.TWO, "TWO");
+        static final TestEnum THREE = new TestEnum(Value.THREE, "THREE");
+
+        private final Value value;
+        private final String string;
+
+        private TestEnum(Value value, String string) {
+            this.value = value;
+            this.string = string;
+        }
+
+        Value get() {
+            return value;
+        }
+
+        static TestEnum valueOf(String value) {
+            switch (value) {
+                case "ONE":
+                    return ONE;
+                case "TWO":
+                    return TWO;
+                case "THREE":
+                    return THREE;
+                default:
+                    return new TestEnum(Value.UNKNOWN, value);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof TestEnum && string.equals(((TestEnum) other).string));
+        }
+
+        @Override
+        public int hashCode() {
+            return string.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return string;
+        }
+
+        enum Value {
+            ONE,
+            TWO,
+            THREE,
+            UNKNOWN
+        }
+    }
+}
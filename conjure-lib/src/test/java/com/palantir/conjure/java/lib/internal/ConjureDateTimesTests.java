@@ -0,0 +1,86 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import org.junit.Test;
+
+public final class ConjureDateTimesTests {
+
+    @Test
+    public void testParsesCanonicalValues() {
+        assertThat(ConjureDateTimes.parseRfc3339("2017-01-02T03:04:05Z"))
+                .isEqualTo(OffsetDateTime.of(2017, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+        assertThat(ConjureDateTimes.parseRfc3339("2017-01-02t03:04:05.1z"))
+                .isEqualTo(OffsetDateTime.of(2017, 1, 2, 3, 4, 5, 100_000_000, ZoneOffset.UTC));
+        assertThat(ConjureDateTimes.parseRfc3339("2017-01-02T03:04:05.123456789-01:30"))
+                .isEqualTo(OffsetDateTime.of(2017, 1, 2, 3, 4, 5, 123_456_789, ZoneOffset.ofHoursMinutes(-1, -30)));
+    }
+
+    @Test
+    public void testNonCanonicalValuesFallBack() {
+        for (String value : new String[] {
+            "2017-01-02T03:04Z", "2017-01-02T03:04:05.Z", "2017-01-02T03:04:05+01:30:20"
+        }) {
+            assertThat(ConjureDateTimes.parseRfc3339(value)).isNull();
+            assertThat(ConjureDateTimes.parse(value)).isEqualTo(OffsetDateTime.parse(value));
+        }
+    }
+
+    @Test
+    public void testInvalidValuesThrowParseException() {
+        for (String value : new String[] {
+            "2017-02-30T03:04:05Z",
+            "2017-01-02T24:00:00Z",
+            "2017-01-02T03:04:05.1234567890Z",
+            "2017-01-02T03:04:05+19:00"
+        }) {
+            assertThat(ConjureDateTimes.parseRfc3339(value)).isNull();
+            assertThatThrownBy(() -> ConjureDateTimes.parse(value)).isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Test
+    public void testMatchesJavaTime() {
+        Random random = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            int nano = random.nextBoolean() ? random.nextInt(1000) * 1_000_000 : random.nextInt(1_000_000_000);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(35) - 17) * 900);
+            OffsetDateTime value = OffsetDateTime.ofInstant(
+                    Instant.ofEpochSecond(random.nextInt(Integer.MAX_VALUE) * 100L, nano), offset);
+            String expected = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+
+            assertThat(ConjureDateTimes.format(value)).isEqualTo(expected);
+            assertThat(ConjureDateTimes.parseRfc3339(expected)).isEqualTo(value);
+        }
+    }
+
+    @Test
+    public void testFormatFallsBackForExtendedValues() {
+        OffsetDateTime value = OffsetDateTime.of(10_000, 1, 2, 3, 4, 5, 0, ZoneOffset.ofTotalSeconds(3661));
+        assertThat(ConjureDateTimes.formatRfc3339(value, new char[ConjureDateTimes.MAX_RFC3339_LENGTH])).isEqualTo(-1);
+        assertThat(ConjureDateTimes.format(value)).isEqualTo("+10000-01-02T03:04:05+01:01:01");
+    }
+}
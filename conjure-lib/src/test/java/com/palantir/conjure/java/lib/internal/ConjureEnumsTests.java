@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.lib.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public final class ConjureEnumsTests {
+
+    @Test
+    public void testUnknownInstancesAreShared() {
+        AtomicInteger created = new AtomicInteger();
+        StringBuilder first = ConjureEnums.unknown(StringBuilder.class, "FOO", value -> {
+            created.incrementAndGet();
+            return new StringBuilder(value);
+        });
+        StringBuilder second = ConjureEnums.unknown(StringBuilder.class, "FOO", StringBuilder::new);
+        assertThat(second).isSameAs(first);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    public void testUnknownValuesAreValidated() {
+        assertThatThrownBy(() -> ConjureEnums.unknown(StringBuffer.class, "foo", StringBuffer::new))
+                .isInstanceOf(SafeIllegalArgumentException.class);
+    }
+
+    @Test
+    public void testUnknownCacheEvictsLeastRecentlyUsed() {
+        Object eldest = null;
+        for (int i = 0; i < ConjureEnums.MAX_CACHED_UNKNOWN_VALUES; i++) {
+            Object created = ConjureEnums.unknown(Object.class, "VALUE_" + i, value -> new Object());
+            if (i == 1) {
+                eldest = created;
+            }
+        }
+        Object recent = ConjureEnums.unknown(Object.class, "VALUE_0", value -> new Object());
+        Object overflow = ConjureEnums.unknown(Object.class, "OVERFLOW", value -> new Object());
+
+        assertThat(ConjureEnums.unknown(Object.class, "OVERFLOW", value -> new Object())).isSameAs(overflow);
+        assertThat(ConjureEnums.unknown(Object.class, "VALUE_0", value -> new Object())).isSameAs(recent);
+        assertThat(ConjureEnums.unknown(Object.class, "VALUE_1", value -> new Object())).isNotSameAs(eldest);
+    }
+
+    @Test
+    public void testLongUnknownValuesAreNotCached() {
+        char[] characters = new char[ConjureEnums.MAX_CACHED_UNKNOWN_VALUE_LENGTH + 1];
+        Arrays.fill(characters, 'A');
+        String value = new String(characters);
+        assertThat(ConjureEnums.unknown(CharSequence.class, value, StringBuilder::new))
+                .isNotSameAs(ConjureEnums.unknown(CharSequence.class, value, StringBuilder::new));
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.lib.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import javax.ws.rs.core.MediaType;
+import org.junit.Test;
+
+public final class ConjureMessageBodiesTests {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final Type LIST_OF_STRINGS = new TypeReference<List<String>>() {}.getType();
+    private static final MediaType CBOR = MediaType.valueOf(ConjureMessageBodies.APPLICATION_CBOR);
+
+    @Test
+    public void testOnlyHandlesKnownTypes() {
+        ConjureMessageBodies bodies = ConjureMessageBodies.create(
+                Arrays.asList(LIST_OF_STRINGS, String.class), new ObjectMapper(), null);
+
+        assertThat(bodies.isReadable(List.class, LIST_OF_STRINGS, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE))
+                .isTrue();
+        assertThat(bodies.isWriteable(String.class, String.class, NO_ANNOTATIONS, MediaType.WILDCARD_TYPE))
+                .isTrue();
+        assertThat(bodies.isReadable(
+                List.class, new TypeReference<List<Integer>>() {}.getType(), NO_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE))
+                .isFalse();
+        assertThat(bodies.isReadable(Map.class, Map.class, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE))
+                .isFalse();
+        assertThat(bodies.isReadable(String.class, String.class, NO_ANNOTATIONS, MediaType.TEXT_PLAIN_TYPE))
+                .isFalse();
+        assertThat(bodies.isReadable(String.class, String.class, NO_ANNOTATIONS, CBOR)).isFalse();
+    }
+
+    @Test
+    public void testRejectsOptionalTypes() {
+        assertThatThrownBy(() -> ConjureMessageBodies.create(
+                Collections.singletonList(new TypeReference<Optional<String>>() {}.getType()), new ObjectMapper(),
+                null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ConjureMessageBodies.create(
+                Collections.singletonList(OptionalInt.class), new ObjectMapper(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ConjureMessageBodies bodies = ConjureMessageBodies.create(
+                Collections.singletonList(LIST_OF_STRINGS), new ObjectMapper(), null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bodies.writeTo(Arrays.asList("a", "b"), List.class, LIST_OF_STRINGS, NO_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE, null, output);
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo("[\"a\",\"b\"]");
+
+        @SuppressWarnings("unchecked")
+        Class<Object> type = (Class<Object>) (Class<?>) List.class;
+        assertThat(bodies.readFrom(type, LIST_OF_STRINGS, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, null,
+                new ByteArrayInputStream(output.toByteArray())))
+                .isEqualTo(Arrays.asList("a", "b"));
+    }
+
+    @Test
+    public void testReadsEmptyBodiesAsNull() throws IOException {
+        ConjureMessageBodies bodies = ConjureMessageBodies.create(
+                Collections.singletonList(String.class), new ObjectMapper(), null);
+
+        @SuppressWarnings("unchecked")
+        Class<Object> type = (Class<Object>) (Class<?>) String.class;
+        assertThat(bodies.readFrom(type, String.class, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, null,
+                new ByteArrayInputStream(new byte[0])))
+                .isNull();
+    }
+
+    @Test
+    public void testSelectsMapperByMediaType() throws IOException {
+        ObjectMapper cborMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ConjureMessageBodies bodies = ConjureMessageBodies.create(
+                Collections.singletonList(LIST_OF_STRINGS), new ObjectMapper(), cborMapper);
+
+        assertThat(bodies.isWriteable(List.class, LIST_OF_STRINGS, NO_ANNOTATIONS, CBOR)).isTrue();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bodies.writeTo(Collections.singletonList("a"), List.class, LIST_OF_STRINGS, NO_ANNOTATIONS, CBOR, null,
+                output);
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).contains("\n");
+    }
+}
@@ -19,11 +19,18 @@ package com.palantir.conjure.java.undertow.lib;
 import com.palantir.tokens.auth.UnverifiedJsonWebToken;
 import io.undertow.util.AttachmentKey;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 public final class Attachments {
 
     public static final AttachmentKey<Optional<UnverifiedJsonWebToken>> UNVERIFIED_JWT =
             AttachmentKey.create(Optional.class);
 
+    /**
+     * Executor on which the request is handled when it is dispatched to an executor other than the Undertow worker
+     * pool, for example a per-service executor.
+     */
+    public static final AttachmentKey<Executor> DISPATCH_EXECUTOR = AttachmentKey.create(Executor.class);
+
     private Attachments() {}
 }
@@ -28,4 +28,10 @@ public interface SerializerRegistry {
 
     /** Deserializes the request body into the requested type. */
     <T> T deserialize(TypeToken<T> type, HttpServerExchange exchange) throws IOException;
+
+    /**
+     * Eagerly resolves any state required to serialize and deserialize values of the given type, allowing the first
+     * request to be handled at steady-state latency. Implementations which do not cache per-type state may no-op.
+     */
+    default void warmUp(TypeToken<?> type) {}
 }
@@ -30,8 +30,11 @@ public final class ServiceContext {
     private ServiceContext(Builder builder) {
         this.serializerRegistry = Preconditions.checkNotNull(builder.serializerRegistry,
                 "Missing required SerializerRegistry");
-        this.serviceInstrumenter = Preconditions.checkNotNull(builder.serviceInstrumenter,
+        ServiceInstrumenter instrumenter = Preconditions.checkNotNull(builder.serviceInstrumenter,
                 "Missing required ServiceInstrumenter");
+        this.serviceInstrumenter = builder.warmUp
+                ? new WarmingServiceInstrumenter(instrumenter, serializerRegistry)
+                : instrumenter;
     }
 
     /**
@@ -62,6 +65,8 @@ public final class ServiceContext {
             }
         };
 
+        private boolean warmUp;
+
         private Builder() {}
 
         @CanIgnoreReturnValue
@@ -76,6 +81,17 @@ public final class ServiceContext {
             return this;
         }
 
+        /**
+         * When enabled, serializers and deserializers for every request and response type of a service are resolved
+         * when the service is {@link Service#create(ServiceContext) created} rather than on the first request to each
+         * endpoint. Disabled by default.
+         */
+        @CanIgnoreReturnValue
+        public Builder warmUp(boolean value) {
+            this.warmUp = value;
+            return this;
+        }
+
         public ServiceContext build() {
             return new ServiceContext(this);
         }
@@ -0,0 +1,80 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.lib;
+
+import com.google.common.reflect.TypeToken;
+import com.palantir.logsafe.SafeArg;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ServiceInstrumenter} which warms up the {@link SerializerRegistry} for all types used by a service
+ * interface before delegating instrumentation. Generated {@link Registrable registrables} instrument their
+ * service when they are created, prior to endpoint registration.
+ */
+final class WarmingServiceInstrumenter implements ServiceInstrumenter {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmingServiceInstrumenter.class);
+
+    private final ServiceInstrumenter delegate;
+    private final SerializerRegistry serializerRegistry;
+
+    WarmingServiceInstrumenter(ServiceInstrumenter delegate, SerializerRegistry serializerRegistry) {
+        this.delegate = delegate;
+        this.serializerRegistry = serializerRegistry;
+    }
+
+    @Override
+    public <T> T instrument(T serviceImplementation, Class<T> serviceInterface) {
+        long startNanos = System.nanoTime();
+        Set<Type> types = new LinkedHashSet<>();
+        for (Method method : serviceInterface.getMethods()) {
+            types.add(method.getGenericReturnType());
+            for (Type parameterType : method.getGenericParameterTypes()) {
+                types.add(parameterType);
+            }
+        }
+        int warmed = 0;
+        for (Type type : types) {
+            TypeToken<?> token = TypeToken.of(type);
+            if (isSerializable(token)) {
+                serializerRegistry.warmUp(token);
+                warmed++;
+            }
+        }
+        log.info("Warmed up service serialization",
+                SafeArg.of("service", serviceInterface.getSimpleName()),
+                SafeArg.of("types", warmed),
+                SafeArg.of("durationMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+        return delegate.instrument(serviceImplementation, serviceInterface);
+    }
+
+    private static boolean isSerializable(TypeToken<?> token) {
+        Class<?> rawType = token.getRawType();
+        // Binary bodies and void results bypass the SerializerRegistry.
+        return !rawType.isPrimitive()
+                && !Void.class.equals(rawType)
+                && !InputStream.class.isAssignableFrom(rawType)
+                && !BinaryResponseBody.class.isAssignableFrom(rawType);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.palantir.conjure.java.undertow.lib.internal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import java.util.Objects;
+
+/**
+ * Outcome of a single call within a batch request, serialized as either {@code {"value": ...}} or
+ * {@code {"error": ..., "status": ...}}, where the status is the HTTP status code the call would have failed with if it
+ * had not been batched. Calls to endpoints without a return value produce an empty object.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class BatchResult {
+
+    private final Object value;
+    private final SerializableError error;
+    private final Integer status;
+
+    private BatchResult(Object value, SerializableError error, Integer status) {
+        this.value = value;
+        this.error = error;
+        this.status = status;
+    }
+
+    static BatchResult success(Object value) {
+        return new BatchResult(value, null, null);
+    }
+
+    static BatchResult failure(SerializableError error, int status) {
+        return new BatchResult(null, Objects.requireNonNull(error, "error"), status);
+    }
+
+    @JsonProperty("value")
+    Object value() {
+        return value;
+    }
+
+    @JsonProperty("error")
+    SerializableError error() {
+        return error;
+    }
+
+    @JsonProperty("status")
+    Integer status() {
+        return status;
+    }
+
+    @Override
+    public String toString() {
+        return error == null
+                ? "BatchResult{value=" + value + '}'
+                : "BatchResult{error=" + error + ", status=" + status + '}';
+    }
+}
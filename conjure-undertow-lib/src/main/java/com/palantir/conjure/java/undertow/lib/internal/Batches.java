@@ -0,0 +1,158 @@
+/*
+ * (c) Copyright 2019 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.conjure.java.undertow.lib.internal;
+
+import com.palantir.conjure.java.api.errors.ErrorType;
+import com.palantir.conjure.java.api.errors.QosException;
+import com.palantir.conjure.java.api.errors.RemoteException;
+import com.palantir.conjure.java.api.errors.SerializableError;
+import com.palantir.conjure.java.api.errors.ServiceException;
+import com.palantir.conjure.java.undertow.lib.Attachments;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import io.undertow.server.HttpServerExchange;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the calls of a generated batch endpoint. Calls are claimed in order by the requesting thread and by up to
+ * {@link #MAX_PARALLELISM} - 1 tasks submitted to the provided executor, so a batch completes even when no executor
+ * threads are available. Failures of individual calls are mapped to {@link SerializableError serializable errors} in
+ * the same way as failures of regular requests. A {@link QosException} fails the whole batch instead, calls which have
+ * not started are skipped and the exception is rethrown so that the client backs off before retrying the batch.
+ */
+public final class Batches {
+
+    private static final Logger log = LoggerFactory.getLogger(Batches.class);
+
+    /** Maximum number of calls accepted in a single batch. */
+    static final int MAX_CALLS = 1000;
+    /** Maximum number of threads used to execute a single batch, including the requesting thread. */
+    static final int MAX_PARALLELISM = 8;
+
+    private Batches() {}
+
+    /**
+     * Executes the given calls of a batch request on the executor the request was dispatched to, falling back to the
+     * Undertow worker pool, and returns a result for each call in the same order.
+     */
+    public static List<BatchResult> execute(List<? extends Callable<?>> calls, HttpServerExchange exchange) {
+        Executor executor = exchange.getAttachment(Attachments.DISPATCH_EXECUTOR);
+        return execute(calls, executor != null ? executor : exchange.getConnection().getWorker());
+    }
+
+    /** Executes the given calls, returning a result for each call in the same order. */
+    public static List<BatchResult> execute(List<? extends Callable<?>> calls, Executor executor) {
+        Preconditions.checkArgument(calls.size() <= MAX_CALLS, "Too many calls in batch",
+                SafeArg.of("calls", calls.size()), SafeArg.of("maxCalls", MAX_CALLS));
+        BatchResult[] results = new BatchResult[calls.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<QosException> qosException = new AtomicReference<>();
+        CountDownLatch completed = new CountDownLatch(calls.size());
+        Runnable worker = () -> {
+            for (int index = next.getAndIncrement(); index < results.length; index = next.getAndIncrement()) {
+                try {
+                    if (qosException.get() == null) {
+                        results[index] = call(calls.get(index));
+                    }
+                } catch (QosException e) {
+                    qosException.compareAndSet(null, e);
+                } finally {
+                    // Errors must not leave the requesting thread waiting, the call's result remains absent
+                    completed.countDown();
+                }
+            }
+        };
+        int helpers = Math.min(calls.size(), MAX_PARALLELISM) - 1;
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+        try {
+            completed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException(ErrorType.INTERNAL, e);
+        }
+        if (qosException.get() != null) {
+            throw qosException.get();
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = BatchResult.failure(SerializableError.forException(
+                        new ServiceException(ErrorType.INTERNAL)), ErrorType.INTERNAL.httpErrorCode());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private static BatchResult call(Callable<?> call) {
+        try {
+            return BatchResult.success(call.call());
+        } catch (ServiceException e) {
+            return failure(e);
+        } catch (QosException e) {
+            throw e;
+        } catch (RemoteException e) {
+            return remoteFailure(e);
+        } catch (IllegalArgumentException e) {
+            return failure(new ServiceException(ErrorType.INVALID_ARGUMENT, e));
+        } catch (Exception e) {
+            return failure(new ServiceException(ErrorType.INTERNAL, e));
+        }
+    }
+
+    private static BatchResult failure(ServiceException exception) {
+        if (exception.getErrorType().httpErrorCode() / 100 == 4 /* client error */) {
+            log.info("Error handling batched call",
+                    SafeArg.of("errorInstanceId", exception.getErrorInstanceId()), exception);
+        } else {
+            log.error("Error handling batched call",
+                    SafeArg.of("errorInstanceId", exception.getErrorInstanceId()), exception);
+        }
+        return BatchResult.failure(
+                SerializableError.forException(exception), exception.getErrorType().httpErrorCode());
+    }
+
+    // Remote failures are internal to this service, only the error instance id is forwarded so that the failure
+    // can be traced to the remote service.
+    private static BatchResult remoteFailure(RemoteException exception) {
+        log.warn("Encountered a remote exception in a batched call. Mapping to an internal error",
+                SafeArg.of("errorInstanceId", exception.getError().errorInstanceId()),
+                SafeArg.of("errorName", exception.getError().errorName()),
+                SafeArg.of("statusCode", exception.getStatus()),
+                exception);
+        ErrorType errorType = ErrorType.INTERNAL;
+        return BatchResult.failure(SerializableError.builder()
+                .errorName(errorType.name())
+                .errorCode(errorType.code().toString())
+                .errorInstanceId(exception.getError().errorInstanceId())
+                .build(), errorType.httpErrorCode());
+    }
+}
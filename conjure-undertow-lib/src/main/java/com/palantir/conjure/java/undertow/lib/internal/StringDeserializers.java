@@ -21,13 +21,19 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.palantir.conjure.java.lib.SafeLong;
+import com.palantir.conjure.java.lib.internal.ConjureCollections;
+import com.palantir.conjure.java.lib.internal.ConjureDateTimes;
+import com.palantir.conjure.java.lib.internal.SafeLongs;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.UnsafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 import com.palantir.ri.ResourceIdentifier;
 import com.palantir.tokens.auth.BearerToken;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +49,9 @@ import javax.annotation.Nullable;
 // code?
 public final class StringDeserializers {
 
+    private static final Optional<Boolean> OPTIONAL_TRUE = Optional.of(true);
+    private static final Optional<Boolean> OPTIONAL_FALSE = Optional.of(false);
+
     private StringDeserializers() {}
 
     public static BearerToken deserializeBearerToken(String in) {
@@ -77,7 +86,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<BearerToken> builder = ImmutableList.builder();
+        ImmutableList.Builder<BearerToken> builder = ImmutableList.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeBearerToken(item));
         }
@@ -88,7 +97,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<BearerToken> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<BearerToken> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeBearerToken(item));
         }
@@ -108,21 +117,21 @@ public final class StringDeserializers {
     }
 
     public static Optional<Boolean> deserializeOptionalBoolean(String in) {
-        return Optional.of(deserializeBoolean(in));
+        return deserializeBoolean(in) ? OPTIONAL_TRUE : OPTIONAL_FALSE;
     }
 
     public static Optional<Boolean> deserializeOptionalBoolean(@Nullable Iterable<String> in) {
         if (in == null || Iterables.isEmpty(in)) {
             return Optional.empty();
         }
-        return Optional.of(deserializeBoolean(getOnlyElement(in)));
+        return deserializeOptionalBoolean(getOnlyElement(in));
     }
 
     public static List<Boolean> deserializeBooleanList(@Nullable Iterable<String> in) {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<Boolean> builder = ImmutableList.builder();
+        ImmutableList.Builder<Boolean> builder = ImmutableList.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeBoolean(item));
         }
@@ -133,7 +142,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<Boolean> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<Boolean> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeBoolean(item));
         }
@@ -142,7 +151,7 @@ public final class StringDeserializers {
 
     public static OffsetDateTime deserializeDateTime(String in) {
         try {
-            return OffsetDateTime.parse(in);
+            return ConjureDateTimes.parse(in);
         } catch (RuntimeException ex) {
             throw new SafeIllegalArgumentException("failed to deserialize datetime", ex);
         }
@@ -167,7 +176,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<OffsetDateTime> builder = ImmutableList.builder();
+        ImmutableList.Builder<OffsetDateTime> builder = ImmutableList.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeDateTime(item));
         }
@@ -178,7 +187,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<OffsetDateTime> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<OffsetDateTime> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeDateTime(item));
         }
@@ -212,18 +221,22 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<Double> builder = ImmutableList.builder();
+        double[] values = new double[expectedSize(in)];
+        int size = 0;
         for (String item : in) {
-            builder.add(deserializeDouble(item));
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = deserializeDouble(item);
         }
-        return builder.build();
+        return ConjureCollections.immutableDoubleList(values, size);
     }
 
     public static Set<Double> deserializeDoubleSet(@Nullable Iterable<String> in) {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<Double> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<Double> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeDouble(item));
         }
@@ -257,18 +270,22 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<Integer> builder = ImmutableList.builder();
+        int[] values = new int[expectedSize(in)];
+        int size = 0;
         for (String item : in) {
-            builder.add(deserializeInteger(item));
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = deserializeInteger(item);
         }
-        return builder.build();
+        return ConjureCollections.immutableIntegerList(values, size);
     }
 
     public static Set<Integer> deserializeIntegerSet(@Nullable Iterable<String> in) {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<Integer> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<Integer> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeInteger(item));
         }
@@ -302,7 +319,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<ResourceIdentifier> builder = ImmutableList.builder();
+        ImmutableList.Builder<ResourceIdentifier> builder = ImmutableList.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeRid(item));
         }
@@ -313,7 +330,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<ResourceIdentifier> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<ResourceIdentifier> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeRid(item));
         }
@@ -328,6 +345,14 @@ public final class StringDeserializers {
         }
     }
 
+    private static long deserializeSafeLongValue(String in) {
+        try {
+            return SafeLongs.checkSafe(Long.parseLong(in));
+        } catch (RuntimeException ex) {
+            throw new SafeIllegalArgumentException("failed to deserialize safelong", ex);
+        }
+    }
+
     public static SafeLong deserializeSafeLong(@Nullable Iterable<String> in) {
         return deserializeSafeLong(getOnlyElement(in));
     }
@@ -347,22 +372,30 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<SafeLong> builder = ImmutableList.builder();
+        long[] values = new long[expectedSize(in)];
+        int size = 0;
         for (String item : in) {
-            builder.add(deserializeSafeLong(item));
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = deserializeSafeLongValue(item);
         }
-        return builder.build();
+        return ConjureCollections.immutableSafeLongList(values, size);
     }
 
     public static Set<SafeLong> deserializeSafeLongSet(@Nullable Iterable<String> in) {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<SafeLong> builder = ImmutableSet.builder();
+        long[] values = new long[expectedSize(in)];
+        int size = 0;
         for (String item : in) {
-            builder.add(deserializeSafeLong(item));
+            if (size == values.length) {
+                values = Arrays.copyOf(values, grow(size));
+            }
+            values[size++] = deserializeSafeLongValue(item);
         }
-        return builder.build();
+        return ConjureCollections.immutableSafeLongSet(values, size);
     }
 
     public static String deserializeString(String in) {
@@ -419,7 +452,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<UUID> builder = ImmutableList.builder();
+        ImmutableList.Builder<UUID> builder = ImmutableList.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeUuid(item));
         }
@@ -430,7 +463,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<UUID> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<UUID> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeUuid(item));
         }
@@ -454,7 +487,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptyList();
         }
-        ImmutableList.Builder<T> builder = ImmutableList.builder();
+        ImmutableList.Builder<T> builder = ImmutableList.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeComplex(item, factory));
         }
@@ -465,7 +498,7 @@ public final class StringDeserializers {
         if (in == null) {
             return Collections.emptySet();
         }
-        ImmutableSet.Builder<T> builder = ImmutableSet.builder();
+        ImmutableSet.Builder<T> builder = ImmutableSet.builderWithExpectedSize(expectedSize(in));
         for (String item : in) {
             builder.add(deserializeComplex(item, factory));
         }
@@ -480,10 +513,20 @@ public final class StringDeserializers {
         return getOnlyElementInternal(input, false);
     }
 
+    @SuppressWarnings("unchecked")
     private static <T> T getOnlyElementInternal(@Nullable Iterable<T> input, boolean includeValues) {
         if (input == null) {
             throw new SafeIllegalArgumentException("Expected one element but received null");
         }
+        // Query parameters are provided as a Deque and headers as a List, neither requires an iterator.
+        if (input instanceof Collection && ((Collection<T>) input).size() == 1) {
+            if (input instanceof Deque) {
+                return ((Deque<T>) input).peekFirst();
+            }
+            if (input instanceof List) {
+                return ((List<T>) input).get(0);
+            }
+        }
         Iterator<T> iterator = input.iterator();
         if (!iterator.hasNext()) {
             throw new SafeIllegalArgumentException("Expected one element but received none");
@@ -500,4 +543,12 @@ public final class StringDeserializers {
             throw new SafeIllegalArgumentException("Expected one element", SafeArg.of("size", size));
         }
     }
+
+    private static int expectedSize(Iterable<String> in) {
+        return in instanceof Collection ? ((Collection<String>) in).size() : 4;
+    }
+
+    private static int grow(int size) {
+        return Math.max(4, size + (size >> 1));
+    }
 }